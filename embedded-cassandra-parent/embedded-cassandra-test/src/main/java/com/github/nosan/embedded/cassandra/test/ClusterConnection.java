@@ -16,6 +16,8 @@
 
 package com.github.nosan.embedded.cassandra.test;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 import com.datastax.driver.core.Cluster;
@@ -69,6 +71,30 @@ public class ClusterConnection implements Connection {
 		return this.cluster;
 	}
 
+	@Override
+	public List<String> getTables() {
+		return SessionUtils.getTables(this.session);
+	}
+
+	@Override
+	public void truncate(Collection<String> tables, int parallelism) {
+		SessionUtils.truncate(this.session, tables, parallelism);
+	}
+
+	/**
+	 * Creates a new {@code connection} whose {@link Session} is bound to the given keyspace. The {@code connection}
+	 * shares the {@link Cluster} of this connection, {@link Connection#get()} returns the {@link Session}.
+	 *
+	 * @param keyspace the keyspace
+	 * @return a connection bound to the keyspace
+	 * @since 2.0.4
+	 */
+	@Override
+	public Connection forKeyspace(String keyspace) {
+		Objects.requireNonNull(keyspace, "Keyspace must not be null");
+		return new KeyspaceConnection(this.cluster.connect(keyspace));
+	}
+
 	@Override
 	public void close() {
 		this.cluster.close();
@@ -79,4 +105,48 @@ public class ClusterConnection implements Connection {
 		return this.cluster.isClosed();
 	}
 
+	/**
+	 * {@link Connection} with a {@link Session} bound to the keyspace.
+	 */
+	private static final class KeyspaceConnection implements Connection {
+
+		private final Session session;
+
+		KeyspaceConnection(Session session) {
+			this.session = session;
+		}
+
+		@Override
+		public void execute(CqlScript... scripts) {
+			Objects.requireNonNull(scripts, "Scripts must not be null");
+			SessionUtils.execute(this.session, scripts);
+		}
+
+		@Override
+		public Session get() {
+			return this.session;
+		}
+
+		@Override
+		public List<String> getTables() {
+			return SessionUtils.getTables(this.session);
+		}
+
+		@Override
+		public void truncate(Collection<String> tables, int parallelism) {
+			SessionUtils.truncate(this.session, tables, parallelism);
+		}
+
+		@Override
+		public void close() {
+			this.session.close();
+		}
+
+		@Override
+		public boolean isClosed() {
+			return this.session.isClosed();
+		}
+
+	}
+
 }
@@ -80,6 +80,9 @@ public class ClusterFactory {
 
 	private boolean sslEnabled;
 
+	@Nullable
+	private WriteTracker writeTracker;
+
 	/**
 	 * The path to the truststore.
 	 *
@@ -191,6 +194,16 @@ public class ClusterFactory {
 		this.typeCodecs.addAll(Arrays.asList(typeCodecs));
 	}
 
+	/**
+	 * Sets the tracker that records the tables modified through the created {@code Cluster}s.
+	 *
+	 * @param writeTracker the write tracker, or {@code null} if writes should not be tracked
+	 * @since 2.0.4
+	 */
+	public void setWriteTracker(@Nullable WriteTracker writeTracker) {
+		this.writeTracker = writeTracker;
+	}
+
 	/**
 	 * Creates a new configured {@link Cluster}.
 	 *
@@ -231,8 +244,11 @@ public class ClusterFactory {
 			if (!this.typeCodecs.isEmpty()) {
 				builder.withCodecRegistry(new CodecRegistry().register(this.typeCodecs));
 			}
-			Cluster cluster = buildCluster(builder);
-			return Objects.requireNonNull(cluster, "Cluster must not be null");
+			Cluster cluster = Objects.requireNonNull(buildCluster(builder), "Cluster must not be null");
+			if (this.writeTracker != null) {
+				cluster.register(new ClusterLatencyTracker(this.writeTracker));
+			}
+			return cluster;
 		}
 		throw new IllegalStateException(String.format("Cluster can not be created from %s", settings));
 
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.test;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.LatencyTracker;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Statement;
+
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+
+/**
+ * {@link LatencyTracker} that reports the executed statements to the {@link WriteTracker}. Failed requests are
+ * reported as well, they might have been applied partially. Tables which are not qualified by a keyspace are tracked
+ * only if the keyspace of the statement is known.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+class ClusterLatencyTracker implements LatencyTracker {
+
+	private final WriteTracker writeTracker;
+
+	ClusterLatencyTracker(WriteTracker writeTracker) {
+		this.writeTracker = writeTracker;
+	}
+
+	@Override
+	public void update(Host host, Statement statement, @Nullable Exception exception, long newLatencyNanos) {
+		track(statement);
+	}
+
+	@Override
+	public void onRegister(Cluster cluster) {
+	}
+
+	@Override
+	public void onUnregister(Cluster cluster) {
+	}
+
+	private void track(Statement statement) {
+		if (statement instanceof BatchStatement) {
+			for (Statement child : ((BatchStatement) statement).getStatements()) {
+				track(child);
+			}
+		}
+		else if (statement instanceof RegularStatement) {
+			this.writeTracker.track(statement.getKeyspace(), ((RegularStatement) statement).getQueryString());
+		}
+		else if (statement instanceof BoundStatement) {
+			this.writeTracker.track(statement.getKeyspace(),
+					((BoundStatement) statement).preparedStatement().getQueryString());
+		}
+	}
+
+}
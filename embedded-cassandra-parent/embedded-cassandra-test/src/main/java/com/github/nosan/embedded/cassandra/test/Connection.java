@@ -16,6 +16,9 @@
 
 package com.github.nosan.embedded.cassandra.test;
 
+import java.util.Collection;
+import java.util.List;
+
 import com.github.nosan.embedded.cassandra.Cassandra;
 import com.github.nosan.embedded.cassandra.cql.CqlScript;
 
@@ -44,6 +47,43 @@ public interface Connection extends AutoCloseable {
 	 */
 	Object get();
 
+	/**
+	 * Creates a new {@code connection} whose native session is bound to the given keyspace. The created connection
+	 * must be closed separately, closing it does not close this connection.
+	 *
+	 * @param keyspace the keyspace
+	 * @return a connection bound to the keyspace
+	 * @throws UnsupportedOperationException if this connection cannot be bound to a keyspace
+	 * @since 2.0.4
+	 */
+	default Connection forKeyspace(String keyspace) throws UnsupportedOperationException {
+		throw new UnsupportedOperationException(String.format("'%s' cannot be bound to a keyspace", this));
+	}
+
+	/**
+	 * Returns all non-system tables.
+	 *
+	 * @return the tables in the {@code keyspace.table} format
+	 * @throws UnsupportedOperationException if this connection cannot list the tables
+	 * @since 2.0.4
+	 */
+	default List<String> getTables() throws UnsupportedOperationException {
+		throw new UnsupportedOperationException(String.format("'%s' cannot list the tables", this));
+	}
+
+	/**
+	 * Truncates the given tables concurrently, at most {@code parallelism} {@code TRUNCATE} statements are in flight
+	 * at the same time.
+	 *
+	 * @param tables the tables in the {@code keyspace.table} format
+	 * @param parallelism the maximum number of statements in flight
+	 * @throws UnsupportedOperationException if this connection cannot truncate the tables
+	 * @since 2.0.4
+	 */
+	default void truncate(Collection<String> tables, int parallelism) throws UnsupportedOperationException {
+		throw new UnsupportedOperationException(String.format("'%s' cannot truncate the tables", this));
+	}
+
 	/**
 	 * Closes the current {@code connection}.
 	 */
@@ -16,13 +16,17 @@
 
 package com.github.nosan.embedded.cassandra.test;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 
 import com.datastax.oss.driver.api.core.CqlSession;
 
 import com.github.nosan.embedded.cassandra.Cassandra;
 import com.github.nosan.embedded.cassandra.Settings;
 import com.github.nosan.embedded.cassandra.cql.CqlScript;
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
 import com.github.nosan.embedded.cassandra.test.util.CqlSessionUtils;
 
 /**
@@ -36,13 +40,16 @@ public class CqlSessionConnection implements Connection {
 
 	private final CqlSession session;
 
+	@Nullable
+	private final Function<String, CqlSession> keyspaceSessionFactory;
+
 	/**
 	 * Creates a {@link CqlSessionConnection}.
 	 *
 	 * @param session a session
 	 */
 	public CqlSessionConnection(CqlSession session) {
-		this.session = Objects.requireNonNull(session, "Cql Session must not be null");
+		this(session, null);
 	}
 
 	/**
@@ -51,7 +58,16 @@ public class CqlSessionConnection implements Connection {
 	 * @param settings the settings
 	 */
 	public CqlSessionConnection(Settings settings) {
-		this(new CqlSessionFactory().create(settings));
+		this(new CqlSessionFactory(), settings);
+	}
+
+	CqlSessionConnection(CqlSessionFactory sessionFactory, Settings settings) {
+		this(sessionFactory.create(settings), keyspace -> sessionFactory.create(settings, keyspace));
+	}
+
+	private CqlSessionConnection(CqlSession session, @Nullable Function<String, CqlSession> keyspaceSessionFactory) {
+		this.session = Objects.requireNonNull(session, "Cql Session must not be null");
+		this.keyspaceSessionFactory = keyspaceSessionFactory;
 	}
 
 	@Override
@@ -65,6 +81,36 @@ public class CqlSessionConnection implements Connection {
 		return this.session;
 	}
 
+	@Override
+	public List<String> getTables() {
+		return CqlSessionUtils.getTables(this.session);
+	}
+
+	@Override
+	public void truncate(Collection<String> tables, int parallelism) {
+		CqlSessionUtils.truncate(this.session, tables, parallelism);
+	}
+
+	/**
+	 * Creates a new {@code connection} with a new {@link CqlSession} bound to the given keyspace. Supported only if
+	 * this connection has been created by the {@link CqlSessionFactory}.
+	 *
+	 * @param keyspace the keyspace
+	 * @return a connection bound to the keyspace
+	 * @throws UnsupportedOperationException if the session of this connection has been provided externally
+	 * @since 2.0.4
+	 */
+	@Override
+	public CqlSessionConnection forKeyspace(String keyspace) throws UnsupportedOperationException {
+		Objects.requireNonNull(keyspace, "Keyspace must not be null");
+		Function<String, CqlSession> keyspaceSessionFactory = this.keyspaceSessionFactory;
+		if (keyspaceSessionFactory == null) {
+			throw new UnsupportedOperationException(String.format("'%s' cannot be bound to a keyspace."
+					+ " Cql Session has not been created by the CqlSessionFactory", this));
+		}
+		return new CqlSessionConnection(keyspaceSessionFactory.apply(keyspace), keyspaceSessionFactory);
+	}
+
 	@Override
 	public void close() {
 		this.session.close();
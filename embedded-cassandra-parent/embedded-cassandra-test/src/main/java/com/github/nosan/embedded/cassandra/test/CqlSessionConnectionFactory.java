@@ -22,6 +22,7 @@ import java.util.function.Function;
 import com.datastax.oss.driver.api.core.CqlSession;
 
 import com.github.nosan.embedded.cassandra.Settings;
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
 
 /**
  * {@link ConnectionFactory} that creates {@link CqlSessionConnection}.
@@ -31,13 +32,17 @@ import com.github.nosan.embedded.cassandra.Settings;
  */
 public class CqlSessionConnectionFactory implements ConnectionFactory {
 
+	@Nullable
 	private final Function<Settings, CqlSession> sessionFactory;
 
+	@Nullable
+	private final CqlSessionFactory cqlSessionFactory;
+
 	/**
 	 * Creates a {@link CqlSessionConnectionFactory}.
 	 */
 	public CqlSessionConnectionFactory() {
-		this(new CqlSessionFactory()::create);
+		this(new CqlSessionFactory());
 	}
 
 	/**
@@ -46,7 +51,8 @@ public class CqlSessionConnectionFactory implements ConnectionFactory {
 	 * @param sessionFactory session factory
 	 */
 	public CqlSessionConnectionFactory(CqlSessionFactory sessionFactory) {
-		this(Objects.requireNonNull(sessionFactory, "CqlSessionFactory must not be null")::create);
+		this.cqlSessionFactory = Objects.requireNonNull(sessionFactory, "CqlSessionFactory must not be null");
+		this.sessionFactory = null;
 	}
 
 	/**
@@ -56,12 +62,16 @@ public class CqlSessionConnectionFactory implements ConnectionFactory {
 	 */
 	public CqlSessionConnectionFactory(Function<Settings, CqlSession> sessionFactory) {
 		this.sessionFactory = Objects.requireNonNull(sessionFactory, "CqlSessionFactory must not be null");
+		this.cqlSessionFactory = null;
 	}
 
 	@Override
 	public CqlSessionConnection create(Settings settings) {
 		Objects.requireNonNull(settings, "Settings must not be null");
-		return new CqlSessionConnection(this.sessionFactory.apply(settings));
+		if (this.cqlSessionFactory != null) {
+			return new CqlSessionConnection(this.cqlSessionFactory, settings);
+		}
+		return new CqlSessionConnection(Objects.requireNonNull(this.sessionFactory).apply(settings));
 	}
 
 }
@@ -76,6 +76,9 @@ public class CqlSessionFactory {
 
 	private boolean sslEnabled;
 
+	@Nullable
+	private WriteTracker writeTracker;
+
 	/**
 	 * Specifies the data center that is considered "local" by the load balancing policy.
 	 *
@@ -188,6 +191,16 @@ public class CqlSessionFactory {
 		this.typeCodecs.addAll(Arrays.asList(typeCodecs));
 	}
 
+	/**
+	 * Sets the tracker that records the tables modified through the created {@code CqlSession}s.
+	 *
+	 * @param writeTracker the write tracker, or {@code null} if writes should not be tracked
+	 * @since 2.0.4
+	 */
+	public void setWriteTracker(@Nullable WriteTracker writeTracker) {
+		this.writeTracker = writeTracker;
+	}
+
 	/**
 	 * Creates a new configured {@link CqlSession}.
 	 *
@@ -195,6 +208,18 @@ public class CqlSessionFactory {
 	 * @return a cql session
 	 */
 	public CqlSession create(Settings settings) {
+		return create(settings, null);
+	}
+
+	/**
+	 * Creates a new configured {@link CqlSession} bound to the given keyspace.
+	 *
+	 * @param settings the settings
+	 * @param keyspace the keyspace, or {@code null} if the session should not be bound to a keyspace
+	 * @return a cql session
+	 * @since 2.0.4
+	 */
+	public CqlSession create(Settings settings, @Nullable String keyspace) {
 		Objects.requireNonNull(settings, "Settings must not be null");
 		Integer port = settings.portOrSslPort().orElse(null);
 		Integer sslPort = settings.sslPort().orElse(null);
@@ -238,9 +263,15 @@ public class CqlSessionFactory {
 			if (this.localDataCenter != null) {
 				sessionBuilder.withLocalDatacenter(this.localDataCenter);
 			}
+			if (keyspace != null) {
+				sessionBuilder.withKeyspace(keyspace);
+			}
 			if (!this.typeCodecs.isEmpty()) {
 				sessionBuilder.addTypeCodecs(this.typeCodecs.toArray(new TypeCodec[0]));
 			}
+			if (this.writeTracker != null) {
+				sessionBuilder.withRequestTracker(new CqlSessionRequestTracker(this.writeTracker, keyspace));
+			}
 			CqlSession cqlSession = buildCqlSession(sessionBuilder);
 			return Objects.requireNonNull(cqlSession, "Cql Session must not be null");
 		}
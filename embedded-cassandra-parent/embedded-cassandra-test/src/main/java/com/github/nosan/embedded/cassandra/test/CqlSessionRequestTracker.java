@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.test;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.config.DriverExecutionProfile;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.session.Request;
+import com.datastax.oss.driver.api.core.tracker.RequestTracker;
+
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+
+/**
+ * {@link RequestTracker} that reports the executed statements to the {@link WriteTracker}. Failed requests are
+ * reported as well, they might have been applied partially.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+class CqlSessionRequestTracker implements RequestTracker {
+
+	private final WriteTracker writeTracker;
+
+	@Nullable
+	private final String keyspace;
+
+	CqlSessionRequestTracker(WriteTracker writeTracker, @Nullable String keyspace) {
+		this.writeTracker = writeTracker;
+		this.keyspace = keyspace;
+	}
+
+	@Override
+	public void onSuccess(Request request, long latencyNanos, DriverExecutionProfile executionProfile, Node node) {
+		track(request);
+	}
+
+	@Override
+	public void onError(Request request, Throwable error, long latencyNanos, DriverExecutionProfile executionProfile,
+			@Nullable Node node) {
+		track(request);
+	}
+
+	@Override
+	public void close() {
+	}
+
+	private void track(Request request) {
+		if (request instanceof BatchStatement) {
+			for (BatchableStatement<?> statement : (BatchStatement) request) {
+				track(statement);
+			}
+		}
+		else if (request instanceof SimpleStatement) {
+			track(request, ((SimpleStatement) request).getQuery());
+		}
+		else if (request instanceof BoundStatement) {
+			track(request, ((BoundStatement) request).getPreparedStatement().getQuery());
+		}
+	}
+
+	private void track(Request request, String statement) {
+		CqlIdentifier keyspace = request.getKeyspace();
+		this.writeTracker.track((keyspace != null) ? keyspace.asInternal() : this.keyspace, statement);
+	}
+
+}
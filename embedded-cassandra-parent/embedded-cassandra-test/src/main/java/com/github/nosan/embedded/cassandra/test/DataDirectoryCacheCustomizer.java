@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.nosan.embedded.cassandra.Version;
+import com.github.nosan.embedded.cassandra.cql.CqlScript;
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+import com.github.nosan.embedded.cassandra.local.DataDirectoryCache;
+import com.github.nosan.embedded.cassandra.local.WorkingDirectoryCustomizer;
+
+/**
+ * {@link WorkingDirectoryCustomizer} that seeds the data directory from the {@link DataDirectoryCache}. The cache is
+ * bypassed if {@code data_file_directories} are configured explicitly or the data directory is not empty.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+class DataDirectoryCacheCustomizer implements WorkingDirectoryCustomizer {
+
+	private static final Logger log = LoggerFactory.getLogger(DataDirectoryCacheCustomizer.class);
+
+	private static final Pattern DATA_FILE_DIRECTORIES = Pattern.compile("(?m)^data_file_directories\\s*:");
+
+	private final DataDirectoryCache cache;
+
+	private final List<? extends CqlScript> scripts;
+
+	@Nullable
+	private volatile String key;
+
+	private volatile boolean seeded;
+
+	DataDirectoryCacheCustomizer(DataDirectoryCache cache, List<? extends CqlScript> scripts) {
+		this.cache = cache;
+		this.scripts = scripts;
+	}
+
+	@Override
+	public void customize(Path workingDirectory, Version version) throws IOException {
+		this.key = null;
+		this.seeded = false;
+		Path configurationFile = workingDirectory.resolve("conf/cassandra.yaml");
+		Path dataDirectory = workingDirectory.resolve("data/data");
+		if (!Files.isRegularFile(configurationFile) || !isEmpty(dataDirectory)
+				|| DATA_FILE_DIRECTORIES.matcher(new String(Files.readAllBytes(configurationFile),
+				StandardCharsets.UTF_8)).find()) {
+			log.debug("{} is bypassed for '{}'", this.cache, workingDirectory);
+			return;
+		}
+		String key = this.cache.getKey(version, configurationFile, getFixture());
+		this.seeded = this.cache.seed(key, dataDirectory);
+		this.key = key;
+	}
+
+	/**
+	 * Returns the cache of the data directories.
+	 *
+	 * @return the cache
+	 */
+	DataDirectoryCache getCache() {
+		return this.cache;
+	}
+
+	/**
+	 * Returns the key of the data directory.
+	 *
+	 * @return the key, or {@code null} if the cache has been bypassed
+	 */
+	@Nullable
+	String getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Whether the data directory has been seeded from the cache.
+	 *
+	 * @return {@code true} if the data directory has been seeded
+	 */
+	boolean isSeeded() {
+		return this.seeded;
+	}
+
+	private String getFixture() {
+		// statements are hashed as they are streamed, so a large script is never held in memory
+		MessageDigest digest = getDigest();
+		for (CqlScript script : this.scripts) {
+			try (Stream<String> statements = script.stream()) {
+				statements.forEach(statement -> {
+					digest.update(statement.getBytes(StandardCharsets.UTF_8));
+					digest.update((byte) ';');
+				});
+			}
+		}
+		StringBuilder fixture = new StringBuilder();
+		for (byte b : digest.digest()) {
+			fixture.append(String.format("%02x", b));
+		}
+		return fixture.toString();
+	}
+
+	private static MessageDigest getDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static boolean isEmpty(Path directory) throws IOException {
+		if (!Files.isDirectory(directory)) {
+			return true;
+		}
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+			return !files.iterator().hasNext();
+		}
+	}
+
+}
@@ -17,6 +17,8 @@
 package com.github.nosan.embedded.cassandra.test;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -60,6 +62,21 @@ public class DefaultConnection implements Connection {
 		return this.connection.get();
 	}
 
+	@Override
+	public Connection forKeyspace(String keyspace) throws UnsupportedOperationException {
+		return this.connection.forKeyspace(keyspace);
+	}
+
+	@Override
+	public List<String> getTables() {
+		return this.connection.getTables();
+	}
+
+	@Override
+	public void truncate(Collection<String> tables, int parallelism) {
+		this.connection.truncate(tables, parallelism);
+	}
+
 	@Override
 	public void close() {
 		this.connection.close();
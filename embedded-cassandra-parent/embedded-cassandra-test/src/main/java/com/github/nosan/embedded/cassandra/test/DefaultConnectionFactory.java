@@ -19,6 +19,7 @@ package com.github.nosan.embedded.cassandra.test;
 import java.util.Objects;
 
 import com.github.nosan.embedded.cassandra.Settings;
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
 import com.github.nosan.embedded.cassandra.util.ClassUtils;
 
 /**
@@ -33,14 +34,37 @@ public class DefaultConnectionFactory implements ConnectionFactory {
 
 	private static final String CLUSTER_CLASS = "com.datastax.driver.core.Cluster";
 
+	@Nullable
+	private final WriteTracker writeTracker;
+
+	/**
+	 * Creates a {@link DefaultConnectionFactory}.
+	 */
+	public DefaultConnectionFactory() {
+		this(null);
+	}
+
+	/**
+	 * Creates a {@link DefaultConnectionFactory} that installs the given tracker into the created connections.
+	 *
+	 * @param writeTracker the write tracker, or {@code null} if writes should not be tracked
+	 */
+	public DefaultConnectionFactory(@Nullable WriteTracker writeTracker) {
+		this.writeTracker = writeTracker;
+	}
+
 	@Override
 	public Connection create(Settings settings) {
 		Objects.requireNonNull(settings, "Settings must not be null");
 		if (ClassUtils.isPresent(CQL_SESSION_CLASS, getClass().getClassLoader())) {
-			return new CqlSessionConnection(settings);
+			CqlSessionFactory sessionFactory = new CqlSessionFactory();
+			sessionFactory.setWriteTracker(this.writeTracker);
+			return new CqlSessionConnection(sessionFactory, settings);
 		}
 		if (ClassUtils.isPresent(CLUSTER_CLASS, getClass().getClassLoader())) {
-			return new ClusterConnection(settings);
+			ClusterFactory clusterFactory = new ClusterFactory();
+			clusterFactory.setWriteTracker(this.writeTracker);
+			return new ClusterConnection(clusterFactory.create(settings));
 		}
 		throw new IllegalStateException(
 				String.format("Can not create a Connection. Both '%s' and '%s' classes "
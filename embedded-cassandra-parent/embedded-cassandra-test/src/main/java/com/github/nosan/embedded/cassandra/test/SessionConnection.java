@@ -16,6 +16,8 @@
 
 package com.github.nosan.embedded.cassandra.test;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 import com.datastax.driver.core.Session;
@@ -56,6 +58,16 @@ public class SessionConnection implements Connection {
 		return this.session;
 	}
 
+	@Override
+	public List<String> getTables() {
+		return SessionUtils.getTables(this.session);
+	}
+
+	@Override
+	public void truncate(Collection<String> tables, int parallelism) {
+		SessionUtils.truncate(this.session, tables, parallelism);
+	}
+
 	@Override
 	public void close() {
 		this.session.close();
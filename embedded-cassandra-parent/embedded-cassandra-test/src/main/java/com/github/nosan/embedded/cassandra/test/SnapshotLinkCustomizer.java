@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.test;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+
+import com.github.nosan.embedded.cassandra.Version;
+import com.github.nosan.embedded.cassandra.local.WorkingDirectoryCustomizer;
+
+/**
+ * {@link WorkingDirectoryCustomizer} that hard-links the snapshotted SSTables into the data directory, files are
+ * copied if hard links are not supported. The {@code system.local} table is skipped, so the node gets its own host
+ * ID and tokens, the commit log is not linked at all.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+class SnapshotLinkCustomizer implements WorkingDirectoryCustomizer {
+
+	private final Map<String, Path> snapshots;
+
+	/**
+	 * Creates a {@link SnapshotLinkCustomizer}.
+	 *
+	 * @param snapshots the snapshot directories keyed by the table directory relative to the data directory
+	 */
+	SnapshotLinkCustomizer(Map<String, Path> snapshots) {
+		this.snapshots = snapshots;
+	}
+
+	@Override
+	public void customize(Path workingDirectory, Version version) throws IOException {
+		Path dataDirectory = workingDirectory.resolve("data/data");
+		for (Map.Entry<String, Path> entry : this.snapshots.entrySet()) {
+			String table = entry.getKey();
+			if (!table.equals("system/local") && !table.startsWith("system/local-")) {
+				link(entry.getValue(), dataDirectory.resolve(table));
+			}
+		}
+	}
+
+	private static void link(Path source, Path destination) throws IOException {
+		Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attrs) throws IOException {
+				Files.createDirectories(destination.resolve(source.relativize(directory)));
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				Path target = destination.resolve(source.relativize(file));
+				try {
+					Files.createLink(target, file);
+				}
+				catch (IOException | UnsupportedOperationException ex) {
+					Files.copy(file, target);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+}
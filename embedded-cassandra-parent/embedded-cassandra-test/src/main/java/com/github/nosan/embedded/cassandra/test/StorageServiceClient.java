@@ -0,0 +1,322 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.test;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+import com.github.nosan.embedded.cassandra.Settings;
+import com.github.nosan.embedded.cassandra.test.util.CqlUtils;
+
+/**
+ * Client of the {@code org.apache.cassandra.db:type=StorageService} MBean. Connects to the local {@code Cassandra}
+ * via JMX {@link Settings#getJmxPort() port}, so that no {@code nodetool} process has to be forked.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+final class StorageServiceClient implements AutoCloseable {
+
+	// [<keyspace>-<table>-]<version>-<generation>-<rest>, e.g. 'ks-t-ka-1-Data.db' (2.1) or 'mc-1-big-Data.db'
+	private static final Pattern SSTABLE_FILE_NAME = Pattern.compile("^(.*-)?([a-z]{2})-(\\d+)-(.+)$");
+
+	private static final String STORAGE_SERVICE = "org.apache.cassandra.db:type=StorageService";
+
+	private static final String[] STRING_ARRAY_SIGNATURE = {String.class.getName(), String[].class.getName()};
+
+	private static final String[] STRING_STRING_SIGNATURE = {String.class.getName(), String.class.getName()};
+
+	private final JMXConnector connector;
+
+	private final MBeanServerConnection connection;
+
+	private final ObjectName storageService;
+
+	private StorageServiceClient(JMXConnector connector) throws IOException {
+		this.connector = connector;
+		this.connection = connector.getMBeanServerConnection();
+		try {
+			this.storageService = new ObjectName(STORAGE_SERVICE);
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * Connects to the {@code StorageService} of the {@code Cassandra} with the given settings.
+	 *
+	 * @param settings the settings
+	 * @return the client
+	 * @throws IOException if the connection cannot be established
+	 */
+	static StorageServiceClient connect(Settings settings) throws IOException {
+		JMXServiceURL url = new JMXServiceURL(String.format("service:jmx:rmi:///jndi/rmi://127.0.0.1:%d/jmxrmi",
+				settings.getJmxPort()));
+		return new StorageServiceClient(JMXConnectorFactory.connect(url));
+	}
+
+	/**
+	 * Returns the names of all non-system keyspaces.
+	 *
+	 * @return the keyspaces
+	 * @throws Exception if the keyspaces cannot be fetched
+	 */
+	List<String> getKeyspaces() throws Exception {
+		List<String> keyspaces = getAllKeyspaces();
+		keyspaces.removeIf(CqlUtils::isSystemKeyspace);
+		return keyspaces;
+	}
+
+	/**
+	 * Returns the names of all keyspaces, including system ones.
+	 *
+	 * @return the keyspaces
+	 * @throws Exception if the keyspaces cannot be fetched
+	 */
+	List<String> getAllKeyspaces() throws Exception {
+		List<String> keyspaces = new ArrayList<>();
+		for (Object keyspace : (List<?>) this.connection.getAttribute(this.storageService, "Keyspaces")) {
+			keyspaces.add(keyspace.toString());
+		}
+		return keyspaces;
+	}
+
+	/**
+	 * Returns the data file directories.
+	 *
+	 * @return the directories
+	 * @throws Exception if the directories cannot be fetched
+	 */
+	List<Path> getDataFileLocations() throws Exception {
+		List<Path> locations = new ArrayList<>();
+		for (String location : (String[]) this.connection.getAttribute(this.storageService, "AllDataFileLocations")) {
+			locations.add(Paths.get(location));
+		}
+		return locations;
+	}
+
+	/**
+	 * Flushes all tables of the given keyspace.
+	 *
+	 * @param keyspace the keyspace
+	 * @throws Exception if the keyspace cannot be flushed
+	 */
+	void flush(String keyspace) throws Exception {
+		invoke("forceKeyspaceFlush", new Object[]{keyspace, new String[0]}, STRING_ARRAY_SIGNATURE);
+	}
+
+	/**
+	 * Takes a snapshot of the given keyspaces.
+	 *
+	 * @param tag the name of the snapshot
+	 * @param keyspaces the keyspaces
+	 * @throws Exception if the snapshot cannot be taken
+	 */
+	void takeSnapshot(String tag, List<String> keyspaces) throws Exception {
+		invoke("takeSnapshot", new Object[]{tag, keyspaces.toArray(new String[0])}, STRING_ARRAY_SIGNATURE);
+	}
+
+	/**
+	 * Removes the snapshot of the given keyspaces.
+	 *
+	 * @param tag the name of the snapshot
+	 * @param keyspaces the keyspaces
+	 * @throws Exception if the snapshot cannot be removed
+	 */
+	void clearSnapshot(String tag, List<String> keyspaces) throws Exception {
+		invoke("clearSnapshot", new Object[]{tag, keyspaces.toArray(new String[0])}, STRING_ARRAY_SIGNATURE);
+	}
+
+	/**
+	 * Truncates the given table.
+	 *
+	 * @param keyspace the keyspace
+	 * @param table the table
+	 * @throws Exception if the table cannot be truncated
+	 */
+	void truncate(String keyspace, String table) throws Exception {
+		invoke("truncate", new Object[]{keyspace, table}, STRING_STRING_SIGNATURE);
+	}
+
+	/**
+	 * Loads the SSTables placed in the directory of the given table.
+	 *
+	 * @param keyspace the keyspace
+	 * @param table the table
+	 * @throws Exception if the SSTables cannot be loaded
+	 */
+	void loadNewSSTables(String keyspace, String table) throws Exception {
+		invoke("loadNewSSTables", new Object[]{keyspace, table}, STRING_STRING_SIGNATURE);
+	}
+
+	/**
+	 * Restores the tables of the given keyspaces from the snapshot (the same as {@code nodetool refresh}): each
+	 * table that has the snapshot is truncated, the snapshotted SSTables are linked back into the table directory
+	 * under fresh generations and loaded.
+	 *
+	 * @param tag the name of the snapshot
+	 * @param keyspaces the keyspaces
+	 * @return the number of the restored tables
+	 * @throws Exception if the snapshot cannot be restored
+	 */
+	int restoreSnapshot(String tag, List<String> keyspaces) throws Exception {
+		int tables = 0;
+		for (Path location : getDataFileLocations()) {
+			for (String keyspace : keyspaces) {
+				Path keyspaceDirectory = location.resolve(keyspace);
+				if (!Files.isDirectory(keyspaceDirectory)) {
+					continue;
+				}
+				try (DirectoryStream<Path> tableDirectories = Files.newDirectoryStream(keyspaceDirectory,
+						Files::isDirectory)) {
+					for (Path tableDirectory : tableDirectories) {
+						Path snapshot = tableDirectory.resolve("snapshots").resolve(tag);
+						if (Files.isDirectory(snapshot)) {
+							String table = getTableName(tableDirectory);
+							truncate(keyspace, table);
+							link(snapshot, tableDirectory);
+							loadNewSSTables(keyspace, table);
+							tables++;
+						}
+					}
+				}
+			}
+		}
+		return tables;
+	}
+
+	/**
+	 * Returns the snapshot directories of the tables of the given keyspaces. The snapshot metadata files are
+	 * removed, so the directories contain the SSTables only.
+	 *
+	 * @param tag the name of the snapshot
+	 * @param keyspaces the keyspaces
+	 * @return the snapshot directories keyed by the table directory relative to the data directory, e.g. {@code
+	 * keyspace/table-id}
+	 * @throws Exception if the snapshot directories cannot be fetched
+	 */
+	Map<String, Path> getSnapshotDirectories(String tag, List<String> keyspaces) throws Exception {
+		Map<String, Path> snapshots = new LinkedHashMap<>();
+		for (Path location : getDataFileLocations()) {
+			for (String keyspace : keyspaces) {
+				Path keyspaceDirectory = location.resolve(keyspace);
+				if (!Files.isDirectory(keyspaceDirectory)) {
+					continue;
+				}
+				try (DirectoryStream<Path> tableDirectories = Files.newDirectoryStream(keyspaceDirectory,
+						Files::isDirectory)) {
+					for (Path tableDirectory : tableDirectories) {
+						Path snapshot = tableDirectory.resolve("snapshots").resolve(tag);
+						if (Files.isDirectory(snapshot)) {
+							Files.deleteIfExists(snapshot.resolve("manifest.json"));
+							Files.deleteIfExists(snapshot.resolve("schema.cql"));
+							snapshots.put(keyspace + "/" + tableDirectory.getFileName(), snapshot);
+						}
+					}
+				}
+			}
+		}
+		return snapshots;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.connector.close();
+	}
+
+	private void invoke(String operation, Object[] params, String[] signature) throws Exception {
+		this.connection.invoke(this.storageService, operation, params, signature);
+	}
+
+	private static String getTableName(Path tableDirectory) {
+		// <table>-<table id> since 2.1, table names cannot contain '-'
+		String name = tableDirectory.getFileName().toString();
+		int index = name.indexOf('-');
+		return (index != -1) ? name.substring(0, index) : name;
+	}
+
+	/**
+	 * Links the SSTables of the snapshot into the table directory. SSTables are linked under fresh generations, so
+	 * that neither a live nor an obsolete (e.g. just truncated, but not yet deleted) SSTable is ever replaced. {@code
+	 * loadNewSSTables} renames them to generations of its own.
+	 *
+	 * @param snapshot the snapshot directory
+	 * @param tableDirectory the table directory
+	 * @throws IOException if the SSTables cannot be linked
+	 */
+	static void link(Path snapshot, Path tableDirectory) throws IOException {
+		long generation = Math.max(getMaxGeneration(tableDirectory), getMaxGeneration(snapshot));
+		Map<Long, Long> generations = new HashMap<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(snapshot, Files::isRegularFile)) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				if (name.equals("manifest.json") || name.equals("schema.cql")) {
+					continue;
+				}
+				Matcher matcher = SSTABLE_FILE_NAME.matcher(name);
+				if (!matcher.matches()) {
+					throw new IllegalStateException(String.format("SSTable '%s' has an unsupported name", file));
+				}
+				Long target = generations.get(Long.parseLong(matcher.group(3)));
+				if (target == null) {
+					target = ++generation;
+					generations.put(Long.parseLong(matcher.group(3)), target);
+				}
+				String prefix = (matcher.group(1) != null) ? matcher.group(1) : "";
+				Path link = tableDirectory.resolve(String.format("%s%s-%d-%s", prefix, matcher.group(2), target,
+						matcher.group(4)));
+				try {
+					Files.createLink(link, file);
+				}
+				catch (IOException | UnsupportedOperationException ex) {
+					Files.copy(file, link);
+				}
+			}
+		}
+	}
+
+	private static long getMaxGeneration(Path directory) throws IOException {
+		long generation = 0;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, Files::isRegularFile)) {
+			for (Path file : files) {
+				Matcher matcher = SSTABLE_FILE_NAME.matcher(file.getFileName().toString());
+				if (matcher.matches()) {
+					generation = Math.max(generation, Long.parseLong(matcher.group(3)));
+				}
+			}
+		}
+		return generation;
+	}
+
+}
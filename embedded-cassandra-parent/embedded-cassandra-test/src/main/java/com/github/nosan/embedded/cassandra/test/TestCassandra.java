@@ -19,8 +19,11 @@ package com.github.nosan.embedded.cassandra.test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,11 +32,14 @@ import com.github.nosan.embedded.cassandra.Cassandra;
 import com.github.nosan.embedded.cassandra.CassandraException;
 import com.github.nosan.embedded.cassandra.CassandraFactory;
 import com.github.nosan.embedded.cassandra.CassandraInterruptedException;
+import com.github.nosan.embedded.cassandra.Cassandras;
 import com.github.nosan.embedded.cassandra.Settings;
 import com.github.nosan.embedded.cassandra.Version;
 import com.github.nosan.embedded.cassandra.cql.CqlScript;
 import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+import com.github.nosan.embedded.cassandra.local.DataDirectoryCache;
 import com.github.nosan.embedded.cassandra.local.LocalCassandraFactory;
+import com.github.nosan.embedded.cassandra.local.WorkingDirectoryCustomizer;
 import com.github.nosan.embedded.cassandra.util.StringUtils;
 
 /**
@@ -72,12 +78,22 @@ public class TestCassandra implements Cassandra {
 
 	private static final Logger log = LoggerFactory.getLogger(TestCassandra.class);
 
+	private static final int DEFAULT_RESET_PARALLELISM = 16;
+
 	private final Cassandra cassandra;
 
 	private final List<? extends CqlScript> scripts;
 
 	private final ConnectionFactory connectionFactory;
 
+	private final WriteTracker writeTracker = new WriteTracker();
+
+	@Nullable
+	private final DataDirectoryCacheCustomizer dataDirectoryCacheCustomizer;
+
+	@Nullable
+	private final LocalCassandraFactory localCassandraFactory;
+
 	private volatile boolean started = false;
 
 	@Nullable
@@ -130,11 +146,49 @@ public class TestCassandra implements Cassandra {
 	 */
 	public TestCassandra(@Nullable CassandraFactory cassandraFactory, @Nullable ConnectionFactory connectionFactory,
 			CqlScript... scripts) {
+		this(cassandraFactory, connectionFactory, (DataDirectoryCache) null, scripts);
+	}
+
+	/**
+	 * Creates a {@link TestCassandra} with the given scripts, connection factory, cassandra factory and data
+	 * directory cache. On the first start the data directory is stored into the cache once the scripts have been
+	 * executed, the following starts with the same {@code Version}, {@code cassandra.yaml} and scripts seed the data
+	 * directory from the cache before the launch and do not execute the scripts at all.
+	 *
+	 * @param connectionFactory factory that creates {@link Connection}
+	 * @param cassandraFactory factory that creates {@link Cassandra}, must be a {@link LocalCassandraFactory} if the
+	 * cache is used
+	 * @param dataDirectoryCache the cache of the data directories, or {@code null} if the cache should not be used
+	 * @param scripts CQL scripts to execute.
+	 * @since 2.0.4
+	 */
+	public TestCassandra(@Nullable CassandraFactory cassandraFactory, @Nullable ConnectionFactory connectionFactory,
+			@Nullable DataDirectoryCache dataDirectoryCache, CqlScript... scripts) {
 		Objects.requireNonNull(scripts, "Scripts must not be null");
 		this.scripts = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(scripts)));
-		Cassandra cassandra = ((cassandraFactory != null) ? cassandraFactory : new LocalCassandraFactory()).create();
+		CassandraFactory factory = (cassandraFactory != null) ? cassandraFactory : new LocalCassandraFactory();
+		this.localCassandraFactory = (factory instanceof LocalCassandraFactory) ? (LocalCassandraFactory) factory
+				: null;
+		if (dataDirectoryCache != null) {
+			if (!(factory instanceof LocalCassandraFactory)) {
+				throw new IllegalArgumentException(String.format("'%s' can be used only with '%s'",
+						dataDirectoryCache, LocalCassandraFactory.class.getName()));
+			}
+			LocalCassandraFactory localFactory = new LocalCassandraFactory((LocalCassandraFactory) factory);
+			this.dataDirectoryCacheCustomizer = new DataDirectoryCacheCustomizer(dataDirectoryCache, this.scripts);
+			List<WorkingDirectoryCustomizer> customizers = new ArrayList<>(
+					localFactory.getWorkingDirectoryCustomizers());
+			customizers.add(this.dataDirectoryCacheCustomizer);
+			localFactory.setWorkingDirectoryCustomizers(customizers);
+			factory = localFactory;
+		}
+		else {
+			this.dataDirectoryCacheCustomizer = null;
+		}
+		Cassandra cassandra = factory.create();
 		this.cassandra = Objects.requireNonNull(cassandra, "Cassandra must not be null");
-		this.connectionFactory = (connectionFactory != null) ? connectionFactory : new DefaultConnectionFactory();
+		this.connectionFactory = (connectionFactory != null) ? connectionFactory
+				: new DefaultConnectionFactory(this.writeTracker);
 	}
 
 	/**
@@ -166,6 +220,43 @@ public class TestCassandra implements Cassandra {
 		}
 	}
 
+	/**
+	 * Restarts the underlying {@link Cassandra}, e.g. for crash-recovery tests. The {@link Connection} is kept open,
+	 * drivers reconnect to the restarted {@code Cassandra} because {@link LocalCassandraFactory local} instances keep
+	 * the working directory, the data and the ports on restart. Scripts are not executed again. Calling this method on
+	 * a stopped {@code Cassandra} is the same as {@link #start()}.
+	 *
+	 * @throws CassandraException if the {@code Cassandra} cannot be restarted
+	 * @throws CassandraInterruptedException if the {@code Cassandra} was interrupted.
+	 * @since 2.0.4
+	 */
+	@Override
+	public void restart() throws CassandraInterruptedException, CassandraException {
+		synchronized (this) {
+			if (!this.started) {
+				start();
+				return;
+			}
+			try {
+				if (log.isDebugEnabled()) {
+					log.debug("Restart {}", toString());
+				}
+				this.cassandra.restart();
+				if (log.isDebugEnabled()) {
+					log.debug("{} is restarted", toString());
+				}
+			}
+			catch (Throwable ex) {
+				doStopSafely();
+				this.started = false;
+				if (ex instanceof CassandraException) {
+					throw (CassandraException) ex;
+				}
+				throw new CassandraException(String.format("Unable to restart %s", toString()), ex);
+			}
+		}
+	}
+
 	/**
 	 * Stops the underlying {@link Cassandra} and closes the {@link Connection} to it. Calling this method on an
 	 * already stopped {@code Cassandra} has no effect. Causes the current thread to wait,
@@ -284,6 +375,207 @@ public class TestCassandra implements Cassandra {
 		}
 	}
 
+	/**
+	 * Creates a new keyspace with a generated name and executes the given {@link CqlScript scripts} against it,
+	 * {@code ${keyspace}} placeholder in the scripts is replaced with the generated name. Keyspaces isolate the data
+	 * of the tests that share this {@code TestCassandra} (even running in parallel) without restarts.
+	 *
+	 * @param scripts the scripts, e.g. {@code CREATE TABLE ${keyspace}.users (id int PRIMARY KEY)}
+	 * @return the keyspace, it should be {@link TestKeyspace#close() closed} after the test
+	 * @since 2.0.4
+	 */
+	public TestKeyspace createKeyspace(CqlScript... scripts) {
+		Objects.requireNonNull(scripts, "Scripts must not be null");
+		String name = "test_" + UUID.randomUUID().toString().replace("-", "");
+		executeScripts(CqlScript.statements(String.format("CREATE KEYSPACE %s WITH replication = "
+				+ "{'class': 'SimpleStrategy', 'replication_factor': 1}", name)));
+		TestKeyspace keyspace = new TestKeyspace(this, name);
+		try {
+			keyspace.executeScripts(scripts);
+		}
+		catch (RuntimeException ex) {
+			keyspace.close();
+			throw ex;
+		}
+		return keyspace;
+	}
+
+	/**
+	 * Truncates all non-system tables concurrently, at most {@code 16} {@code TRUNCATE} statements are in flight at
+	 * the same time.
+	 *
+	 * @param excludes the keyspaces ({@code keyspace}) or tables ({@code keyspace.table}) that should not be
+	 * truncated
+	 * @see #reset(int, String...)
+	 * @since 2.0.4
+	 */
+	public void reset(String... excludes) {
+		reset(DEFAULT_RESET_PARALLELISM, excludes);
+	}
+
+	/**
+	 * Truncates all non-system tables concurrently, at most {@code parallelism} {@code TRUNCATE} statements are in
+	 * flight at the same time. With {@code auto_snapshot: false} in the {@code cassandra.yaml} this is the cheapest
+	 * way to isolate the tests.
+	 *
+	 * @param parallelism the maximum number of statements in flight
+	 * @param excludes the keyspaces ({@code keyspace}) or tables ({@code keyspace.table}) that should not be
+	 * truncated
+	 * @since 2.0.4
+	 */
+	public void reset(int parallelism, String... excludes) {
+		Objects.requireNonNull(excludes, "Excludes must not be null");
+		Set<String> excluded = new HashSet<>(Arrays.asList(excludes));
+		Connection connection = getConnection();
+		List<String> tables = new ArrayList<>();
+		for (String table : connection.getTables()) {
+			if (!excluded.contains(table) && !excluded.contains(table.substring(0, table.indexOf('.')))) {
+				tables.add(table);
+			}
+		}
+		connection.truncate(tables, parallelism);
+	}
+
+	/**
+	 * Truncates only the tables modified by {@code INSERT}, {@code UPDATE} and {@code DELETE} statements since the
+	 * last cleanup, e.g. after each test. On wide schemas this is much cheaper than {@link #reset(String...)}. Writes
+	 * are tracked only through the connection created by the default {@link DefaultConnectionFactory}, use {@link
+	 * CqlSessionFactory#setWriteTracker(WriteTracker)} or {@link ClusterFactory#setWriteTracker(WriteTracker)} along
+	 * with {@link #getWriteTracker()} for the custom connection factories.
+	 * <p>
+	 * Tables which are not qualified by a keyspace are tracked only if the driver reports the keyspace of the
+	 * statement. A {@code com.datastax.oss.driver.api.core.CqlSession} created with a keyspace is fully tracked. A
+	 * {@code com.datastax.driver.core.Session} bound by {@code Cluster.connect(keyspace)} (e.g. the one of {@link
+	 * TestKeyspace#getConnection()}) is not known to the tracker, so writes to unqualified tables through such a
+	 * session are missed unless the keyspace is set on the statement.
+	 *
+	 * @see #getWriteTracker()
+	 * @since 2.0.4
+	 */
+	public void cleanup() {
+		List<String> dirty = this.writeTracker.drainTables();
+		if (dirty.isEmpty()) {
+			return;
+		}
+		Connection connection = getConnection();
+		List<String> tables = new ArrayList<>(connection.getTables());
+		tables.retainAll(dirty);
+		connection.truncate(tables, DEFAULT_RESET_PARALLELISM);
+		if (log.isDebugEnabled()) {
+			log.debug("{} table(s) of {} have been truncated", tables.size(), toString());
+		}
+	}
+
+	/**
+	 * Returns the tracker of the tables modified through the {@link #getConnection() connection}.
+	 *
+	 * @return the write tracker
+	 * @see #cleanup()
+	 * @since 2.0.4
+	 */
+	public WriteTracker getWriteTracker() {
+		return this.writeTracker;
+	}
+
+	/**
+	 * Flushes all non-system keyspaces and takes a snapshot of them with the given name, e.g. after the fixture
+	 * scripts have been executed. An existing snapshot with the same name is replaced. The snapshot is taken over JMX
+	 * {@link Settings#getJmxPort() port} of the local {@code Cassandra}.
+	 *
+	 * @param name the name of the snapshot
+	 * @throws CassandraException if the snapshot cannot be taken
+	 * @see #restore(String)
+	 * @since 2.0.4
+	 */
+	public void snapshot(String name) throws CassandraException {
+		Objects.requireNonNull(name, "Name must not be null");
+		try (StorageServiceClient client = StorageServiceClient.connect(getSettings())) {
+			List<String> keyspaces = client.getKeyspaces();
+			client.clearSnapshot(name, keyspaces);
+			for (String keyspace : keyspaces) {
+				client.flush(keyspace);
+			}
+			client.takeSnapshot(name, keyspaces);
+		}
+		catch (Exception ex) {
+			throw new CassandraException(String.format("Unable to take a snapshot '%s' of %s", name, toString()),
+					ex);
+		}
+	}
+
+	/**
+	 * Restores all tables that have the snapshot with the given name (the same as {@code nodetool refresh}). Each
+	 * table is truncated and the snapshotted SSTables are loaded back, so going back to the seeded state does not
+	 * require executing the CQL scripts again. Tables created after the snapshot are left as is. The snapshot is
+	 * restored over JMX {@link Settings#getJmxPort() port} of the local {@code Cassandra}, data directories must be
+	 * accessible from this JVM.
+	 *
+	 * @param name the name of the snapshot
+	 * @throws CassandraException if the snapshot cannot be restored
+	 * @see #snapshot(String)
+	 * @since 2.0.4
+	 */
+	public void restore(String name) throws CassandraException {
+		Objects.requireNonNull(name, "Name must not be null");
+		try (StorageServiceClient client = StorageServiceClient.connect(getSettings())) {
+			int tables = client.restoreSnapshot(name, client.getKeyspaces());
+			if (log.isDebugEnabled()) {
+				log.debug("{} table(s) of {} have been restored from the snapshot '{}'", tables, toString(), name);
+			}
+		}
+		catch (Exception ex) {
+			throw new CassandraException(String.format("Unable to restore a snapshot '%s' of %s", name, toString()),
+					ex);
+		}
+	}
+
+	/**
+	 * Creates the given number of clones of this {@code Cassandra} and starts them concurrently. This {@code
+	 * Cassandra} is flushed and snapshotted once, the SSTables of the snapshot are hard-linked into the new working
+	 * directories, so the clones get the same schema and data without executing the scripts again. Each clone has its
+	 * own commit log, random ports and host ID. Clones should be {@link #stop() stopped} by the caller.
+	 *
+	 * @param count the number of clones
+	 * @return the started clones
+	 * @throws CassandraException if the clones cannot be created or started
+	 * @throws IllegalStateException if {@code Cassandra} has not been created by the {@link LocalCassandraFactory}
+	 * @since 2.0.4
+	 */
+	public List<TestCassandra> createClones(int count) throws CassandraException, IllegalStateException {
+		if (count <= 0) {
+			throw new IllegalArgumentException("Count must be positive");
+		}
+		LocalCassandraFactory localCassandraFactory = this.localCassandraFactory;
+		if (localCassandraFactory == null) {
+			throw new IllegalStateException(String.format("%s cannot be cloned. Cassandra has not been created by"
+					+ " the '%s'", toString(), LocalCassandraFactory.class.getName()));
+		}
+		String tag = "clone-" + UUID.randomUUID();
+		try (StorageServiceClient client = StorageServiceClient.connect(getSettings())) {
+			List<String> keyspaces = client.getAllKeyspaces();
+			client.takeSnapshot(tag, keyspaces);
+			try {
+				SnapshotLinkCustomizer customizer = new SnapshotLinkCustomizer(
+						client.getSnapshotDirectories(tag, keyspaces));
+				List<TestCassandra> clones = new ArrayList<>();
+				for (int i = 0; i < count; i++) {
+					clones.add(createClone(localCassandraFactory, customizer));
+				}
+				Cassandras.startAll(clones, count);
+				return clones;
+			}
+			finally {
+				client.clearSnapshot(tag, keyspaces);
+			}
+		}
+		catch (CassandraException ex) {
+			throw ex;
+		}
+		catch (Exception ex) {
+			throw new CassandraException(String.format("Unable to clone %s", toString()), ex);
+		}
+	}
+
 	@Override
 	public String toString() {
 		String name = getClass().getSimpleName();
@@ -316,14 +608,63 @@ public class TestCassandra implements Cassandra {
 			log.debug("Start {}", toString());
 		}
 		this.cassandra.start();
-		if (!this.scripts.isEmpty()) {
-			executeScripts(this.scripts.toArray(new CqlScript[0]));
+		DataDirectoryCacheCustomizer dataDirectoryCacheCustomizer = this.dataDirectoryCacheCustomizer;
+		if (dataDirectoryCacheCustomizer != null && dataDirectoryCacheCustomizer.isSeeded()) {
+			if (log.isDebugEnabled()) {
+				log.debug("{} has been seeded from the cache, scripts are skipped", toString());
+			}
+		}
+		else {
+			if (!this.scripts.isEmpty()) {
+				executeScripts(this.scripts.toArray(new CqlScript[0]));
+			}
+			if (dataDirectoryCacheCustomizer != null) {
+				storeDataDirectory(dataDirectoryCacheCustomizer);
+			}
 		}
 		if (log.isDebugEnabled()) {
 			log.debug("{} is started", toString());
 		}
 	}
 
+	private TestCassandra createClone(LocalCassandraFactory localCassandraFactory,
+			WorkingDirectoryCustomizer customizer) {
+		LocalCassandraFactory factory = new LocalCassandraFactory(localCassandraFactory);
+		factory.setWorkingDirectory(null);
+		factory.setPort(0);
+		factory.setRpcPort(0);
+		factory.setStoragePort(0);
+		factory.setSslStoragePort(0);
+		factory.setJmxLocalPort(0);
+		List<WorkingDirectoryCustomizer> customizers = new ArrayList<>(factory.getWorkingDirectoryCustomizers());
+		customizers.add(customizer);
+		factory.setWorkingDirectoryCustomizers(customizers);
+		ConnectionFactory connectionFactory = (this.connectionFactory instanceof DefaultConnectionFactory) ? null
+				: this.connectionFactory;
+		return new TestCassandra(factory, connectionFactory);
+	}
+
+	private void storeDataDirectory(DataDirectoryCacheCustomizer customizer) {
+		String key = customizer.getKey();
+		if (key == null) {
+			return;
+		}
+		String tag = "data-directory-" + key;
+		try (StorageServiceClient client = StorageServiceClient.connect(getSettings())) {
+			List<String> keyspaces = client.getAllKeyspaces();
+			client.takeSnapshot(tag, keyspaces);
+			try {
+				customizer.getCache().store(key, client.getSnapshotDirectories(tag, keyspaces));
+			}
+			finally {
+				client.clearSnapshot(tag, keyspaces);
+			}
+		}
+		catch (Exception ex) {
+			log.warn(String.format("Unable to store the data directory of %s", toString()), ex);
+		}
+	}
+
 	private void doStop() {
 		if (log.isDebugEnabled()) {
 			log.debug("Stop {}", toString());
@@ -24,7 +24,10 @@ import java.util.Objects;
 
 import com.github.nosan.embedded.cassandra.CassandraFactory;
 import com.github.nosan.embedded.cassandra.cql.CqlScript;
+import com.github.nosan.embedded.cassandra.cql.CqlStatementRewriter;
+import com.github.nosan.embedded.cassandra.cql.SchemaRewriter;
 import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+import com.github.nosan.embedded.cassandra.local.DataDirectoryCache;
 
 /**
  * A builder to configure and build a {@link TestCassandra}.
@@ -42,6 +45,12 @@ public final class TestCassandraBuilder {
 	@Nullable
 	private ConnectionFactory connectionFactory;
 
+	@Nullable
+	private DataDirectoryCache dataDirectoryCache;
+
+	@Nullable
+	private CqlStatementRewriter statementRewriter;
+
 	/**
 	 * Set the {@link CassandraFactory} that should be used with the {@link TestCassandra}.
 	 *
@@ -64,6 +73,31 @@ public final class TestCassandraBuilder {
 		return this;
 	}
 
+	/**
+	 * Set the {@link DataDirectoryCache} that should be used with the {@link TestCassandra}.
+	 *
+	 * @param dataDirectoryCache the data directory cache
+	 * @return this builder
+	 * @since 2.0.4
+	 */
+	public TestCassandraBuilder dataDirectoryCache(@Nullable DataDirectoryCache dataDirectoryCache) {
+		this.dataDirectoryCache = dataDirectoryCache;
+		return this;
+	}
+
+	/**
+	 * Set the {@link CqlStatementRewriter} that should rewrite statements of the scripts before the execution, e.g.
+	 * {@link SchemaRewriter}.
+	 *
+	 * @param statementRewriter the statement rewriter
+	 * @return this builder
+	 * @since 2.0.4
+	 */
+	public TestCassandraBuilder statementRewriter(@Nullable CqlStatementRewriter statementRewriter) {
+		this.statementRewriter = statementRewriter;
+		return this;
+	}
+
 	/**
 	 * Set the {@link CqlScript} that should be used with the {@link TestCassandra}. Setting this value will replace any
 	 * previously defined scripts.
@@ -136,11 +170,20 @@ public final class TestCassandraBuilder {
 	 */
 	public <T extends TestCassandra> T build(Class<? extends T> testCassandraClass) {
 		Objects.requireNonNull(testCassandraClass, "TestCassandra Class must not be null");
+		CqlScript[] scripts = this.scripts.toArray(new CqlScript[0]);
+		if (this.statementRewriter != null) {
+			scripts = new CqlScript[]{CqlScript.rewrite(this.statementRewriter, scripts)};
+		}
 		try {
+			if (this.dataDirectoryCache != null) {
+				Constructor<? extends T> constructor = testCassandraClass.getConstructor(CassandraFactory.class,
+						ConnectionFactory.class, DataDirectoryCache.class, CqlScript[].class);
+				return constructor.newInstance(this.cassandraFactory, this.connectionFactory, this.dataDirectoryCache,
+						scripts);
+			}
 			Constructor<? extends T> constructor = testCassandraClass.getConstructor(
 					CassandraFactory.class, ConnectionFactory.class, CqlScript[].class);
-			return constructor.newInstance(this.cassandraFactory, this.connectionFactory,
-					this.scripts.toArray(new CqlScript[0]));
+			return constructor.newInstance(this.cassandraFactory, this.connectionFactory, scripts);
 		}
 		catch (Exception ex) {
 			throw new IllegalStateException(ex);
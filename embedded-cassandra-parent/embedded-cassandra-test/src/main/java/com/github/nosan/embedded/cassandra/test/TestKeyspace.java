@@ -0,0 +1,176 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.test;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.nosan.embedded.cassandra.cql.CqlScript;
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+import com.github.nosan.embedded.cassandra.util.CompletableFutureUtils;
+import com.github.nosan.embedded.cassandra.util.MDCThreadFactory;
+
+/**
+ * Generated keyspace that isolates the data of one test (or test class) on the shared {@link TestCassandra}. {@link
+ * CqlScript Scripts} executed by this keyspace may refer to it via the {@code ${keyspace}} placeholder. When this
+ * keyspace is {@link #close() closed} it is dropped asynchronously in the background. The typical usage is:
+ * <pre>
+ * try (TestKeyspace keyspace = cassandra.createKeyspace(CqlScript.classpath("tables.cql"))) {
+ * 	keyspace.executeScripts(CqlScript.statements("INSERT INTO ${keyspace}.users (id) VALUES (1)"));
+ * 	//if com.datastax.oss:java-driver-core is present
+ * 	CqlSession session = keyspace.getNativeConnection(CqlSession.class);
+ * 	//if com.datastax.cassandra:cassandra-driver-core is present
+ * 	Session session = keyspace.getNativeConnection(Session.class);
+ * }</pre>
+ *
+ * @author Dmytro Nosan
+ * @see TestCassandra#createKeyspace(CqlScript...)
+ * @since 2.0.4
+ */
+public final class TestKeyspace implements AutoCloseable {
+
+	/**
+	 * The name of the placeholder that is replaced with the keyspace name.
+	 */
+	public static final String PLACEHOLDER = "keyspace";
+
+	private static final Logger log = LoggerFactory.getLogger(TestKeyspace.class);
+
+	private final TestCassandra cassandra;
+
+	private final String name;
+
+	@Nullable
+	private Connection connection;
+
+	private boolean closed;
+
+	TestKeyspace(TestCassandra cassandra, String name) {
+		this.cassandra = cassandra;
+		this.name = name;
+	}
+
+	/**
+	 * Returns the name of this keyspace.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Executes the given {@link CqlScript scripts}, the {@code ${keyspace}} placeholder is replaced with the {@link
+	 * #getName() name} of this keyspace.
+	 *
+	 * @param scripts the scripts
+	 */
+	public void executeScripts(CqlScript... scripts) {
+		Objects.requireNonNull(scripts, "Scripts must not be null");
+		if (scripts.length > 0) {
+			this.cassandra.executeScripts(CqlScript.template(Collections.singletonMap(PLACEHOLDER, this.name),
+					scripts));
+		}
+	}
+
+	/**
+	 * Returns the {@link Connection connection} bound to this keyspace. The connection is created by {@link
+	 * Connection#forKeyspace(String)} and closed when this keyspace is {@link #close() closed}.
+	 *
+	 * @return a connection
+	 * @throws IllegalStateException if this keyspace is {@link #close() closed}
+	 * @throws UnsupportedOperationException if the connection of the {@link TestCassandra} cannot be bound to a
+	 * keyspace
+	 */
+	public synchronized Connection getConnection() throws IllegalStateException, UnsupportedOperationException {
+		if (this.closed) {
+			throw new IllegalStateException(String.format("%s is closed", this));
+		}
+		Connection connection = this.connection;
+		if (connection == null) {
+			connection = this.cassandra.getConnection().forKeyspace(this.name);
+			this.connection = connection;
+		}
+		return connection;
+	}
+
+	/**
+	 * Returns the {@link Connection#get() native connection} bound to this keyspace. The shortcut for {@code
+	 * <T>.class.cast(getConnection().get())}.
+	 *
+	 * @param <T> the native connection type
+	 * @param connectionType the connection type
+	 * @return a native connection
+	 * @throws ClassCastException if the native {@code connection} is not assignable to the type {@code T}.
+	 * @throws IllegalStateException if this keyspace is {@link #close() closed}
+	 */
+	public <T> T getNativeConnection(Class<? extends T> connectionType)
+			throws ClassCastException, IllegalStateException {
+		Objects.requireNonNull(connectionType, "Connection Type must not be null");
+		return connectionType.cast(getConnection().get());
+	}
+
+	/**
+	 * Closes the {@link #getConnection() connection} and drops this keyspace asynchronously.
+	 *
+	 * @return the future that is completed once the keyspace has been dropped
+	 */
+	public CompletableFuture<Void> drop() {
+		synchronized (this) {
+			if (!this.closed) {
+				this.closed = true;
+				Connection connection = this.connection;
+				this.connection = null;
+				if (connection != null) {
+					try {
+						connection.close();
+					}
+					catch (Throwable ex) {
+						log.error(String.format("Can not close a connection '%s'", connection), ex);
+					}
+				}
+			}
+		}
+		return CompletableFutureUtils.supplyAsync(() -> {
+			this.cassandra.executeScripts(CqlScript.statements(String.format("DROP KEYSPACE IF EXISTS %s",
+					this.name)));
+			return null;
+		}, new MDCThreadFactory("keyspace-drop"));
+	}
+
+	/**
+	 * Closes the {@link #getConnection() connection} and drops this keyspace asynchronously in the background.
+	 */
+	@Override
+	public void close() {
+		drop().whenComplete((result, ex) -> {
+			if (ex != null) {
+				log.error(String.format("Keyspace '%s' has not been dropped", this.name), ex);
+			}
+		});
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Test Keyspace [name=%s]", this.name);
+	}
+
+}
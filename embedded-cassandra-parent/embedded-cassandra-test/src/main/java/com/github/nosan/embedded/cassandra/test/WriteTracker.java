@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+
+/**
+ * Tracker that records the tables ({@code keyspace.table}) modified by {@code INSERT}, {@code UPDATE} and {@code
+ * DELETE} statements. {@link CqlSessionFactory} and {@link ClusterFactory} install this tracker into the driver, so
+ * only the tables that were actually written by a test can be truncated afterwards.
+ *
+ * @author Dmytro Nosan
+ * @see TestCassandra#cleanup()
+ * @since 2.0.4
+ */
+public final class WriteTracker {
+
+	private static final String IDENTIFIER = "(?:\"(?:[^\"]|\"\")+\"|\\w+)";
+
+	private static final Pattern WRITE_PATTERN = Pattern.compile(String.format(
+			"(?is)\\b(?:INSERT\\s+INTO|UPDATE|DELETE\\b.*?\\bFROM)\\s+(%1$s)(?:\\s*\\.\\s*(%1$s))?", IDENTIFIER));
+
+	private final Set<String> tables = new LinkedHashSet<>();
+
+	/**
+	 * Records the tables modified by the given statement.
+	 *
+	 * @param keyspace the keyspace of the statement, or {@code null} if the statement is not bound to a keyspace.
+	 * Tables that are not qualified by a keyspace are ignored if the keyspace is {@code null}
+	 * @param statement the CQL statement (or batch)
+	 */
+	public void track(@Nullable String keyspace, String statement) {
+		Objects.requireNonNull(statement, "Statement must not be null");
+		Matcher matcher = WRITE_PATTERN.matcher(statement);
+		while (matcher.find()) {
+			String table = matcher.group(2);
+			if (table != null) {
+				add(getName(matcher.group(1)) + "." + getName(table));
+			}
+			else if (keyspace != null) {
+				add(keyspace + "." + getName(matcher.group(1)));
+			}
+		}
+	}
+
+	/**
+	 * Returns the tables ({@code keyspace.table}) modified since the last {@link #drainTables() drain}.
+	 *
+	 * @return the modified tables
+	 */
+	public synchronized List<String> getTables() {
+		return Collections.unmodifiableList(new ArrayList<>(this.tables));
+	}
+
+	/**
+	 * Returns the tables ({@code keyspace.table}) modified since the last drain and resets this tracker.
+	 *
+	 * @return the modified tables
+	 */
+	public synchronized List<String> drainTables() {
+		List<String> tables = new ArrayList<>(this.tables);
+		this.tables.clear();
+		return Collections.unmodifiableList(tables);
+	}
+
+	/**
+	 * Forgets all modified tables.
+	 */
+	public synchronized void clear() {
+		this.tables.clear();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s %s", getClass().getSimpleName(), getTables());
+	}
+
+	private synchronized void add(String table) {
+		this.tables.add(table);
+	}
+
+	private static String getName(String identifier) {
+		if (identifier.startsWith("\"")) {
+			return identifier.substring(1, identifier.length() - 1).replace("\"\"", "\"");
+		}
+		return identifier.toLowerCase(Locale.ENGLISH);
+	}
+
+}
@@ -16,12 +16,24 @@
 
 package com.github.nosan.embedded.cassandra.test.util;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.nosan.embedded.cassandra.CassandraInterruptedException;
 import com.github.nosan.embedded.cassandra.cql.CqlScript;
 
 /**
@@ -32,6 +44,15 @@ import com.github.nosan.embedded.cassandra.cql.CqlScript;
  */
 public abstract class CqlUtils {
 
+	static final String SCHEMA_TABLES_QUERY = "SELECT keyspace_name, table_name FROM system_schema.tables";
+
+	static final String SCHEMA_COLUMN_FAMILIES_QUERY = "SELECT keyspace_name, columnfamily_name "
+			+ "FROM system.schema_columnfamilies";
+
+	static final Set<String> SYSTEM_KEYSPACES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+			"system", "system_schema", "system_auth", "system_distributed", "system_traces", "system_views",
+			"system_virtual_schema")));
+
 	private static final Logger log = LoggerFactory.getLogger(CqlUtils.class);
 
 	/**
@@ -61,13 +82,111 @@ public abstract class CqlUtils {
 			if (log.isDebugEnabled()) {
 				log.debug("Executing Script: {}", script);
 			}
-			for (String statement : script.getStatements()) {
+			// statements are consumed one by one, hence the memory does not depend on the size of the script
+			try (Stream<String> statements = script.stream()) {
+				statements.forEach(statement -> {
+					if (log.isDebugEnabled()) {
+						log.debug("Executing Statement: {}", statement);
+					}
+					statementCallback.execute(statement);
+				});
+			}
+		}
+	}
+
+	/**
+	 * Executes the given statements asynchronously, at most {@code parallelism} statements are in flight at the same
+	 * time. Causes the current thread to wait, until all statements have been executed.
+	 *
+	 * @param statements the CQL statements to execute
+	 * @param parallelism the maximum number of statements in flight
+	 * @param asyncStatementCallback a callback that executes the statement asynchronously
+	 * @throws RuntimeException the first failure, other failures are {@link Throwable#addSuppressed(Throwable)
+	 * suppressed}
+	 * @since 2.0.4
+	 */
+	public static void executeAsync(Collection<String> statements, int parallelism,
+			AsyncStatementCallback asyncStatementCallback) {
+		Objects.requireNonNull(statements, "Statements must not be null");
+		Objects.requireNonNull(asyncStatementCallback, "Async Statement Callback must not be null");
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException(String.format("Parallelism '%d' must be positive", parallelism));
+		}
+		Semaphore semaphore = new Semaphore(parallelism);
+		List<CompletableFuture<?>> futures = new ArrayList<>();
+		try {
+			for (String statement : statements) {
+				semaphore.acquire();
 				if (log.isDebugEnabled()) {
 					log.debug("Executing Statement: {}", statement);
 				}
-				statementCallback.execute(statement);
+				CompletableFuture<?> future;
+				try {
+					future = asyncStatementCallback.execute(statement);
+				}
+				catch (RuntimeException ex) {
+					// e.g. the session is closed, the failure is joined and aggregated like the failed futures
+					CompletableFuture<?> failed = new CompletableFuture<>();
+					failed.completeExceptionally(ex);
+					future = failed;
+				}
+				future.whenComplete((result, ex) -> semaphore.release());
+				futures.add(future);
 			}
 		}
+		catch (InterruptedException ex) {
+			futures.forEach(future -> future.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new CassandraInterruptedException("Execution of the statements has been interrupted", ex);
+		}
+		RuntimeException failure = null;
+		for (CompletableFuture<?> future : futures) {
+			try {
+				future.join();
+			}
+			catch (CompletionException | CancellationException ex) {
+				Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+				if (failure == null) {
+					failure = (cause instanceof RuntimeException) ? (RuntimeException) cause
+							: new IllegalStateException(cause);
+				}
+				else {
+					failure.addSuppressed(cause);
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Whether the given keyspace is a system keyspace.
+	 *
+	 * @param keyspace the keyspace
+	 * @return {@code true} if the keyspace is a system keyspace
+	 * @since 2.0.4
+	 */
+	public static boolean isSystemKeyspace(String keyspace) {
+		return SYSTEM_KEYSPACES.contains(keyspace);
+	}
+
+	/**
+	 * Creates the {@code TRUNCATE} statement for the given {@code keyspace.table}.
+	 *
+	 * @param table the {@code keyspace.table}
+	 * @return the statement
+	 */
+	static String getTruncateStatement(String table) {
+		int index = table.indexOf('.');
+		if (index == -1) {
+			throw new IllegalArgumentException(String.format("Table '%s' must be qualified by a keyspace", table));
+		}
+		return String.format("TRUNCATE %s.%s", quote(table.substring(0, index)), quote(table.substring(index + 1)));
+	}
+
+	private static String quote(String name) {
+		return "\"" + name.replace("\"", "\"\"") + "\"";
 	}
 
 	/**
@@ -85,4 +204,22 @@ public abstract class CqlUtils {
 
 	}
 
+	/**
+	 * Asynchronous CQL statement callback interface.
+	 *
+	 * @since 2.0.4
+	 */
+	@FunctionalInterface
+	public interface AsyncStatementCallback {
+
+		/**
+		 * Execute the {@code CQL} statement asynchronously.
+		 *
+		 * @param statement the CQL statement
+		 * @return the future that is completed once the statement has been executed
+		 */
+		CompletableFuture<?> execute(String statement);
+
+	}
+
 }
@@ -16,8 +16,15 @@
 
 package com.github.nosan.embedded.cassandra.test.util;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 
 import com.github.nosan.embedded.cassandra.cql.CqlScript;
@@ -43,4 +50,68 @@ public abstract class SessionUtils {
 		CqlUtils.execute(scripts, session::execute);
 	}
 
+	/**
+	 * Returns all non-system tables, read from {@code system_schema.tables} (or {@code
+	 * system.schema_columnfamilies} before 3.0).
+	 *
+	 * @param session a session
+	 * @return the tables in the {@code keyspace.table} format
+	 * @since 2.0.4
+	 */
+	public static List<String> getTables(Session session) {
+		Objects.requireNonNull(session, "Session must not be null");
+		ResultSet resultSet;
+		try {
+			resultSet = session.execute(CqlUtils.SCHEMA_TABLES_QUERY);
+		}
+		catch (RuntimeException ex) {
+			try {
+				resultSet = session.execute(CqlUtils.SCHEMA_COLUMN_FAMILIES_QUERY);
+			}
+			catch (RuntimeException suppressed) {
+				ex.addSuppressed(suppressed);
+				throw ex;
+			}
+		}
+		List<String> tables = new ArrayList<>();
+		for (Row row : resultSet) {
+			String keyspace = row.getString(0);
+			if (keyspace != null && !CqlUtils.isSystemKeyspace(keyspace)) {
+				tables.add(keyspace + "." + row.getString(1));
+			}
+		}
+		return tables;
+	}
+
+	/**
+	 * Truncates the given tables concurrently, at most {@code parallelism} {@code TRUNCATE} statements are in flight
+	 * at the same time.
+	 *
+	 * @param session a session
+	 * @param tables the tables in the {@code keyspace.table} format
+	 * @param parallelism the maximum number of statements in flight
+	 * @since 2.0.4
+	 */
+	public static void truncate(Session session, Collection<String> tables, int parallelism) {
+		Objects.requireNonNull(session, "Session must not be null");
+		Objects.requireNonNull(tables, "Tables must not be null");
+		List<String> statements = new ArrayList<>();
+		for (String table : tables) {
+			statements.add(CqlUtils.getTruncateStatement(table));
+		}
+		CqlUtils.executeAsync(statements, parallelism, statement -> {
+			ResultSetFuture future = session.executeAsync(statement);
+			CompletableFuture<ResultSet> result = new CompletableFuture<>();
+			future.addListener(() -> {
+				try {
+					result.complete(future.getUninterruptibly());
+				}
+				catch (Throwable ex) {
+					result.completeExceptionally(ex);
+				}
+			}, Runnable::run);
+			return result;
+		});
+	}
+
 }
@@ -16,6 +16,11 @@
 
 package com.github.nosan.embedded.cassandra;
 
+import java.util.concurrent.CompletableFuture;
+
+import com.github.nosan.embedded.cassandra.util.CompletableFutureUtils;
+import com.github.nosan.embedded.cassandra.util.MDCThreadFactory;
+
 /**
  * Simple interface that allows the {@code Cassandra} to be {@link #start() started} and {@link #stop() stopped}.
  *
@@ -43,6 +48,53 @@ public interface Cassandra {
 	 */
 	void stop() throws CassandraException, CassandraInterruptedException;
 
+	/**
+	 * Restarts the {@code Cassandra}. Implementations may keep the working directory, the data and the ports of the
+	 * current run and just relaunch the process, which is much faster than {@link #stop()} followed by {@link
+	 * #start()}. Starts the {@code Cassandra} if it is not running. Causes the current thread to wait, until the
+	 * {@code Cassandra} has restarted.
+	 *
+	 * @throws CassandraException if the {@code Cassandra} cannot be restarted
+	 * @throws CassandraInterruptedException if the {@code Cassandra} was interrupted.
+	 * @since 2.0.4
+	 */
+	default void restart() throws CassandraException, CassandraInterruptedException {
+		stop();
+		start();
+	}
+
+	/**
+	 * Starts the {@code Cassandra} asynchronously. The returned future is completed with the {@link #getSettings()
+	 * settings} once the {@code Cassandra} has started, or completed exceptionally with the exception thrown by
+	 * {@link #start()}. {@link CompletableFuture#cancel(boolean) Cancellation} interrupts the startup.
+	 *
+	 * @return the future
+	 * @see #start()
+	 * @since 2.0.4
+	 */
+	default CompletableFuture<Settings> startAsync() {
+		return CompletableFutureUtils.supplyAsync(() -> {
+			start();
+			return getSettings();
+		}, new MDCThreadFactory("cassandra-start"));
+	}
+
+	/**
+	 * Stops the {@code Cassandra} asynchronously. The returned future is completed once the {@code Cassandra} has
+	 * stopped, or completed exceptionally with the exception thrown by {@link #stop()}. {@link
+	 * CompletableFuture#cancel(boolean) Cancellation} interrupts the shutdown.
+	 *
+	 * @return the future
+	 * @see #stop()
+	 * @since 2.0.4
+	 */
+	default CompletableFuture<Void> stopAsync() {
+		return CompletableFutureUtils.supplyAsync(() -> {
+			stop();
+			return null;
+		}, new MDCThreadFactory("cassandra-stop"));
+	}
+
 	/**
 	 * Returns the settings this {@code Cassandra} is running on.
 	 *
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+import com.github.nosan.embedded.cassandra.util.CompletableFutureUtils;
+import com.github.nosan.embedded.cassandra.util.MDCThreadFactory;
+
+/**
+ * Pool of warm standby {@link Cassandra} instances. The pool keeps {@code size} instances that are either
+ * {@link Cassandra#startAsync() started or starting} in the background, so that {@link #acquire()} hands out an
+ * already started instance without waiting for the startup.
+ * <p>
+ * On {@link #release(Cassandra)} the instance is {@link #CassandraPool(CassandraFactory, int, Consumer) reset} and
+ * returned to the pool, or, if no reset is configured or the reset has failed, stopped and replaced by a new
+ * instance that is started asynchronously.
+ * <p>
+ * The {@link CassandraFactory factory} (e.g. {@link com.github.nosan.embedded.cassandra.local.LocalCassandraFactory})
+ * must create instances that can run side by side, i.e. with random ports and distinct working directories.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+public class CassandraPool implements AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(CassandraPool.class);
+
+	private final CassandraFactory factory;
+
+	private final int size;
+
+	@Nullable
+	private final Consumer<? super Cassandra> reset;
+
+	private final Deque<Instance> available = new ArrayDeque<>();
+
+	private final Map<Cassandra, Instance> instances = new ConcurrentHashMap<>();
+
+	private final Set<Cassandra> acquired = ConcurrentHashMap.newKeySet();
+
+	private final Set<CompletableFuture<Void>> stopping = ConcurrentHashMap.newKeySet();
+
+	private boolean closed;
+
+	/**
+	 * Creates a {@link CassandraPool} that destroys the released instances.
+	 *
+	 * @param factory the factory to create the instances
+	 * @param size the number of instances
+	 */
+	public CassandraPool(CassandraFactory factory, int size) {
+		this(factory, size, null);
+	}
+
+	/**
+	 * Creates a {@link CassandraPool}.
+	 *
+	 * @param factory the factory to create the instances
+	 * @param size the number of instances
+	 * @param reset the callback to reset the released instance before it is returned to the pool, or {@code null}
+	 * to destroy the released instances
+	 */
+	public CassandraPool(CassandraFactory factory, int size, @Nullable Consumer<? super Cassandra> reset) {
+		Objects.requireNonNull(factory, "Factory must not be null");
+		if (size <= 0) {
+			throw new IllegalArgumentException(String.format("Size '%d' must be positive", size));
+		}
+		this.factory = factory;
+		this.size = size;
+		this.reset = reset;
+		synchronized (this.available) {
+			for (int i = 0; i < size; i++) {
+				replenish();
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of instances managed by this pool.
+	 *
+	 * @return the size
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Acquires an instance from the pool. A started instance is preferred, otherwise causes the current thread to
+	 * wait until a starting instance has started, or an instance has been {@link #release(Cassandra) released}.
+	 *
+	 * @return the started instance
+	 * @throws CassandraException if the instance cannot be started, a replacement is started asynchronously
+	 * @throws CassandraInterruptedException if the current thread was interrupted
+	 * @throws IllegalStateException if the pool is closed
+	 */
+	public Cassandra acquire() throws CassandraException, CassandraInterruptedException, IllegalStateException {
+		Instance instance;
+		try {
+			instance = take();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CassandraInterruptedException("Acquiring of the Cassandra has been interrupted", ex);
+		}
+		try {
+			instance.future.get();
+			this.acquired.add(instance.cassandra);
+			return instance.cassandra;
+		}
+		catch (InterruptedException ex) {
+			offer(instance, true);
+			Thread.currentThread().interrupt();
+			throw new CassandraInterruptedException("Acquiring of the Cassandra has been interrupted", ex);
+		}
+		catch (CancellationException ex) {
+			throw new IllegalStateException("Pool is closed", ex);
+		}
+		catch (ExecutionException ex) {
+			destroy(instance.cassandra);
+			synchronized (this.available) {
+				replenish();
+			}
+			Throwable cause = ex.getCause();
+			if (cause instanceof CassandraException) {
+				throw (CassandraException) cause;
+			}
+			throw new CassandraException(String.format("%s could not be started", instance.cassandra), cause);
+		}
+	}
+
+	/**
+	 * Releases the {@link #acquire() acquired} instance. The instance is reset and returned to the pool, or stopped
+	 * and replaced by a new instance that is started asynchronously.
+	 *
+	 * @param cassandra the acquired instance
+	 * @throws IllegalArgumentException if the instance has not been acquired from this pool
+	 */
+	public void release(Cassandra cassandra) throws IllegalArgumentException {
+		Objects.requireNonNull(cassandra, "Cassandra must not be null");
+		if (!this.acquired.remove(cassandra)) {
+			throw new IllegalArgumentException(String.format("%s has not been acquired from this pool", cassandra));
+		}
+		Instance instance = this.instances.get(cassandra);
+		if (instance != null && this.reset != null && cassandra.getState() == Cassandra.State.STARTED) {
+			try {
+				this.reset.accept(cassandra);
+				if (offer(instance, false)) {
+					return;
+				}
+			}
+			catch (RuntimeException ex) {
+				log.error(String.format("%s could not be reset and will be replaced", cassandra), ex);
+			}
+		}
+		destroy(cassandra);
+		synchronized (this.available) {
+			replenish();
+		}
+	}
+
+	/**
+	 * Stops all instances, including the acquired ones. Causes the current thread to wait, until all instances have
+	 * stopped.
+	 *
+	 * @throws CassandraException if not all instances could be stopped
+	 */
+	@Override
+	public void close() throws CassandraException {
+		synchronized (this.available) {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
+			this.available.clear();
+			this.available.notifyAll();
+		}
+		for (Instance instance : this.instances.values()) {
+			instance.future.cancel(true);
+		}
+		for (Cassandra cassandra : new ArrayList<>(this.instances.keySet())) {
+			destroy(cassandra);
+		}
+		List<Throwable> failures = new ArrayList<>();
+		for (CompletableFuture<Void> future : new ArrayList<>(this.stopping)) {
+			try {
+				future.join();
+			}
+			catch (RuntimeException ex) {
+				failures.add((ex.getCause() != null) ? ex.getCause() : ex);
+			}
+		}
+		if (!failures.isEmpty()) {
+			CassandraException ex = new CassandraException("Not all Cassandra instances have been stopped");
+			failures.forEach(ex::addSuppressed);
+			throw ex;
+		}
+	}
+
+	@Override
+	public String toString() {
+		synchronized (this.available) {
+			return String.format("Cassandra Pool [size=%d, available=%d, acquired=%d, closed=%s]", this.size,
+					this.available.size(), this.acquired.size(), this.closed);
+		}
+	}
+
+	private Instance take() throws InterruptedException {
+		synchronized (this.available) {
+			while (true) {
+				if (this.closed) {
+					throw new IllegalStateException("Pool is closed");
+				}
+				for (Iterator<Instance> iterator = this.available.iterator(); iterator.hasNext(); ) {
+					Instance instance = iterator.next();
+					if (instance.isStarted()) {
+						iterator.remove();
+						return instance;
+					}
+				}
+				Instance instance = this.available.pollFirst();
+				if (instance != null) {
+					return instance;
+				}
+				this.available.wait();
+			}
+		}
+	}
+
+	private boolean offer(Instance instance, boolean first) {
+		synchronized (this.available) {
+			if (this.closed) {
+				return false;
+			}
+			if (first) {
+				this.available.addFirst(instance);
+			}
+			else {
+				this.available.addLast(instance);
+			}
+			this.available.notifyAll();
+			return true;
+		}
+	}
+
+	private void replenish() {
+		if (this.closed) {
+			return;
+		}
+		Cassandra cassandra = this.factory.create();
+		Instance instance = start(cassandra);
+		this.instances.put(cassandra, instance);
+		this.available.addLast(instance);
+		this.available.notifyAll();
+	}
+
+	/**
+	 * Starts the given instance asynchronously. Unlike the startup future, which is completed as soon as it is
+	 * cancelled, the attempt is completed only once the startup thread has finished.
+	 *
+	 * @param cassandra the instance to start
+	 * @return the pooled instance
+	 */
+	private static Instance start(Cassandra cassandra) {
+		CompletableFuture<Void> attempt = new CompletableFuture<>();
+		CompletableFuture<Settings> future = CompletableFutureUtils.supplyAsync(() -> {
+			try {
+				cassandra.start();
+				return cassandra.getSettings();
+			}
+			finally {
+				attempt.complete(null);
+			}
+		}, new MDCThreadFactory("cassandra-start"));
+		return new Instance(cassandra, future, attempt);
+	}
+
+	private void destroy(Cassandra cassandra) {
+		Instance instance = this.instances.remove(cassandra);
+		if (instance == null) {
+			return;
+		}
+		// a cancelled startup might still be running, stop must not overtake it
+		CompletableFuture<Void> future = instance.attempt.thenCompose(ignore -> cassandra.stopAsync());
+		this.stopping.add(future);
+		future.whenComplete((result, ex) -> {
+			if (ex != null) {
+				log.error(String.format("%s could not be stopped", cassandra), ex);
+			}
+			this.stopping.remove(future);
+		});
+	}
+
+	/**
+	 * The pooled {@link Cassandra} and its startup.
+	 */
+	private static final class Instance {
+
+		private final Cassandra cassandra;
+
+		private final CompletableFuture<Settings> future;
+
+		private final CompletableFuture<Void> attempt;
+
+		Instance(Cassandra cassandra, CompletableFuture<Settings> future, CompletableFuture<Void> attempt) {
+			this.cassandra = cassandra;
+			this.future = future;
+			this.attempt = attempt;
+		}
+
+		boolean isStarted() {
+			return this.future.isDone() && !this.future.isCompletedExceptionally();
+		}
+
+	}
+
+}
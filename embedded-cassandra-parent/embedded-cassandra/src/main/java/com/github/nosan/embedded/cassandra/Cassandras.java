@@ -0,0 +1,148 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Utility methods to start and stop several independent {@link Cassandra} instances concurrently.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+public abstract class Cassandras {
+
+	/**
+	 * Starts the given instances concurrently, at most {@code parallelism} instances are starting at the same time.
+	 * Causes the current thread to wait, until all instances have started. If any instance cannot be started, the
+	 * instances that have not yet been started are skipped and the instances that have already been started are
+	 * stopped.
+	 *
+	 * @param cassandras the instances to start
+	 * @param parallelism the maximum number of instances starting at the same time
+	 * @throws CassandraException if any instance cannot be started, all failures are aggregated into one exception
+	 * @throws CassandraInterruptedException if the current thread was interrupted
+	 */
+	public static void startAll(Collection<? extends Cassandra> cassandras, int parallelism)
+			throws CassandraException, CassandraInterruptedException {
+		Objects.requireNonNull(cassandras, "Cassandras must not be null");
+		List<Cassandra> started = new ArrayList<>();
+		try {
+			execute(cassandras, parallelism, Cassandra::startAsync, true, started, "start");
+		}
+		catch (RuntimeException ex) {
+			boolean interrupted = Thread.interrupted();
+			try {
+				execute(started, parallelism, Cassandra::stopAsync, false, new ArrayList<>(), "stop");
+			}
+			catch (RuntimeException stopEx) {
+				ex.addSuppressed(stopEx);
+			}
+			finally {
+				if (interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Stops the given instances concurrently, at most {@code parallelism} instances are stopping at the same time.
+	 * Causes the current thread to wait, until all instances have stopped. The failure to stop one instance does not
+	 * prevent the other ones from being stopped.
+	 *
+	 * @param cassandras the instances to stop
+	 * @param parallelism the maximum number of instances stopping at the same time
+	 * @throws CassandraException if any instance cannot be stopped, all failures are aggregated into one exception
+	 * @throws CassandraInterruptedException if the current thread was interrupted
+	 */
+	public static void stopAll(Collection<? extends Cassandra> cassandras, int parallelism)
+			throws CassandraException, CassandraInterruptedException {
+		Objects.requireNonNull(cassandras, "Cassandras must not be null");
+		execute(cassandras, parallelism, Cassandra::stopAsync, false, new ArrayList<>(), "stop");
+	}
+
+	private static void execute(Collection<? extends Cassandra> cassandras, int parallelism,
+			Function<Cassandra, CompletableFuture<?>> action, boolean failFast, List<Cassandra> completed,
+			String name) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException(String.format("Parallelism '%d' must be positive", parallelism));
+		}
+		Semaphore semaphore = new Semaphore(parallelism);
+		AtomicBoolean failed = new AtomicBoolean();
+		List<Throwable> failures = new ArrayList<>();
+		List<Cassandra> submitted = new ArrayList<>();
+		List<CompletableFuture<?>> futures = new ArrayList<>();
+		try {
+			for (Cassandra cassandra : cassandras) {
+				semaphore.acquire();
+				if (failFast && failed.get()) {
+					break;
+				}
+				CompletableFuture<?> future = action.apply(cassandra);
+				submitted.add(cassandra);
+				futures.add(future);
+				future.whenComplete((result, ex) -> {
+					if (ex != null) {
+						failed.set(true);
+					}
+					semaphore.release();
+				});
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					futures.get(i).get();
+					completed.add(submitted.get(i));
+				}
+				catch (ExecutionException ex) {
+					failures.add(ex.getCause());
+				}
+				catch (CancellationException ex) {
+					failures.add(ex);
+				}
+			}
+		}
+		catch (InterruptedException ex) {
+			completed.clear();
+			for (int i = 0; i < futures.size(); i++) {
+				CompletableFuture<?> future = futures.get(i);
+				if (!future.cancel(true) && !future.isCompletedExceptionally()) {
+					completed.add(submitted.get(i));
+				}
+			}
+			Thread.currentThread().interrupt();
+			throw new CassandraInterruptedException(String.format("Cassandras %s has been interrupted", name), ex);
+		}
+		if (!failures.isEmpty()) {
+			CassandraException ex = new CassandraException(String.format("Unable to %s %d of %d Cassandra(s)", name,
+					failures.size(), cassandras.size()), failures.get(0));
+			failures.subList(1, failures.size()).forEach(ex::addSuppressed);
+			throw ex;
+		}
+	}
+
+}
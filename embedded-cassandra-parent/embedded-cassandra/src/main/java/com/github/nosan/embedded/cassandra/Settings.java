@@ -96,6 +96,27 @@ public interface Settings {
 		return sslPort();
 	}
 
+	/**
+	 * JMX port for local management connections.
+	 *
+	 * @return JMX port, or {@code empty} if JMX port is unknown
+	 * @see #getJmxPort()
+	 * @since 2.0.4
+	 */
+	default Optional<Integer> jmxPort() {
+		return Optional.empty();
+	}
+
+	/**
+	 * The per-phase breakdown of the startup.
+	 *
+	 * @return the startup report, or {@code empty} if the startup has not been profiled
+	 * @since 2.0.4
+	 */
+	default Optional<StartupReport> startupReport() {
+		return Optional.empty();
+	}
+
 	/**
 	 * The address to listen for the clients on.
 	 *
@@ -141,6 +162,18 @@ public interface Settings {
 		return portOrSslPort().orElseThrow(() -> new NoSuchElementException("Port and SSL port are not present"));
 	}
 
+	/**
+	 * JMX port for local management connections.
+	 *
+	 * @return JMX port
+	 * @throws NoSuchElementException if JMX port is not present
+	 * @see #jmxPort()
+	 * @since 2.0.4
+	 */
+	default int getJmxPort() throws NoSuchElementException {
+		return jmxPort().orElseThrow(() -> new NoSuchElementException("JMX port is not present"));
+	}
+
 	/**
 	 * RPC port for client connections.
 	 *
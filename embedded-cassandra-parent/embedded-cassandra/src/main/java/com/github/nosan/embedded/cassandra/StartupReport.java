@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+
+/**
+ * Per-phase breakdown of the {@link Cassandra} startup. Phases are ordered as they have been observed in the
+ * {@code Cassandra} output.
+ *
+ * @author Dmytro Nosan
+ * @see Settings#startupReport()
+ * @since 2.0.4
+ */
+public final class StartupReport {
+
+	private final List<Phase> phases;
+
+	/**
+	 * Creates a new {@link StartupReport}.
+	 *
+	 * @param phases the startup phases
+	 */
+	public StartupReport(Collection<? extends Phase> phases) {
+		Objects.requireNonNull(phases, "Phases must not be null");
+		this.phases = Collections.unmodifiableList(new ArrayList<>(phases));
+	}
+
+	/**
+	 * Returns the startup phases.
+	 *
+	 * @return the phases
+	 */
+	public List<Phase> getPhases() {
+		return this.phases;
+	}
+
+	/**
+	 * Returns the startup phase by the given name.
+	 *
+	 * @param name the name of the phase
+	 * @return the phase, or {@code empty} if the phase has not been observed
+	 */
+	public Optional<Phase> getPhase(String name) {
+		Objects.requireNonNull(name, "Name must not be null");
+		return this.phases.stream().filter(phase -> phase.getName().equals(name)).findFirst();
+	}
+
+	/**
+	 * Returns the total startup time.
+	 *
+	 * @return the total duration
+	 */
+	public Duration getDuration() {
+		Duration duration = Duration.ZERO;
+		for (Phase phase : this.phases) {
+			duration = duration.plus(phase.getDuration());
+		}
+		return duration;
+	}
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (other == null || getClass() != other.getClass()) {
+			return false;
+		}
+		StartupReport that = (StartupReport) other;
+		return this.phases.equals(that.phases);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.phases.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder(String.format("Startup Report (%d ms)", getDuration().toMillis()));
+		for (Phase phase : this.phases) {
+			report.append(String.format("%n\t- %s", phase));
+		}
+		return report.toString();
+	}
+
+	/**
+	 * The startup phase.
+	 */
+	public static final class Phase {
+
+		private final String name;
+
+		private final Duration duration;
+
+		/**
+		 * Creates a new {@link Phase}.
+		 *
+		 * @param name the name of the phase
+		 * @param duration the duration of the phase
+		 */
+		public Phase(String name, Duration duration) {
+			this.name = Objects.requireNonNull(name, "Name must not be null");
+			this.duration = Objects.requireNonNull(duration, "Duration must not be null");
+		}
+
+		/**
+		 * Returns the name of this phase.
+		 *
+		 * @return the name
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Returns the duration of this phase.
+		 *
+		 * @return the duration
+		 */
+		public Duration getDuration() {
+			return this.duration;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (other == null || getClass() != other.getClass()) {
+				return false;
+			}
+			Phase that = (Phase) other;
+			return this.name.equals(that.name) && this.duration.equals(that.duration);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.name, this.duration);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s: %d ms", this.name, this.duration.toMillis());
+		}
+
+	}
+
+}
@@ -16,18 +16,21 @@
 
 package com.github.nosan.embedded.cassandra.cql;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
 
 /**
- * Abstract {@link CqlScript} implementation, that pre-implemented {@link #getStatements()}.
+ * Abstract {@link CqlScript} implementation, that pre-implemented {@link #getStatements()} and {@link #stream()}.
  *
  * @author Dmytro Nosan
  * @since 1.0.0
@@ -47,7 +50,21 @@ public abstract class AbstractCqlResourceScript implements CqlScript {
 
 	@Override
 	public List<String> getStatements() {
-		return CqlScriptParser.parse(getScript());
+		try (Stream<String> statements = stream()) {
+			return Collections.unmodifiableList(statements.collect(Collectors.toList()));
+		}
+	}
+
+	@Override
+	public Stream<String> stream() {
+		try {
+			Reader reader = new InputStreamReader(getInputStream(), getEncoding());
+			return CqlScriptParser.stream(reader);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(String.format("Can not open a stream for CQL Script '%s'", toString()),
+					ex);
+		}
 	}
 
 	/**
@@ -68,24 +85,4 @@ public abstract class AbstractCqlResourceScript implements CqlScript {
 		return this.encoding;
 	}
 
-	private static byte[] toByteArray(InputStream inputStream) throws IOException {
-		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-		byte[] buf = new byte[8192];
-		int read;
-		while ((read = inputStream.read(buf)) > 0) {
-			outputStream.write(buf, 0, read);
-		}
-		return outputStream.toByteArray();
-	}
-
-	private String getScript() {
-		try (InputStream is = new BufferedInputStream(getInputStream())) {
-			return new String(toByteArray(is), getEncoding());
-		}
-		catch (IOException ex) {
-			throw new UncheckedIOException(String.format("Can not open a stream for CQL Script '%s'", toString()),
-					ex);
-		}
-	}
-
 }
@@ -41,6 +41,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -150,13 +151,17 @@ public final class ClassPathPatternCqlScript implements CqlScript {
 	 */
 	@Override
 	public List<String> getStatements() {
-		String pattern = this.pattern;
-		Charset encoding = this.encoding;
-		ClassLoader classLoader = this.classLoader;
-		List<UrlCqlScript> scripts = getResourcesByPattern(classLoader, pattern).stream()
-				.sorted(Comparator.comparing(URL::toString)).map(url -> new UrlCqlScript(url, encoding))
-				.collect(Collectors.toList());
-		return new CqlScripts(scripts).getStatements();
+		return getScripts().getStatements();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws UncheckedIOException if an I/O error occurs
+	 */
+	@Override
+	public Stream<String> stream() {
+		return getScripts().stream();
 	}
 
 	@Override
@@ -182,6 +187,14 @@ public final class ClassPathPatternCqlScript implements CqlScript {
 		return this.pattern;
 	}
 
+	private CqlScripts getScripts() {
+		Charset encoding = this.encoding;
+		List<UrlCqlScript> scripts = getResourcesByPattern(this.classLoader, this.pattern).stream()
+				.sorted(Comparator.comparing(URL::toString)).map(url -> new UrlCqlScript(url, encoding))
+				.collect(Collectors.toList());
+		return new CqlScripts(scripts);
+	}
+
 	private static Set<URL> getResourcesByPattern(@Nullable ClassLoader cl, String pattern) {
 		if (!hasPattern(pattern)) {
 			return getResources(cl, pattern);
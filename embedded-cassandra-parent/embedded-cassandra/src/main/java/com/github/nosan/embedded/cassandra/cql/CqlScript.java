@@ -20,6 +20,8 @@ import java.io.File;
 import java.net.URL;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * CQL Script that abstracts from the actual type of underlying source.
@@ -32,6 +34,8 @@ import java.util.List;
  * @see FileCqlScript
  * @see PathCqlScript
  * @see UrlCqlScript
+ * @see TemplateCqlScript
+ * @see RewritingCqlScript
  * @since 1.0.0
  */
 @FunctionalInterface
@@ -104,6 +108,32 @@ public interface CqlScript {
 		return new CqlStatements(statements);
 	}
 
+	/**
+	 * Factory method that creates {@link CqlScript} which replaces {@code ${name}} placeholders in the given scripts.
+	 *
+	 * @param variables the values of the placeholders
+	 * @param scripts CQL scripts
+	 * @return CQL scripts
+	 * @see TemplateCqlScript
+	 * @since 2.0.4
+	 */
+	static CqlScript template(Map<String, String> variables, CqlScript... scripts) {
+		return new TemplateCqlScript(new CqlScripts(scripts), variables);
+	}
+
+	/**
+	 * Factory method that creates {@link CqlScript} which rewrites the statements of the given scripts.
+	 *
+	 * @param rewriter the statement rewriter, e.g. {@link SchemaRewriter}
+	 * @param scripts CQL scripts
+	 * @return CQL scripts
+	 * @see RewritingCqlScript
+	 * @since 2.0.4
+	 */
+	static CqlScript rewrite(CqlStatementRewriter rewriter, CqlScript... scripts) {
+		return new RewritingCqlScript(new CqlScripts(scripts), rewriter);
+	}
+
 	/**
 	 * Returns CQL Statements.
 	 *
@@ -111,4 +141,15 @@ public interface CqlScript {
 	 */
 	List<String> getStatements();
 
+	/**
+	 * Returns CQL Statements lazily. Implementations backed by a resource read it in chunks, so that the memory does
+	 * not depend on the size of the script. The returned stream should be closed after use.
+	 *
+	 * @return CQL statements to execute.
+	 * @since 2.0.4
+	 */
+	default Stream<String> stream() {
+		return getStatements().stream();
+	}
+
 }
@@ -16,9 +16,20 @@
 
 package com.github.nosan.embedded.cassandra.cql;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
 import com.github.nosan.embedded.cassandra.util.StringUtils;
@@ -43,83 +54,210 @@ public abstract class CqlScriptParser {
 		return StringUtils.hasText(script) ? parseScript(script) : Collections.emptyList();
 	}
 
+	/**
+	 * Parses the given script into the statements lazily. The script is read in chunks and only the current
+	 * statement is kept in memory, so that scripts of any size can be parsed. The returned stream closes the given
+	 * {@code reader} when it is closed.
+	 *
+	 * @param reader the CQL script
+	 * @return CQL statements
+	 * @throws UncheckedIOException if an I/O error occurs while the statements are consumed
+	 * @see #parse(String)
+	 * @since 2.0.4
+	 */
+	public static Stream<String> stream(Reader reader) {
+		Objects.requireNonNull(reader, "Reader must not be null");
+		Spliterator<String> spliterator = Spliterators.spliteratorUnknownSize(new StatementIterator(reader),
+				Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(() -> {
+			try {
+				reader.close();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
+	}
+
 	private static List<String> parseScript(String script) {
 		List<String> statements = new ArrayList<>();
-		StringBuilder statement = new StringBuilder();
-		boolean singleQuoteEscape = false;
-		boolean doubleQuoteEscape = false;
-		boolean doubleDollarEscape = false;
-		int length = script.length();
-		int index = 0;
-		while (index < length) {
-			char c = getChar(script, index);
-			if (!doubleQuoteEscape && !doubleDollarEscape && c == '\'') {
-				statement.append('\'');
-				singleQuoteEscape = !singleQuoteEscape;
-				index++;
-				continue;
-			}
-			if (!singleQuoteEscape && !doubleDollarEscape && c == '"') {
-				statement.append('"');
-				doubleQuoteEscape = !doubleQuoteEscape;
-				index++;
-				continue;
+		new StatementIterator(new StringReader(script)).forEachRemaining(statements::add);
+		return Collections.unmodifiableList(statements);
+	}
+
+	/**
+	 * {@link Iterator} that reads the statements one by one. Statements end in a semicolon, semicolons within quotes,
+	 * double quotes and double dollars are ignored, as well as comments.
+	 */
+	private static final class StatementIterator implements Iterator<String> {
+
+		private static final int EOF = -1;
+
+		private final Reader reader;
+
+		private final char[] buffer = new char[8192];
+
+		private final StringBuilder statement = new StringBuilder();
+
+		private int position;
+
+		private int limit;
+
+		private boolean singleQuoteEscape;
+
+		private boolean doubleQuoteEscape;
+
+		private boolean doubleDollarEscape;
+
+		private boolean end;
+
+		@Nullable
+		private String next;
+
+		StatementIterator(Reader reader) {
+			this.reader = reader;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (this.next == null && !this.end) {
+				try {
+					this.next = parseNext();
+				}
+				catch (IOException ex) {
+					throw new UncheckedIOException("Can not read CQL Script", ex);
+				}
 			}
-			if (!singleQuoteEscape && !doubleQuoteEscape && script.startsWith("$$", index)) {
-				statement.append("$$");
-				doubleDollarEscape = !doubleDollarEscape;
-				index += 2;
-				continue;
+			return this.next != null;
+		}
+
+		@Override
+		public String next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException("No more statements");
 			}
-			if (!singleQuoteEscape && !doubleQuoteEscape && !doubleDollarEscape) {
-				if (script.startsWith("--", index) || script.startsWith("//", index)) {
-					if (script.indexOf('\n', index) < 0) {
-						break;
-					}
-					index = script.indexOf('\n', index) + 1;
+			String next = this.next;
+			this.next = null;
+			return next;
+		}
+
+		@Nullable
+		private String parseNext() throws IOException {
+			StringBuilder statement = this.statement;
+			int r;
+			while ((r = read()) != EOF) {
+				char raw = (char) r;
+				char c = normalize(raw);
+				if (!this.doubleQuoteEscape && !this.doubleDollarEscape && c == '\'') {
+					statement.append('\'');
+					this.singleQuoteEscape = !this.singleQuoteEscape;
 					continue;
 				}
-				if (script.startsWith("/*", index)) {
-					if (script.indexOf("*/", index) < 0) {
-						throw new IllegalArgumentException("Missing end block comment '*/'");
-					}
-					index = script.indexOf("*/", index) + 2;
+				if (!this.singleQuoteEscape && !this.doubleDollarEscape && c == '"') {
+					statement.append('"');
+					this.doubleQuoteEscape = !this.doubleQuoteEscape;
 					continue;
 				}
-				if (c == ';') {
-					addStatement(statement, statements);
-					index++;
+				if (!this.singleQuoteEscape && !this.doubleQuoteEscape && raw == '$' && peek() == '$') {
+					read();
+					statement.append("$$");
+					this.doubleDollarEscape = !this.doubleDollarEscape;
 					continue;
 				}
-				if (c == ' ' && isSpaceBefore(statement)) {
-					index++;
-					continue;
+				if (!this.singleQuoteEscape && !this.doubleQuoteEscape && !this.doubleDollarEscape) {
+					if ((raw == '-' && peek() == '-') || (raw == '/' && peek() == '/')) {
+						skipLineComment();
+						continue;
+					}
+					if (raw == '/' && peek() == '*') {
+						read();
+						skipBlockComment();
+						continue;
+					}
+					if (c == ';') {
+						String result = getStatement();
+						if (result != null) {
+							return result;
+						}
+						continue;
+					}
+					if (c == ' ' && isSpaceBefore(statement)) {
+						continue;
+					}
 				}
+				statement.append(c);
 			}
-			statement.append(c);
-			index++;
+			this.end = true;
+			return getStatement();
 		}
-		addStatement(statement, statements);
-		return Collections.unmodifiableList(statements);
-	}
 
-	private static void addStatement(StringBuilder statement, List<String> statements) {
-		if (StringUtils.hasText(statement)) {
-			statements.add(statement.toString().trim());
+		@Nullable
+		private String getStatement() {
+			StringBuilder statement = this.statement;
+			String result = StringUtils.hasText(statement) ? statement.toString().trim() : null;
+			statement.delete(0, statement.length());
+			return result;
 		}
-		statement.delete(0, statement.length());
-	}
 
-	private static char getChar(String script, int index) {
-		char c = script.charAt(index);
-		if (c == '\r' || c == '\t' || c == '\n') {
-			return ' ';
+		private void skipLineComment() throws IOException {
+			int r;
+			while ((r = read()) != EOF) {
+				if (r == '\n') {
+					return;
+				}
+			}
+		}
+
+		private void skipBlockComment() throws IOException {
+			// '*' of the opening '/*' might be a part of the closing '*/'
+			int previous = '*';
+			int r;
+			while ((r = read()) != EOF) {
+				if (previous == '*' && r == '/') {
+					return;
+				}
+				previous = r;
+			}
+			throw new IllegalArgumentException("Missing end block comment '*/'");
+		}
+
+		private int read() throws IOException {
+			if (!fill()) {
+				return EOF;
+			}
+			return this.buffer[this.position++];
+		}
+
+		private int peek() throws IOException {
+			if (!fill()) {
+				return EOF;
+			}
+			return this.buffer[this.position];
+		}
+
+		private boolean fill() throws IOException {
+			while (this.position >= this.limit) {
+				int read = this.reader.read(this.buffer);
+				if (read == EOF) {
+					return false;
+				}
+				this.position = 0;
+				this.limit = read;
+			}
+			return true;
+		}
+
+		private static char normalize(char c) {
+			if (c == '\r' || c == '\t' || c == '\n') {
+				return ' ';
+			}
+			return c;
+		}
+
+		private static boolean isSpaceBefore(StringBuilder statement) {
+			return StringUtils.hasLength(statement) && statement.charAt(statement.length() - 1) == ' ';
 		}
-		return c;
-	}
 
-	private static boolean isSpaceBefore(StringBuilder statement) {
-		return StringUtils.hasLength(statement) && statement.charAt(statement.length() - 1) == ' ';
 	}
 
 }
@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
 
@@ -65,6 +66,11 @@ public final class CqlScripts implements CqlScript {
 		return Collections.unmodifiableList(statements);
 	}
 
+	@Override
+	public Stream<String> stream() {
+		return this.scripts.stream().flatMap(CqlScript::stream);
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(this.scripts);
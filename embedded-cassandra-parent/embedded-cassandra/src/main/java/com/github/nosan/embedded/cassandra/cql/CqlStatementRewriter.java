@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.cql;
+
+/**
+ * Strategy interface to rewrite CQL statements between parsing and execution.
+ *
+ * @author Dmytro Nosan
+ * @see RewritingCqlScript
+ * @see SchemaRewriter
+ * @since 2.0.4
+ */
+@FunctionalInterface
+public interface CqlStatementRewriter {
+
+	/**
+	 * Rewrites the given statement.
+	 *
+	 * @param statement the CQL statement
+	 * @return the rewritten statement, or the given statement if it should be executed as is
+	 */
+	String rewrite(String statement);
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.cql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+
+/**
+ * {@link CqlScript} implementation that rewrites the statements of the given {@code script} with the given {@link
+ * CqlStatementRewriter}.
+ *
+ * @author Dmytro Nosan
+ * @see CqlScript#rewrite(CqlStatementRewriter, CqlScript...)
+ * @since 2.0.4
+ */
+public final class RewritingCqlScript implements CqlScript {
+
+	private final CqlScript script;
+
+	private final CqlStatementRewriter rewriter;
+
+	/**
+	 * Create a new {@link RewritingCqlScript}.
+	 *
+	 * @param script CQL script
+	 * @param rewriter the statement rewriter
+	 */
+	public RewritingCqlScript(CqlScript script, CqlStatementRewriter rewriter) {
+		this.script = Objects.requireNonNull(script, "Script must not be null");
+		this.rewriter = Objects.requireNonNull(rewriter, "Rewriter must not be null");
+	}
+
+	@Override
+	public List<String> getStatements() {
+		List<String> statements = new ArrayList<>();
+		for (String statement : this.script.getStatements()) {
+			statements.add(this.rewriter.rewrite(statement));
+		}
+		return Collections.unmodifiableList(statements);
+	}
+
+	@Override
+	public Stream<String> stream() {
+		return this.script.stream().map(this.rewriter::rewrite);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.script, this.rewriter);
+	}
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (other == null || getClass() != other.getClass()) {
+			return false;
+		}
+		RewritingCqlScript that = (RewritingCqlScript) other;
+		return this.script.equals(that.script) && this.rewriter.equals(that.rewriter);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s [script=%s, rewriter=%s]", getClass().getSimpleName(), this.script,
+				this.rewriter);
+	}
+
+}
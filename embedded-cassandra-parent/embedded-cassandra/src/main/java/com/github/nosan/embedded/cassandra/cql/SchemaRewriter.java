@@ -0,0 +1,268 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.cql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+
+/**
+ * {@link CqlStatementRewriter} that strips production-only settings from {@code CREATE|ALTER KEYSPACE} and {@code
+ * CREATE|ALTER TABLE} statements, so that the schema fits a single test node. By default:
+ * <ul>
+ * <li>keyspaces use {@code SimpleStrategy} with {@code replication_factor = 1} and {@code durable_writes = false};</li>
+ * <li>tables use {@code compression = {'enabled': false}}, {@code gc_grace_seconds = 0} and read repair chances
+ * are set to {@code 0}.</li>
+ * </ul>
+ * Each rule can be changed or disabled. Other statements are not rewritten.
+ *
+ * @author Dmytro Nosan
+ * @see RewritingCqlScript
+ * @since 2.0.4
+ */
+public final class SchemaRewriter implements CqlStatementRewriter {
+
+	private static final Pattern KEYSPACE = Pattern.compile("(?is)\\s*(CREATE|ALTER)\\s+(KEYSPACE|SCHEMA)\\b.*");
+
+	private static final Pattern TABLE = Pattern.compile("(?is)\\s*(CREATE|ALTER)\\s+(TABLE|COLUMNFAMILY)\\b.*");
+
+	private static final String OPTION = "(?i)\\b%s\\s*=\\s*(\\{[^}]*}|'(?:[^']|'')*'|[\\w.+-]+)";
+
+	@Nullable
+	private final Integer replicationFactor;
+
+	@Nullable
+	private final Boolean durableWrites;
+
+	private final boolean compressionDisabled;
+
+	private final boolean readRepairDisabled;
+
+	@Nullable
+	private final Integer gcGraceSeconds;
+
+	/**
+	 * Creates a {@link SchemaRewriter} with the default rules.
+	 */
+	public SchemaRewriter() {
+		this(1, false, true, true, 0);
+	}
+
+	private SchemaRewriter(@Nullable Integer replicationFactor, @Nullable Boolean durableWrites,
+			boolean compressionDisabled, boolean readRepairDisabled, @Nullable Integer gcGraceSeconds) {
+		this.replicationFactor = replicationFactor;
+		this.durableWrites = durableWrites;
+		this.compressionDisabled = compressionDisabled;
+		this.readRepairDisabled = readRepairDisabled;
+		this.gcGraceSeconds = gcGraceSeconds;
+	}
+
+	/**
+	 * Returns a copy of this rewriter with the given {@code SimpleStrategy} replication factor.
+	 *
+	 * @param replicationFactor the replication factor, or {@code null} to keep the replication as is
+	 * @return a new rewriter
+	 */
+	public SchemaRewriter withReplicationFactor(@Nullable Integer replicationFactor) {
+		return new SchemaRewriter(replicationFactor, this.durableWrites, this.compressionDisabled,
+				this.readRepairDisabled, this.gcGraceSeconds);
+	}
+
+	/**
+	 * Returns a copy of this rewriter with the given {@code durable_writes}.
+	 *
+	 * @param durableWrites the durable writes, or {@code null} to keep the durable writes as is
+	 * @return a new rewriter
+	 */
+	public SchemaRewriter withDurableWrites(@Nullable Boolean durableWrites) {
+		return new SchemaRewriter(this.replicationFactor, durableWrites, this.compressionDisabled,
+				this.readRepairDisabled, this.gcGraceSeconds);
+	}
+
+	/**
+	 * Returns a copy of this rewriter which disables (or keeps) the compression of tables.
+	 *
+	 * @param compressionDisabled whether the compression should be disabled
+	 * @return a new rewriter
+	 */
+	public SchemaRewriter withCompressionDisabled(boolean compressionDisabled) {
+		return new SchemaRewriter(this.replicationFactor, this.durableWrites, compressionDisabled,
+				this.readRepairDisabled, this.gcGraceSeconds);
+	}
+
+	/**
+	 * Returns a copy of this rewriter which disables (or keeps) read repair chances of tables.
+	 *
+	 * @param readRepairDisabled whether read repair chances should be set to {@code 0}
+	 * @return a new rewriter
+	 */
+	public SchemaRewriter withReadRepairDisabled(boolean readRepairDisabled) {
+		return new SchemaRewriter(this.replicationFactor, this.durableWrites, this.compressionDisabled,
+				readRepairDisabled, this.gcGraceSeconds);
+	}
+
+	/**
+	 * Returns a copy of this rewriter with the given {@code gc_grace_seconds}.
+	 *
+	 * @param gcGraceSeconds the gc grace seconds, or {@code null} to keep the gc grace seconds as is
+	 * @return a new rewriter
+	 */
+	public SchemaRewriter withGcGraceSeconds(@Nullable Integer gcGraceSeconds) {
+		return new SchemaRewriter(this.replicationFactor, this.durableWrites, this.compressionDisabled,
+				this.readRepairDisabled, gcGraceSeconds);
+	}
+
+	@Override
+	public String rewrite(String statement) {
+		Objects.requireNonNull(statement, "Statement must not be null");
+		Matcher keyspace = KEYSPACE.matcher(statement);
+		if (keyspace.matches()) {
+			return rewrite(statement, getKeyspaceOptions(), keyspace.group(1).equalsIgnoreCase("CREATE"));
+		}
+		Matcher table = TABLE.matcher(statement);
+		if (table.matches()) {
+			return rewrite(statement, getTableOptions(), table.group(1).equalsIgnoreCase("CREATE"));
+		}
+		return statement;
+	}
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (other == null || getClass() != other.getClass()) {
+			return false;
+		}
+		SchemaRewriter that = (SchemaRewriter) other;
+		return this.compressionDisabled == that.compressionDisabled
+				&& this.readRepairDisabled == that.readRepairDisabled
+				&& Objects.equals(this.replicationFactor, that.replicationFactor)
+				&& Objects.equals(this.durableWrites, that.durableWrites)
+				&& Objects.equals(this.gcGraceSeconds, that.gcGraceSeconds);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.replicationFactor, this.durableWrites, this.compressionDisabled,
+				this.readRepairDisabled, this.gcGraceSeconds);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s [replicationFactor=%s, durableWrites=%s, compressionDisabled=%s,"
+						+ " readRepairDisabled=%s, gcGraceSeconds=%s]", getClass().getSimpleName(),
+				this.replicationFactor, this.durableWrites, this.compressionDisabled, this.readRepairDisabled,
+				this.gcGraceSeconds);
+	}
+
+	private List<Option> getKeyspaceOptions() {
+		List<Option> options = new ArrayList<>();
+		if (this.replicationFactor != null) {
+			options.add(new Option("replication", String.format("{'class': 'SimpleStrategy', "
+					+ "'replication_factor': %d}", this.replicationFactor), true));
+		}
+		if (this.durableWrites != null) {
+			options.add(new Option("durable_writes", String.valueOf(this.durableWrites), true));
+		}
+		return options;
+	}
+
+	private List<Option> getTableOptions() {
+		List<Option> options = new ArrayList<>();
+		if (this.compressionDisabled) {
+			options.add(new Option("compression", "{'enabled': false}", true));
+		}
+		if (this.readRepairDisabled) {
+			// read repair chances have been removed in 4.0, hence they are only replaced
+			options.add(new Option("read_repair_chance", "0.0", false));
+			options.add(new Option("dclocal_read_repair_chance", "0.0", false));
+		}
+		if (this.gcGraceSeconds != null) {
+			options.add(new Option("gc_grace_seconds", String.valueOf(this.gcGraceSeconds), true));
+		}
+		return options;
+	}
+
+	private static String rewrite(String statement, List<Option> options, boolean create) {
+		String source = statement.trim();
+		if (source.endsWith(";")) {
+			source = source.substring(0, source.length() - 1).trim();
+		}
+		int index = indexOfWith(source);
+		String head = (index != -1) ? source.substring(0, index) : source;
+		String with = (index != -1) ? source.substring(index) : "";
+		for (Option option : options) {
+			Matcher matcher = Pattern.compile(String.format(OPTION, option.name)).matcher(with);
+			if (matcher.find()) {
+				with = with.substring(0, matcher.start(1)) + option.value + with.substring(matcher.end(1));
+			}
+			else if (create && option.addIfAbsent) {
+				with += String.format("%s %s = %s", with.isEmpty() ? " WITH" : " AND", option.name, option.value);
+			}
+		}
+		return head + with;
+	}
+
+	// the index of the top-level WITH keyword, literals, identifiers, column definitions and maps are skipped
+	private static int indexOfWith(String statement) {
+		int depth = 0;
+		for (int i = 0; i < statement.length(); i++) {
+			char c = statement.charAt(i);
+			if (c == '\'' || c == '"') {
+				int end = statement.indexOf(c, i + 1);
+				if (end == -1) {
+					return -1;
+				}
+				i = end;
+			}
+			else if (c == '(' || c == '{') {
+				depth++;
+			}
+			else if (c == ')' || c == '}') {
+				depth--;
+			}
+			else if (depth == 0 && statement.regionMatches(true, i, "WITH", 0, 4)
+					&& (i == 0 || Character.isWhitespace(statement.charAt(i - 1)) || statement.charAt(i - 1) == ')')
+					&& (i + 4 == statement.length() || Character.isWhitespace(statement.charAt(i + 4)))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static final class Option {
+
+		private final String name;
+
+		private final String value;
+
+		private final boolean addIfAbsent;
+
+		Option(String name, String value, boolean addIfAbsent) {
+			this.name = name;
+			this.value = value;
+			this.addIfAbsent = addIfAbsent;
+		}
+
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.cql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+
+/**
+ * {@link CqlScript} implementation that replaces {@code ${name}} placeholders in the statements of the given {@code
+ * script} with the given {@code variables}. Placeholders without a variable are left as is.
+ *
+ * @author Dmytro Nosan
+ * @see CqlScript#template(Map, CqlScript...)
+ * @since 2.0.4
+ */
+public final class TemplateCqlScript implements CqlScript {
+
+	private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([^}]+)}");
+
+	private final CqlScript script;
+
+	private final Map<String, String> variables;
+
+	/**
+	 * Create a new {@link TemplateCqlScript}.
+	 *
+	 * @param script CQL script
+	 * @param variables the values of the placeholders
+	 */
+	public TemplateCqlScript(CqlScript script, Map<String, String> variables) {
+		this.script = Objects.requireNonNull(script, "Script must not be null");
+		Objects.requireNonNull(variables, "Variables must not be null");
+		this.variables = Collections.unmodifiableMap(new LinkedHashMap<>(variables));
+	}
+
+	@Override
+	public List<String> getStatements() {
+		List<String> statements = new ArrayList<>();
+		for (String statement : this.script.getStatements()) {
+			statements.add(replace(statement));
+		}
+		return Collections.unmodifiableList(statements);
+	}
+
+	@Override
+	public Stream<String> stream() {
+		return this.script.stream().map(this::replace);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.script, this.variables);
+	}
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (other == null || getClass() != other.getClass()) {
+			return false;
+		}
+		TemplateCqlScript that = (TemplateCqlScript) other;
+		return this.script.equals(that.script) && this.variables.equals(that.variables);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s [script=%s, variables=%s]", getClass().getSimpleName(), this.script,
+				this.variables);
+	}
+
+	private String replace(String statement) {
+		Matcher matcher = PLACEHOLDER.matcher(statement);
+		StringBuffer result = new StringBuffer();
+		while (matcher.find()) {
+			String value = this.variables.get(matcher.group(1));
+			matcher.appendReplacement(result, Matcher.quoteReplacement((value != null) ? value : matcher.group()));
+		}
+		matcher.appendTail(result);
+		return result.toString();
+	}
+
+}
@@ -20,6 +20,8 @@ import java.io.IOException;
 import java.net.InetAddress;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -31,6 +33,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -40,9 +43,11 @@ import org.slf4j.LoggerFactory;
 
 import com.github.nosan.embedded.cassandra.Cassandra;
 import com.github.nosan.embedded.cassandra.Settings;
+import com.github.nosan.embedded.cassandra.StartupReport;
 import com.github.nosan.embedded.cassandra.Version;
 import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
 import com.github.nosan.embedded.cassandra.util.MDCThreadFactory;
+import com.github.nosan.embedded.cassandra.util.StringUtils;
 import com.github.nosan.embedded.cassandra.util.SystemUtils;
 
 /**
@@ -53,6 +58,12 @@ import com.github.nosan.embedded.cassandra.util.SystemUtils;
  */
 abstract class AbstractCassandraNode implements CassandraNode {
 
+	static final String JVM_EXTRA_OPTS = "JVM_EXTRA_OPTS";
+
+	static final String JAVA_HOME = "JAVA_HOME";
+
+	static final int DEFAULT_JMX_PORT = 7199;
+
 	private static final AtomicLong nodeNumber = new AtomicLong();
 
 	private static final Pattern TRANSPORT_START_PATTERN = Pattern
@@ -75,10 +86,6 @@ abstract class AbstractCassandraNode implements CassandraNode {
 
 	private static final String ENCRYPTED = "(encrypted)";
 
-	private static final String JVM_EXTRA_OPTS = "JVM_EXTRA_OPTS";
-
-	private static final String JAVA_HOME = "JAVA_HOME";
-
 	final Logger log = LoggerFactory.getLogger(getClass());
 
 	final Path workingDirectory;
@@ -91,6 +98,12 @@ abstract class AbstractCassandraNode implements CassandraNode {
 
 	private final Duration startupTimeout;
 
+	private final List<Pattern> fatalErrorPatterns;
+
+	private final boolean forceStop;
+
+	private final ProcessRegistry processRegistry;
+
 	@Nullable
 	private final Path javaHome;
 
@@ -100,11 +113,20 @@ abstract class AbstractCassandraNode implements CassandraNode {
 	@Nullable
 	private volatile ProcessId processId;
 
+	@Nullable
+	private volatile List<String> parameters;
+
+	private volatile boolean paused;
+
 	AbstractCassandraNode(Path workingDirectory, Version version, Duration startupTimeout,
-			boolean daemon, @Nullable Path javaHome, JvmParameters jvmParameters) {
+			List<Pattern> fatalErrorPatterns, boolean forceStop, boolean daemon, @Nullable Path javaHome,
+			JvmParameters jvmParameters, ProcessRegistry processRegistry) {
 		this.version = version;
 		this.workingDirectory = workingDirectory;
 		this.startupTimeout = startupTimeout;
+		this.fatalErrorPatterns = Collections.unmodifiableList(new ArrayList<>(fatalErrorPatterns));
+		this.forceStop = forceStop;
+		this.processRegistry = processRegistry;
 		this.javaHome = javaHome;
 		this.jvmParameters = jvmParameters;
 		this.threadFactory = new MDCThreadFactory(String.format("cassandra-%d-db", nodeNumber.incrementAndGet()),
@@ -113,20 +135,37 @@ abstract class AbstractCassandraNode implements CassandraNode {
 
 	@Override
 	public void start() throws IOException, InterruptedException {
-		Map<String, String> environment = new LinkedHashMap<>();
-		Path javaHome = Optional.ofNullable(this.javaHome)
-				.orElseGet(() -> SystemUtils.getJavaHomeDirectory().orElse(null));
-		if (javaHome != null) {
-			environment.put(JAVA_HOME, javaHome.toString());
-		}
 		List<String> parameters = this.jvmParameters.getParameters();
-		if (!parameters.isEmpty()) {
-			environment.put(JVM_EXTRA_OPTS, String.join(" ", parameters));
+		this.parameters = parameters;
+		launch(parameters);
+	}
+
+	@Override
+	public void restart() throws IOException, InterruptedException {
+		stop();
+		List<String> parameters = this.parameters;
+		if (parameters == null) {
+			start();
+		}
+		else {
+			launch(parameters);
+		}
+	}
+
+	@Override
+	public void pause() throws IOException {
+		if (!this.paused) {
+			signal("STOP");
+			this.paused = true;
+		}
+	}
+
+	@Override
+	public void resume() throws IOException {
+		if (this.paused) {
+			signal("CONT");
+			this.paused = false;
 		}
-		ProcessId processId = start(environment);
-		this.processId = processId;
-		this.settings = awaitStart(processId);
-		this.log.info("Apache Cassandra Node '{}' is started", processId.getPid());
 	}
 
 	@Override
@@ -135,7 +174,16 @@ abstract class AbstractCassandraNode implements CassandraNode {
 		Process process = (processId != null) ? processId.getProcess() : null;
 		if (processId != null && process.isAlive()) {
 			long pid = processId.getPid();
-			if (terminate(processId) != 0) {
+			if (this.paused) {
+				ProcessUtils.signal(process, "CONT");
+				this.paused = false;
+			}
+			if (this.forceStop) {
+				if (kill(processId) != 0) {
+					process.destroyForcibly();
+				}
+			}
+			else if (terminate(processId) != 0) {
 				process.destroy();
 			}
 			if (!process.waitFor(5, TimeUnit.SECONDS)) {
@@ -153,6 +201,9 @@ abstract class AbstractCassandraNode implements CassandraNode {
 			this.settings = null;
 			this.log.info("Apache Cassandra Node '{}' is stopped", pid);
 		}
+		if (processId != null && !process.isAlive()) {
+			this.processRegistry.unregister(processId.getPid());
+		}
 	}
 
 	@Override
@@ -197,11 +248,60 @@ abstract class AbstractCassandraNode implements CassandraNode {
 	 */
 	abstract int kill(ProcessId processId) throws IOException, InterruptedException;
 
-	private NodeSettings awaitStart(ProcessId processId) throws InterruptedException, IOException {
+	private void launch(List<String> parameters) throws IOException, InterruptedException {
+		Map<String, String> environment = new LinkedHashMap<>();
+		Path javaHome = Optional.ofNullable(this.javaHome)
+				.orElseGet(() -> SystemUtils.getJavaHomeDirectory().orElse(null));
+		if (javaHome != null) {
+			environment.put(JAVA_HOME, javaHome.toString());
+		}
+		if (!parameters.isEmpty()) {
+			environment.put(JVM_EXTRA_OPTS, String.join(" ", parameters));
+		}
+		StartupProfiler profiler = new StartupProfiler();
+		ProcessId processId = start(environment);
+		this.processId = processId;
+		this.processRegistry.register(processId.getPid(), this.workingDirectory);
+		NodeSettings settings = awaitStart(processId, profiler);
+		StartupReport startupReport = profiler.getReport();
+		settings.setStartupReport(startupReport);
+		settings.setJmxPort(getJmxPort(parameters));
+		this.settings = settings;
+		this.log.info("Apache Cassandra Node '{}' is started", processId.getPid());
+		this.log.info("Apache Cassandra Node '{}' {}", processId.getPid(), startupReport);
+	}
+
+	private void signal(String signal) throws IOException {
+		if (SystemUtils.isWindows()) {
+			throw new UnsupportedOperationException(String.format("SIG%s is not supported on Windows", signal));
+		}
+		ProcessId processId = this.processId;
+		if (processId == null || !processId.getProcess().isAlive()) {
+			throw new IllegalStateException(String.format("Apache Cassandra '%s' is not running.", getVersion()));
+		}
+		if (ProcessUtils.signal(processId.getProcess(), signal) != 0) {
+			throw new IOException(String.format("Unable to send SIG%s to Apache Cassandra Node '%s'", signal,
+					processId.getPid()));
+		}
+	}
+
+	private static int getJmxPort(List<String> parameters) {
+		String prefix = JvmParameters.JMX_LOCAL_PORT + JvmParameters.PROPERTY_SEPARATOR;
+		for (String parameter : parameters) {
+			if (parameter.startsWith(prefix) && StringUtils.hasText(parameter.substring(prefix.length()))) {
+				return Integer.parseInt(parameter.substring(prefix.length()).trim());
+			}
+		}
+		return DEFAULT_JMX_PORT;
+	}
+
+	private NodeSettings awaitStart(ProcessId processId, StartupProfiler profiler)
+			throws InterruptedException, IOException {
 		Logger logger = LoggerFactory.getLogger(Cassandra.class);
 		NodeSettings settings = new NodeSettings(this.version);
 		Process process = processId.getProcess();
 		AtomicBoolean capture = new AtomicBoolean(true);
+		AtomicReference<String> fatalError = new AtomicReference<>();
 		Deque<String> lines = new ConcurrentLinkedDeque<>();
 		Thread thread = this.threadFactory.newThread(() -> ProcessUtils.read(process, line -> {
 			if (capture.get()) {
@@ -209,8 +309,12 @@ abstract class AbstractCassandraNode implements CassandraNode {
 					lines.removeFirst();
 				}
 				lines.addLast(line);
+				if (fatalError.get() == null && isFatalError(line)) {
+					fatalError.set(line);
+				}
 			}
 			logger.info(line);
+			profiler.accept(line);
 			parse(line, settings);
 		}));
 
@@ -233,6 +337,19 @@ abstract class AbstractCassandraNode implements CassandraNode {
 									+ " Please see logs for more details.%n\t%s", pid,
 							String.join(String.format("%n\t"), lines)));
 				}
+				String error = fatalError.get();
+				if (error != null) {
+					if (kill(processId) != 0) {
+						process.destroyForcibly();
+					}
+					if (!process.waitFor(5, TimeUnit.SECONDS)) {
+						process.destroyForcibly();
+						process.waitFor(5, TimeUnit.SECONDS);
+					}
+					throw new IOException(String.format("Apache Cassandra Node '%s' has failed with a fatal error"
+									+ " '%s'. Please see logs for more details.%n\t%s", pid, error,
+							String.join(String.format("%n\t"), lines)));
+				}
 				if (isStarted(settings)) {
 					return settings;
 				}
@@ -258,6 +375,15 @@ abstract class AbstractCassandraNode implements CassandraNode {
 		throw new IllegalStateException(message);
 	}
 
+	private boolean isFatalError(String line) {
+		for (Pattern pattern : this.fatalErrorPatterns) {
+			if (pattern.matcher(line).matches()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private boolean isStarted(NodeSettings settings) {
 		Boolean transportStarted = settings.transportStarted().orElse(null);
 		Boolean rpcTransportStarted = settings.rpcTransportStarted().orElse(null);
@@ -45,6 +45,30 @@ interface CassandraNode {
 	 */
 	void stop() throws IOException, InterruptedException;
 
+	/**
+	 * Restarts the Cassandra Node keeping its working directory and ports.
+	 *
+	 * @throws IOException if the Cassandra Node can not be restarted
+	 * @throws InterruptedException if the current thread is {@link Thread#interrupt() interrupted} by another thread
+	 */
+	void restart() throws IOException, InterruptedException;
+
+	/**
+	 * Suspends the Cassandra Node process ({@code SIGSTOP}).
+	 *
+	 * @throws IOException if the Cassandra Node can not be suspended
+	 * @throws UnsupportedOperationException if the platform does not support signals
+	 */
+	void pause() throws IOException, UnsupportedOperationException;
+
+	/**
+	 * Resumes the suspended Cassandra Node process ({@code SIGCONT}).
+	 *
+	 * @throws IOException if the Cassandra Node can not be resumed
+	 * @throws UnsupportedOperationException if the platform does not support signals
+	 */
+	void resume() throws IOException, UnsupportedOperationException;
+
 	/**
 	 * Returns the settings.
 	 *
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+
+/**
+ * Application Class Data Sharing ({@code AppCDS}) archives for the {@code Cassandra} JVM. An archive is keyed by the
+ * JDK and the content of the {@code lib} jars, so that it is rebuilt automatically whenever either of them changes.
+ * <p>
+ * The first run records the loaded classes ({@code -XX:DumpLoadedClassList}), the next run dumps the archive
+ * ({@code -Xshare:dump}) and every later run maps it ({@code -XX:SharedArchiveFile}). The jars are copied into the
+ * archive directory, because the archive is only valid for the same classpath, and working directories are different
+ * for each instance. The archive is mapped with {@code -Xshare:auto}, hence a JVM which can not use the archive just
+ * starts without it. If the archive can not be dumped, a {@code dump.failed} marker is written next to the {@code
+ * dump.log} and the classes are neither recorded nor dumped for the same JDK and jars anymore. Delete the marker to
+ * try again.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+class ClassDataSharing {
+
+	/**
+	 * {@code AppCDS} is available in OpenJDK since Java 10, and does not require {@code -XX:+UseAppCDS} since Java 11.
+	 */
+	static final int MIN_JAVA_VERSION = 11;
+
+	private static final Logger log = LoggerFactory.getLogger(ClassDataSharing.class);
+
+	private static final String ARCHIVE_FILE = "classes.jsa";
+
+	private static final String DUMP_LOG_FILE = "dump.log";
+
+	private static final String DUMP_FAILED_FILE = "dump.failed";
+
+	private static final String CLASS_LIST_GLOB = "classes-*.lst";
+
+	private static final long DUMP_TIMEOUT = 120;
+
+	private final Path directory;
+
+	/**
+	 * Creates a {@link ClassDataSharing}.
+	 *
+	 * @param directory the directory where the archives are stored
+	 */
+	ClassDataSharing(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Returns the archive for the given JDK and jars. The archive is dumped if the classes have been recorded by the
+	 * previous run and no previous dump has failed.
+	 *
+	 * @param javaHome the JDK, or {@code null} to use the current one
+	 * @param lib the directory with the {@code Cassandra} jars
+	 * @return the archive
+	 * @throws IOException in the case of I/O errors
+	 */
+	Archive getArchive(@Nullable Path javaHome, Path lib) throws IOException {
+		List<Path> jars = getJars(lib);
+		Path jdk = (javaHome != null) ? javaHome : Paths.get(System.getProperty("java.home"));
+		Path entry = this.directory.resolve(getKey(jdk, jars));
+		Path archiveFile = entry.resolve(ARCHIVE_FILE);
+		Path failedFile = entry.resolve(DUMP_FAILED_FILE);
+		List<Path> classpath = new ArrayList<>();
+		for (Path jar : jars) {
+			classpath.add(entry.resolve("lib").resolve(jar.getFileName().toString()));
+		}
+		if (!Files.exists(archiveFile)) {
+			Files.createDirectories(this.directory);
+			Path lockFile = this.directory.resolve(String.format("%s.lock", entry.getFileName()));
+			try (FileLock fileLock = new FileLock(lockFile)) {
+				fileLock.lock();
+				copyJars(jars, entry);
+				Path classList = findClassList(entry);
+				if (classList != null && !Files.exists(archiveFile) && !Files.exists(failedFile)) {
+					Path java = (javaHome != null) ? javaHome.resolve("bin/java") : Paths.get("java");
+					dump(java, classpath, classList, archiveFile);
+				}
+			}
+		}
+		if (Files.exists(archiveFile)) {
+			return new Archive(classpath, Arrays.asList(String.format("-XX:SharedArchiveFile=%s", archiveFile),
+					"-Xshare:auto"));
+		}
+		if (Files.exists(failedFile)) {
+			return new Archive(classpath, Collections.emptyList());
+		}
+		Path classList = entry.resolve(CLASS_LIST_GLOB.replace("*", UUID.randomUUID().toString()));
+		return new Archive(classpath, Collections.singletonList(String.format("-XX:DumpLoadedClassList=%s",
+				classList)));
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s [%s]", getClass().getSimpleName(), this.directory);
+	}
+
+	private void dump(Path java, List<Path> classpath, Path classList, Path archiveFile) throws IOException {
+		Path entry = archiveFile.getParent();
+		Path tmpClassList = entry.resolve(String.format(".classes-%s.lst", UUID.randomUUID()));
+		Path tmpArchiveFile = entry.resolve(String.format(".%s-%s", ARCHIVE_FILE, UUID.randomUUID()));
+		try {
+			// the class list is written while the JVM is running, a killed JVM might leave a partial line
+			String classes = new String(Files.readAllBytes(classList), StandardCharsets.UTF_8);
+			Files.write(tmpClassList, classes.substring(0, classes.lastIndexOf('\n') + 1)
+					.getBytes(StandardCharsets.UTF_8));
+			List<String> command = new ArrayList<>();
+			command.add(java.toString());
+			command.add("-Xshare:dump");
+			command.add(String.format("-XX:SharedClassListFile=%s", tmpClassList));
+			command.add(String.format("-XX:SharedArchiveFile=%s", tmpArchiveFile));
+			command.add("-cp");
+			command.add(join(classpath));
+			ProcessBuilder builder = new ProcessBuilder(command).directory(entry.toFile()).redirectErrorStream(true)
+					.redirectOutput(entry.resolve(DUMP_LOG_FILE).toFile());
+			Process process = new RunProcess(builder).run();
+			boolean dumped = false;
+			boolean interrupted = false;
+			try {
+				if (process.waitFor(DUMP_TIMEOUT, TimeUnit.SECONDS)) {
+					dumped = process.exitValue() == 0 && Files.exists(tmpArchiveFile);
+				}
+			}
+			catch (InterruptedException ex) {
+				interrupted = true;
+				Thread.currentThread().interrupt();
+			}
+			finally {
+				process.destroyForcibly();
+			}
+			if (dumped) {
+				Files.move(tmpArchiveFile, archiveFile, StandardCopyOption.ATOMIC_MOVE);
+				log.info("Class Data Sharing archive '{}' has been created", archiveFile);
+			}
+			else if (!interrupted) {
+				// a failed dump is not retried on each start, it would most likely fail again
+				Files.write(entry.resolve(DUMP_FAILED_FILE), new byte[0]);
+				log.warn("Class Data Sharing archive '{}' has not been created and will not be retried. See '{}'"
+						+ " for details", archiveFile, entry.resolve(DUMP_LOG_FILE));
+			}
+		}
+		finally {
+			// the classes are recorded again by the next run, if the archive has not been created
+			try (DirectoryStream<Path> classLists = Files.newDirectoryStream(entry, CLASS_LIST_GLOB)) {
+				for (Path path : classLists) {
+					Files.deleteIfExists(path);
+				}
+			}
+			Files.deleteIfExists(tmpClassList);
+			Files.deleteIfExists(tmpArchiveFile);
+		}
+	}
+
+	private static void copyJars(List<Path> jars, Path entry) throws IOException {
+		Path lib = entry.resolve("lib");
+		if (Files.exists(lib)) {
+			return;
+		}
+		Files.createDirectories(entry);
+		Path tmp = entry.resolve(String.format(".lib-%s", UUID.randomUUID()));
+		try {
+			Files.createDirectories(tmp);
+			for (Path jar : jars) {
+				Files.copy(jar, tmp.resolve(jar.getFileName().toString()), StandardCopyOption.COPY_ATTRIBUTES);
+			}
+			Files.move(tmp, lib, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			FileUtils.delete(tmp);
+		}
+	}
+
+	@Nullable
+	private static Path findClassList(Path entry) throws IOException {
+		List<Path> classLists = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(entry, CLASS_LIST_GLOB)) {
+			for (Path classList : stream) {
+				classLists.add(classList);
+			}
+		}
+		Path result = null;
+		long size = 0;
+		for (Path classList : classLists) {
+			long candidate = Files.size(classList);
+			if (candidate > size) {
+				result = classList;
+				size = candidate;
+			}
+		}
+		return result;
+	}
+
+	private static List<Path> getJars(Path lib) throws IOException {
+		List<Path> jars = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(lib, "*.jar")) {
+			for (Path jar : stream) {
+				jars.add(jar);
+			}
+		}
+		jars.sort(Comparator.comparing(jar -> jar.getFileName().toString()));
+		return jars;
+	}
+
+	private static String getKey(Path jdk, List<Path> jars) throws IOException {
+		MessageDigest digest = getDigest();
+		Path home = jdk.toRealPath();
+		digest.update(home.toString().getBytes(StandardCharsets.UTF_8));
+		for (Path file : new Path[]{home.resolve("release"), home.resolve("lib/modules"), home.resolve("lib/rt.jar"),
+				home.resolve("bin/java")}) {
+			if (Files.exists(file)) {
+				digest.update(String.format("%s:%d:%d", file.getFileName(), Files.size(file),
+						Files.getLastModifiedTime(file).toMillis()).getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		byte[] buffer = new byte[8192];
+		for (Path jar : jars) {
+			digest.update(String.format("%s:%d", jar.getFileName(), Files.size(jar)).getBytes(StandardCharsets.UTF_8));
+			// jars are extracted into each working directory, hence their modification time is not stable
+			try (InputStream is = Files.newInputStream(jar)) {
+				int read;
+				while ((read = is.read(buffer)) != -1) {
+					digest.update(buffer, 0, read);
+				}
+			}
+		}
+		StringBuilder key = new StringBuilder();
+		for (byte b : digest.digest()) {
+			key.append(String.format("%02x", b));
+		}
+		return key.toString();
+	}
+
+	private static String join(List<Path> classpath) {
+		List<String> paths = new ArrayList<>();
+		for (Path path : classpath) {
+			paths.add(path.toString());
+		}
+		return String.join(File.pathSeparator, paths);
+	}
+
+	private static MessageDigest getDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * The {@code AppCDS} archive.
+	 */
+	static final class Archive {
+
+		private final List<Path> classpath;
+
+		private final List<String> jvmOptions;
+
+		Archive(List<Path> classpath, List<String> jvmOptions) {
+			this.classpath = Collections.unmodifiableList(classpath);
+			this.jvmOptions = Collections.unmodifiableList(jvmOptions);
+		}
+
+		/**
+		 * Returns the jars the archive is valid for. Other classpath entries can only be appended.
+		 *
+		 * @return the classpath
+		 */
+		List<Path> getClasspath() {
+			return this.classpath;
+		}
+
+		/**
+		 * Returns the JVM options to either record the loaded classes or map the archive.
+		 *
+		 * @return the JVM options
+		 */
+		List<String> getJvmOptions() {
+			return this.jvmOptions;
+		}
+
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.yaml.snakeyaml.Yaml;
+
+import com.github.nosan.embedded.cassandra.Version;
+
+/**
+ * {@link WorkingDirectoryCustomizer} to configure a {@code cassandra.yaml} of the cluster node. The node listens on
+ * its own address, all nodes are seeds, and each node owns exactly one pre-assigned token, so that the nodes can join
+ * the ring concurrently without bootstrapping.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+class ClusterNodeConfigurationCustomizer implements WorkingDirectoryCustomizer {
+
+	private static final String RANDOM_PARTITIONER = "RandomPartitioner";
+
+	private static final BigInteger MURMUR3_MIN_TOKEN = BigInteger.valueOf(Long.MIN_VALUE);
+
+	private static final BigInteger MURMUR3_RANGE = BigInteger.ONE.shiftLeft(64);
+
+	private static final BigInteger RANDOM_RANGE = BigInteger.ONE.shiftLeft(127);
+
+	private final String address;
+
+	private final List<String> seeds;
+
+	private final int index;
+
+	private final int nodes;
+
+	ClusterNodeConfigurationCustomizer(String address, List<String> seeds, int index, int nodes) {
+		this.address = address;
+		this.seeds = seeds;
+		this.index = index;
+		this.nodes = nodes;
+	}
+
+	@Override
+	public void customize(Path workingDirectory, Version version) throws IOException {
+		Path file = workingDirectory.resolve("conf/cassandra.yaml");
+		Yaml yaml = new Yaml();
+		Map<Object, Object> properties = load(yaml, file);
+		properties.remove("listen_interface");
+		properties.remove("rpc_interface");
+		properties.remove("broadcast_address");
+		properties.remove("broadcast_rpc_address");
+		properties.put("listen_address", this.address);
+		properties.put("rpc_address", this.address);
+		Map<String, Object> seedProvider = new LinkedHashMap<>();
+		seedProvider.put("class_name", "org.apache.cassandra.locator.SimpleSeedProvider");
+		seedProvider.put("parameters", Collections.singletonList(
+				Collections.singletonMap("seeds", String.join(",", this.seeds))));
+		properties.put("seed_provider", Collections.singletonList(seedProvider));
+		properties.put("num_tokens", 1);
+		properties.put("initial_token", getToken(String.valueOf(properties.get("partitioner"))));
+		properties.put("auto_bootstrap", false);
+		dump(yaml, file, properties);
+	}
+
+	/**
+	 * Returns the token of this node, tokens are evenly distributed over the token range of the partitioner.
+	 *
+	 * @param partitioner the partitioner
+	 * @return the token
+	 */
+	String getToken(String partitioner) {
+		BigInteger index = BigInteger.valueOf(this.index);
+		BigInteger nodes = BigInteger.valueOf(this.nodes);
+		if (partitioner.endsWith(RANDOM_PARTITIONER)) {
+			return RANDOM_RANGE.multiply(index).divide(nodes).toString();
+		}
+		return MURMUR3_MIN_TOKEN.add(MURMUR3_RANGE.multiply(index).divide(nodes)).toString();
+	}
+
+	private Map<Object, Object> load(Yaml yaml, Path file) throws IOException {
+		try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+			Map<?, ?> values = yaml.loadAs(is, Map.class);
+			return (values != null) ? new LinkedHashMap<>(values) : new LinkedHashMap<>(0);
+		}
+	}
+
+	private void dump(Yaml yaml, Path file, Map<Object, Object> properties) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+			yaml.dump(properties, writer);
+		}
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.yaml.snakeyaml.Yaml;
+
+import com.github.nosan.embedded.cassandra.Version;
+
+/**
+ * {@link WorkingDirectoryCustomizer} to set the given properties of a {@code cassandra.yaml}, e.g. sizes derived from
+ * {@link MemoryPolicy} and {@link CpuPolicy}.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+class ConfigurationPropertiesCustomizer implements WorkingDirectoryCustomizer {
+
+	private final Map<String, Object> properties;
+
+	ConfigurationPropertiesCustomizer(Map<String, Object> properties) {
+		this.properties = properties;
+	}
+
+	@Override
+	public void customize(Path workingDirectory, Version version) throws IOException {
+		Path file = workingDirectory.resolve("conf/cassandra.yaml");
+		Yaml yaml = new Yaml();
+		Map<Object, Object> properties;
+		try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+			Map<?, ?> values = yaml.loadAs(is, Map.class);
+			properties = (values != null) ? new LinkedHashMap<>(values) : new LinkedHashMap<>(0);
+		}
+		properties.putAll(this.properties);
+		try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+			yaml.dump(properties, writer);
+		}
+	}
+
+}
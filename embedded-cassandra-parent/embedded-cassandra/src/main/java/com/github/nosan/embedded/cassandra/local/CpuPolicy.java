@@ -0,0 +1,281 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+import com.github.nosan.embedded.cassandra.util.StringUtils;
+import com.github.nosan.embedded.cassandra.util.SystemUtils;
+
+/**
+ * CPU budget of the {@code Cassandra} instance. The JVM sees only the given number of processors
+ * ({@code -XX:ActiveProcessorCount}, which also sizes GC and compiler threads) and thread pools of a
+ * {@code cassandra.yaml} are scaled to match, so that co-located instances do not thrash each other. On Linux, the
+ * instance can also be pinned to the given CPUs ({@code taskset}) and run with a lower priority ({@code nice} and
+ * {@code ionice}).
+ *
+ * @author Dmytro Nosan
+ * @see LocalCassandraFactory#setCpuPolicy(CpuPolicy)
+ * @since 2.0.4
+ */
+public final class CpuPolicy {
+
+	private static final Logger log = LoggerFactory.getLogger(CpuPolicy.class);
+
+	private final int processors;
+
+	@Nullable
+	private final String affinity;
+
+	@Nullable
+	private final Integer niceness;
+
+	private CpuPolicy(int processors, @Nullable String affinity, @Nullable Integer niceness) {
+		this.processors = processors;
+		this.affinity = affinity;
+		this.niceness = niceness;
+	}
+
+	/**
+	 * Creates a {@link CpuPolicy} with the given number of processors.
+	 *
+	 * @param processors the number of processors
+	 * @return a new policy
+	 */
+	public static CpuPolicy of(int processors) {
+		if (processors <= 0) {
+			throw new IllegalArgumentException("Processors must be positive");
+		}
+		return new CpuPolicy(processors, null, null);
+	}
+
+	/**
+	 * Creates a {@link CpuPolicy} which splits the available processors across the given number of concurrent
+	 * instances.
+	 *
+	 * @param instances the expected number of concurrent instances
+	 * @return a new policy
+	 */
+	public static CpuPolicy auto(int instances) {
+		return auto(Runtime.getRuntime().availableProcessors(), instances);
+	}
+
+	static CpuPolicy auto(int cpus, int instances) {
+		if (instances <= 0) {
+			throw new IllegalArgumentException("Instances must be positive");
+		}
+		return new CpuPolicy(Math.max(1, cpus / instances), null, null);
+	}
+
+	/**
+	 * Returns a copy of this policy, which pins the instance to the given CPUs. Linux only.
+	 *
+	 * @param affinity the CPU list in {@code taskset} format, e.g. {@code 0-3} or {@code 0,2,4,6}
+	 * @return a new policy
+	 */
+	public CpuPolicy withAffinity(String affinity) {
+		Objects.requireNonNull(affinity, "Affinity must not be null");
+		if (!affinity.matches("\\d+(-\\d+)?(,\\d+(-\\d+)?)*")) {
+			throw new IllegalArgumentException(String.format("Affinity '%s' is not valid CPU list", affinity));
+		}
+		return new CpuPolicy(this.processors, affinity, this.niceness);
+	}
+
+	/**
+	 * Returns a copy of this policy, which runs the instance with the given niceness. The I/O priority is lowered
+	 * accordingly. Linux only.
+	 *
+	 * @param niceness the niceness, from {@code 0} (the default priority) to {@code 19} (the lowest priority)
+	 * @return a new policy
+	 */
+	public CpuPolicy withNiceness(int niceness) {
+		if (niceness < 0 || niceness > 19) {
+			throw new IllegalArgumentException("Niceness must be between 0 and 19");
+		}
+		return new CpuPolicy(this.processors, this.affinity, niceness);
+	}
+
+	/**
+	 * Returns the number of processors.
+	 *
+	 * @return the processors
+	 */
+	public int getProcessors() {
+		return this.processors;
+	}
+
+	/**
+	 * Returns the CPUs the instance is pinned to.
+	 *
+	 * @return the CPU list, or {@code null} if the instance is not pinned
+	 */
+	@Nullable
+	public String getAffinity() {
+		return this.affinity;
+	}
+
+	/**
+	 * Returns the niceness of the instance.
+	 *
+	 * @return the niceness, or {@code null} if the priority is not changed
+	 */
+	@Nullable
+	public Integer getNiceness() {
+		return this.niceness;
+	}
+
+	/**
+	 * Returns {@code cassandra.yaml} properties derived from this policy.
+	 *
+	 * @return the properties
+	 */
+	Map<String, Object> getProperties() {
+		int processors = this.processors;
+		Map<String, Object> properties = new LinkedHashMap<>();
+		properties.put("concurrent_reads", Math.max(4, 8 * processors));
+		properties.put("concurrent_writes", Math.max(4, 8 * processors));
+		properties.put("concurrent_counter_writes", Math.max(4, 8 * processors));
+		properties.put("concurrent_compactors", Math.min(4, processors));
+		properties.put("memtable_flush_writers", Math.min(2, processors));
+		properties.put("native_transport_max_threads", Math.max(8, 32 * processors));
+		return properties;
+	}
+
+	/**
+	 * Returns JVM options derived from this policy. {@code -XX:ActiveProcessorCount} is available since Java 10 (and
+	 * 8u191), older JVMs would refuse to start with it, hence it is skipped for them.
+	 *
+	 * @param javaVersion the version of the {@code Cassandra} JVM, e.g. {@code 1.8.0_191}
+	 * @return the JVM options
+	 */
+	List<String> getJvmOptions(String javaVersion) {
+		List<String> options = new ArrayList<>();
+		int major = JavaUtils.getMajorVersion(javaVersion);
+		if (major >= 10 || (major == 8 && JavaUtils.getUpdateVersion(javaVersion) >= 191)) {
+			options.add(String.format("-XX:ActiveProcessorCount=%d", this.processors));
+		}
+		else {
+			log.warn("-XX:ActiveProcessorCount is not supported by Java '{}' and is skipped. Java 8u191 or 10+"
+					+ " is required", javaVersion);
+		}
+		return options;
+	}
+
+	/**
+	 * Returns the command, the {@code Cassandra} command has to be prefixed with. Both {@code taskset} and
+	 * {@code nice} replace themselves with the given command, hence the pid is not changed. Commands which are not
+	 * found on the {@code PATH} are skipped.
+	 *
+	 * @return the command, or {@code empty} if the process should be launched as is
+	 */
+	List<String> getLauncher() {
+		return getLauncher(CpuPolicy::isExecutable);
+	}
+
+	/**
+	 * Returns the command, the {@code Cassandra} command has to be prefixed with.
+	 *
+	 * @param available whether the given command is available
+	 * @return the command, or {@code empty} if the process should be launched as is
+	 */
+	List<String> getLauncher(Predicate<String> available) {
+		List<String> launcher = new ArrayList<>();
+		if (!SystemUtils.isLinux()) {
+			return launcher;
+		}
+		String affinity = this.affinity;
+		if (StringUtils.hasText(affinity) && isAvailable("taskset", available)) {
+			launcher.add("taskset");
+			launcher.add("-c");
+			launcher.add(affinity);
+		}
+		Integer niceness = this.niceness;
+		if (niceness != null && niceness > 0 && isAvailable("nice", available)) {
+			launcher.add("nice");
+			launcher.add("-n");
+			launcher.add(String.valueOf(niceness));
+		}
+		if (niceness != null && niceness > 0 && isAvailable("ionice", available)) {
+			// the best-effort class priority the kernel derives from the niceness
+			launcher.add("ionice");
+			launcher.add("-c");
+			launcher.add("2");
+			launcher.add("-n");
+			launcher.add(String.valueOf((niceness + 20) / 5));
+		}
+		return launcher;
+	}
+
+	private static boolean isAvailable(String command, Predicate<String> available) {
+		if (available.test(command)) {
+			return true;
+		}
+		log.warn("'{}' is not found on the PATH and is skipped", command);
+		return false;
+	}
+
+	private static boolean isExecutable(String command) {
+		String path = System.getenv("PATH");
+		if (!StringUtils.hasText(path)) {
+			return false;
+		}
+		for (String directory : path.split(Pattern.quote(File.pathSeparator))) {
+			if (StringUtils.hasText(directory) && Files.isExecutable(Paths.get(directory, command))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (other == null || getClass() != other.getClass()) {
+			return false;
+		}
+		CpuPolicy that = (CpuPolicy) other;
+		return this.processors == that.processors && Objects.equals(this.affinity, that.affinity)
+				&& Objects.equals(this.niceness, that.niceness);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.processors, this.affinity, this.niceness);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("CpuPolicy [processors=%d, affinity=%s, niceness=%s]", this.processors, this.affinity,
+				this.niceness);
+	}
+
+}
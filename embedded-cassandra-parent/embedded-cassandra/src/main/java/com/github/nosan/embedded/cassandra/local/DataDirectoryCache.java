@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.nosan.embedded.cassandra.Version;
+
+/**
+ * Cache of the {@code Cassandra} data directories. A data directory is stored once the fixture has been applied
+ * and then used to seed the data directory of a new node before it is launched, so neither system keyspaces nor the
+ * fixture have to be created again. Entries are keyed by the {@link Version}, the effective {@code cassandra.yaml}
+ * (ports are ignored) and the fixture, e.g. the hash of the CQL statements.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+public final class DataDirectoryCache {
+
+	private static final Logger log = LoggerFactory.getLogger(DataDirectoryCache.class);
+
+	private static final Pattern IGNORED_LINE = Pattern.compile("\\s*(#.*|[\\w]*port\\s*:.*)?");
+
+	private final Path directory;
+
+	/**
+	 * Creates a {@link DataDirectoryCache}.
+	 *
+	 * @param directory the directory where the data directories are stored
+	 */
+	public DataDirectoryCache(Path directory) {
+		this.directory = Objects.requireNonNull(directory, "Directory must not be null");
+	}
+
+	/**
+	 * Returns the directory where the data directories are stored.
+	 *
+	 * @return the directory
+	 */
+	public Path getDirectory() {
+		return this.directory;
+	}
+
+	/**
+	 * Computes the key of the data directory.
+	 *
+	 * @param version the version
+	 * @param configurationFile the effective {@code cassandra.yaml}
+	 * @param fixture the fixture, e.g. the CQL statements
+	 * @return the key
+	 * @throws IOException if the configuration file cannot be read
+	 */
+	public String getKey(Version version, Path configurationFile, String fixture) throws IOException {
+		Objects.requireNonNull(version, "Version must not be null");
+		Objects.requireNonNull(configurationFile, "Configuration File must not be null");
+		Objects.requireNonNull(fixture, "Fixture must not be null");
+		MessageDigest digest = getDigest();
+		digest.update(version.toString().getBytes(StandardCharsets.UTF_8));
+		try (BufferedReader reader = Files.newBufferedReader(configurationFile, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!IGNORED_LINE.matcher(line).matches()) {
+					digest.update(line.getBytes(StandardCharsets.UTF_8));
+				}
+			}
+		}
+		digest.update(fixture.getBytes(StandardCharsets.UTF_8));
+		StringBuilder key = new StringBuilder();
+		for (byte b : digest.digest()) {
+			key.append(String.format("%02x", b));
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Whether the data directory with the given key is present.
+	 *
+	 * @param key the key
+	 * @return {@code true} if the data directory is present
+	 */
+	public boolean contains(String key) {
+		Objects.requireNonNull(key, "Key must not be null");
+		return Files.isDirectory(this.directory.resolve(key));
+	}
+
+	/**
+	 * Copies the data directory with the given key to the given directory.
+	 *
+	 * @param key the key
+	 * @param dataDirectory the data directory of the node ({@code data_file_directories})
+	 * @return {@code true} if the data directory has been seeded, or {@code false} if the key is not present
+	 * @throws IOException in the case of I/O errors
+	 */
+	public boolean seed(String key, Path dataDirectory) throws IOException {
+		Objects.requireNonNull(dataDirectory, "Data Directory must not be null");
+		if (!contains(key)) {
+			return false;
+		}
+		FileUtils.copy(this.directory.resolve(key), dataDirectory, (path, attributes) -> true);
+		if (log.isDebugEnabled()) {
+			log.debug("Data directory '{}' has been seeded from '{}'", dataDirectory, this.directory.resolve(key));
+		}
+		return true;
+	}
+
+	/**
+	 * Stores the data directory with the given key. The entry is either stored completely or not stored at all, an
+	 * existing entry is kept as is.
+	 *
+	 * @param key the key
+	 * @param directories the directories to store, where the key is a path relative to the data directory, e.g.
+	 * {@code keyspace/table-id}
+	 * @throws IOException in the case of I/O errors
+	 */
+	public void store(String key, Map<String, Path> directories) throws IOException {
+		Objects.requireNonNull(key, "Key must not be null");
+		Objects.requireNonNull(directories, "Directories must not be null");
+		if (contains(key)) {
+			return;
+		}
+		Files.createDirectories(this.directory);
+		Path target = this.directory.resolve(key);
+		Path tmp = this.directory.resolve(String.format(".%s-%s", key, UUID.randomUUID()));
+		try {
+			Files.createDirectories(tmp);
+			for (Map.Entry<String, Path> entry : directories.entrySet()) {
+				FileUtils.copy(entry.getValue(), tmp.resolve(entry.getKey()), (path, attributes) -> true);
+			}
+			Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+			if (log.isDebugEnabled()) {
+				log.debug("Data directory '{}' has been stored", target);
+			}
+		}
+		catch (IOException ex) {
+			//could be stored concurrently
+			if (!contains(key)) {
+				throw ex;
+			}
+		}
+		finally {
+			FileUtils.delete(tmp);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s [%s]", getClass().getSimpleName(), this.directory);
+	}
+
+	private static MessageDigest getDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileLockInterruptionException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.UUID;
+
+import com.github.nosan.embedded.cassandra.Cassandra;
+import com.github.nosan.embedded.cassandra.CassandraException;
+import com.github.nosan.embedded.cassandra.CassandraFactory;
+import com.github.nosan.embedded.cassandra.CassandraInterruptedException;
+import com.github.nosan.embedded.cassandra.Settings;
+import com.github.nosan.embedded.cassandra.Version;
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+import com.github.nosan.embedded.cassandra.util.SystemUtils;
+
+/**
+ * {@link CassandraFactory} that shares one {@link Cassandra} between all JVMs (e.g. parallel build forks) that use
+ * an identically configured {@link LocalCassandraFactory}. The first JVM starts the {@code Cassandra} as a detached
+ * process and records its endpoint and a lease table in a lock-protected state file. Other JVMs attach to the
+ * running {@code Cassandra} instead of starting their own.
+ * <p>
+ * Each {@link Cassandra#start() start} acquires a lease and each {@link Cassandra#stop() stop} releases it. Leases of
+ * dead JVMs are pruned. The {@code Cassandra} is stopped by a watchdog process once it has had no leases for the
+ * {@link #DetachedCassandraFactory(LocalCassandraFactory, Duration) idle timeout}.
+ * <p>
+ * JVMs are matched by a hash of the factory configuration. An {@link LocalCassandraFactory#setArtifactFactory
+ * ArtifactFactory} and {@link LocalCassandraFactory#getWorkingDirectoryCustomizers() WorkingDirectoryCustomizers}
+ * can not be compared across JVMs and are therefore rejected.
+ *
+ * @author Dmytro Nosan
+ * @see SharedCassandraFactory
+ * @since 2.0.4
+ */
+public class DetachedCassandraFactory implements CassandraFactory {
+
+	private static final String VERSION = "version";
+
+	private static final String ADDRESS = "address";
+
+	private static final String PORT = "port";
+
+	private static final String SSL_PORT = "ssl.port";
+
+	private static final String RPC_PORT = "rpc.port";
+
+	private static final String JMX_PORT = "jmx.port";
+
+	private final LocalCassandraFactory factory;
+
+	private final Duration idleTimeout;
+
+	/**
+	 * Creates a {@link DetachedCassandraFactory} with zero idle timeout.
+	 *
+	 * @param factory the factory to create the detached {@code Cassandra}
+	 */
+	public DetachedCassandraFactory(LocalCassandraFactory factory) {
+		this(factory, Duration.ZERO);
+	}
+
+	/**
+	 * Creates a {@link DetachedCassandraFactory}.
+	 *
+	 * @param factory the factory to create the detached {@code Cassandra}
+	 * @param idleTimeout how long the {@code Cassandra} is kept running after the last lease has been released
+	 */
+	public DetachedCassandraFactory(LocalCassandraFactory factory, Duration idleTimeout) {
+		Objects.requireNonNull(factory, "Factory must not be null");
+		if (factory.getArtifactFactory() != null) {
+			throw new IllegalArgumentException("Artifact Factory is not supported by a detached Cassandra."
+					+ " It can not be compared across JVMs");
+		}
+		if (!factory.getWorkingDirectoryCustomizers().isEmpty()) {
+			throw new IllegalArgumentException("Working Directory Customizers are not supported by a detached"
+					+ " Cassandra. They can not be compared across JVMs");
+		}
+		this.factory = new LocalCassandraFactory(factory);
+		this.idleTimeout = Objects.requireNonNull(idleTimeout, "Idle Timeout must not be null");
+	}
+
+	@Override
+	public Cassandra create() {
+		LocalCassandraFactory factory = new LocalCassandraFactory(this.factory);
+		Path tmp = SystemUtils.getTmpDirectory()
+				.orElseThrow(() -> new IllegalStateException("java.io.tmpdir is not defined."
+						+ " Please set java.io.tmpdir system property."));
+		Path directory = tmp.resolve(String.format("embedded-cassandra/detached/%s", getConfigHash(factory)));
+		if (factory.getWorkingDirectory() == null) {
+			factory.setWorkingDirectory(directory.resolve("cassandra"));
+		}
+		boolean deleteWorkingDirectory = factory.isDeleteWorkingDirectory();
+		factory.setDeleteWorkingDirectory(false);
+		factory.setRegisterShutdownHook(false);
+		factory.setDaemon(true);
+		ProcessRegistry registry = new ProcessRegistry(tmp.resolve(ProcessRegistry.DIRECTORY), false);
+		return new DetachedCassandra(factory, directory, registry, deleteWorkingDirectory, this.idleTimeout);
+	}
+
+	/**
+	 * Returns the hash of the effective configuration of the given factory, which is stable across JVMs. The hash
+	 * covers the same attributes as {@link SharedCassandraFactory#getKey(LocalCassandraFactory)}.
+	 *
+	 * @param factory the factory
+	 * @return the hash
+	 */
+	static String getConfigHash(LocalCassandraFactory factory) {
+		List<Object> values = SharedCassandraFactory.getKey(factory);
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = digest.digest(values.toString().getBytes(StandardCharsets.UTF_8));
+			StringBuilder result = new StringBuilder();
+			for (int i = 0; i < 16; i++) {
+				result.append(String.format("%02x", hash[i]));
+			}
+			return result.toString();
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * {@link Cassandra} that holds a lease on the detached {@code Cassandra}.
+	 */
+	private static final class DetachedCassandra implements Cassandra {
+
+		private final LocalCassandraFactory factory;
+
+		private final Path directory;
+
+		private final ProcessRegistry registry;
+
+		private final boolean deleteWorkingDirectory;
+
+		private final Duration idleTimeout;
+
+		private volatile State state = State.NEW;
+
+		@Nullable
+		private volatile Settings settings;
+
+		@Nullable
+		private volatile String lease;
+
+		DetachedCassandra(LocalCassandraFactory factory, Path directory, ProcessRegistry registry,
+				boolean deleteWorkingDirectory, Duration idleTimeout) {
+			this.factory = factory;
+			this.directory = directory;
+			this.registry = registry;
+			this.deleteWorkingDirectory = deleteWorkingDirectory;
+			this.idleTimeout = idleTimeout;
+		}
+
+		@Override
+		public synchronized void start() throws CassandraException {
+			if (this.state == State.STARTED) {
+				return;
+			}
+			try {
+				this.state = State.STARTING;
+				Files.createDirectories(this.directory);
+				try (FileLock fileLock = lock()) {
+					Path file = this.directory.resolve(DetachedCassandraWatchdog.STATE_FILE);
+					Properties state = Files.exists(file) ? DetachedCassandraWatchdog.read(file) : new Properties();
+					if (!isRunning(state)) {
+						state = launch();
+					}
+					String lease = UUID.randomUUID().toString();
+					String owner = String.format("%d:%d", ProcessUtils.getPid(),
+							ManagementFactory.getRuntimeMXBean().getStartTime());
+					state.setProperty(DetachedCassandraWatchdog.LEASE_PREFIX + lease, owner);
+					state.remove(DetachedCassandraWatchdog.IDLE_SINCE);
+					DetachedCassandraWatchdog.write(file, state);
+					this.settings = getSettings(state);
+					this.lease = lease;
+				}
+				this.state = State.STARTED;
+			}
+			catch (InterruptedException | FileLockInterruptionException | ClosedByInterruptException ex) {
+				this.state = State.START_INTERRUPTED;
+				throw new CassandraInterruptedException(String.format("%s has been interrupted", toString()), ex);
+			}
+			catch (Throwable ex) {
+				this.state = State.START_FAILED;
+				throw new CassandraException(String.format("Unable to start %s", toString()), ex);
+			}
+		}
+
+		@Override
+		public synchronized void stop() throws CassandraException {
+			if (this.state != State.STARTED) {
+				return;
+			}
+			try {
+				this.state = State.STOPPING;
+				try (FileLock fileLock = lock()) {
+					Path file = this.directory.resolve(DetachedCassandraWatchdog.STATE_FILE);
+					if (Files.exists(file)) {
+						Properties state = DetachedCassandraWatchdog.read(file);
+						state.remove(DetachedCassandraWatchdog.LEASE_PREFIX + this.lease);
+						DetachedCassandraWatchdog.write(file, state);
+					}
+				}
+				this.settings = null;
+				this.lease = null;
+				this.state = State.STOPPED;
+			}
+			catch (FileLockInterruptionException | ClosedByInterruptException ex) {
+				this.state = State.STOP_INTERRUPTED;
+				throw new CassandraInterruptedException(String.format("%s has been interrupted", toString()), ex);
+			}
+			catch (Throwable ex) {
+				this.state = State.STOP_FAILED;
+				throw new CassandraException(String.format("Unable to stop %s", toString()), ex);
+			}
+		}
+
+		@Override
+		public Settings getSettings() throws IllegalStateException {
+			Settings settings = this.settings;
+			if (settings == null) {
+				throw new IllegalStateException(String.format("%s is not running.", toString()));
+			}
+			return settings;
+		}
+
+		@Override
+		public Version getVersion() throws IllegalStateException {
+			Settings settings = this.settings;
+			if (settings != null) {
+				return settings.getVersion();
+			}
+			Version version = this.factory.getVersion();
+			if (version == null) {
+				throw new IllegalStateException(String.format("%s is not running and its version is not set",
+						toString()));
+			}
+			return version;
+		}
+
+		@Override
+		public State getState() {
+			return this.state;
+		}
+
+		@Override
+		public String toString() {
+			Settings settings = this.settings;
+			Version version = (settings != null) ? settings.getVersion() : this.factory.getVersion();
+			return String.format("Detached Cassandra [directory=%s, version=%s, state=%s]", this.directory,
+					version, getState());
+		}
+
+		private FileLock lock() throws IOException {
+			FileLock fileLock = new FileLock(this.directory.resolve(DetachedCassandraWatchdog.LOCK_FILE));
+			try {
+				fileLock.lock();
+				return fileLock;
+			}
+			catch (IOException ex) {
+				fileLock.close();
+				throw ex;
+			}
+		}
+
+		private boolean isRunning(Properties state) {
+			long pid = DetachedCassandraWatchdog.getLong(state, DetachedCassandraWatchdog.PID);
+			long start = DetachedCassandraWatchdog.getLong(state, DetachedCassandraWatchdog.START);
+			long watchdogPid = DetachedCassandraWatchdog.getLong(state, DetachedCassandraWatchdog.WATCHDOG_PID);
+			long watchdogStart = DetachedCassandraWatchdog.getLong(state, DetachedCassandraWatchdog.WATCHDOG_START);
+			if (pid == -1) {
+				return false;
+			}
+			ProcessUtils.Liveness liveness = ProcessUtils.getLiveness(pid, start);
+			if (liveness == ProcessUtils.Liveness.DEAD) {
+				return false;
+			}
+			if (ProcessUtils.isAlive(watchdogPid, watchdogStart)) {
+				return true;
+			}
+			if (liveness == ProcessUtils.Liveness.ALIVE) {
+				ProcessUtils.kill(pid);
+			}
+			return false;
+		}
+
+		private Properties launch() throws Exception {
+			Cassandra cassandra = this.factory.create();
+			cassandra.start();
+			Settings settings = cassandra.getSettings();
+			Process watchdog = startWatchdog();
+			long now = System.currentTimeMillis();
+			long watchdogPid = ProcessUtils.getPid(watchdog);
+			Path workingDirectory = Objects.requireNonNull(this.factory.getWorkingDirectory());
+			long pid = this.registry.transfer(workingDirectory, watchdogPid, now);
+			if (pid == -1 || watchdogPid == -1) {
+				watchdog.destroyForcibly();
+				cassandra.stop();
+				throw new IllegalStateException(String.format("Apache Cassandra '%s' can not be detached",
+						workingDirectory));
+			}
+			Properties state = new Properties();
+			state.setProperty(DetachedCassandraWatchdog.PID, Long.toString(pid));
+			state.setProperty(DetachedCassandraWatchdog.START, Long.toString(now));
+			state.setProperty(DetachedCassandraWatchdog.WATCHDOG_PID, Long.toString(watchdogPid));
+			state.setProperty(DetachedCassandraWatchdog.WATCHDOG_START, Long.toString(now));
+			state.setProperty(DetachedCassandraWatchdog.IDLE_TIMEOUT, Long.toString(this.idleTimeout.toMillis()));
+			state.setProperty(DetachedCassandraWatchdog.WORKING_DIRECTORY,
+					workingDirectory.toAbsolutePath().toString());
+			state.setProperty(DetachedCassandraWatchdog.DELETE_WORKING_DIRECTORY,
+					Boolean.toString(this.deleteWorkingDirectory));
+			state.setProperty(DetachedCassandraWatchdog.REGISTRY_FILE,
+					this.registry.getFile(pid).toAbsolutePath().toString());
+			state.setProperty(VERSION, settings.getVersion().toString());
+			settings.address().ifPresent(address -> state.setProperty(ADDRESS, address.getHostAddress()));
+			settings.port().ifPresent(port -> state.setProperty(PORT, Integer.toString(port)));
+			settings.sslPort().ifPresent(port -> state.setProperty(SSL_PORT, Integer.toString(port)));
+			settings.rpcPort().ifPresent(port -> state.setProperty(RPC_PORT, Integer.toString(port)));
+			settings.jmxPort().ifPresent(port -> state.setProperty(JMX_PORT, Integer.toString(port)));
+			return state;
+		}
+
+		private Process startWatchdog() throws Exception {
+			Path javaHome = SystemUtils.getJavaHomeDirectory()
+					.orElseThrow(() -> new IllegalStateException("java.home is not defined"));
+			Path classpath = Paths.get(DetachedCassandraWatchdog.class.getProtectionDomain().getCodeSource()
+					.getLocation().toURI());
+			ProcessBuilder builder = new ProcessBuilder(javaHome.resolve("bin/java").toString(), "-Xmx16m", "-cp",
+					classpath.toString(), DetachedCassandraWatchdog.class.getName(), this.directory.toString());
+			File log = this.directory.resolve("watchdog.log").toFile();
+			builder.redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.appendTo(log));
+			return new RunProcess(builder).run();
+		}
+
+		private static Settings getSettings(Properties state) throws Exception {
+			NodeSettings settings = new NodeSettings(Version.parse(state.getProperty(VERSION)));
+			String address = state.getProperty(ADDRESS);
+			InetAddress inetAddress = (address != null) ? InetAddress.getByName(address) : null;
+			if (state.getProperty(PORT) != null || state.getProperty(SSL_PORT) != null) {
+				settings.setAddress(inetAddress);
+				settings.setPort(getInteger(state, PORT));
+				settings.setSslPort(getInteger(state, SSL_PORT));
+				settings.setTransportStarted(true);
+			}
+			if (state.getProperty(RPC_PORT) != null) {
+				settings.setRpcAddress(inetAddress);
+				settings.setRpcPort(getInteger(state, RPC_PORT));
+				settings.setRpcTransportStarted(true);
+			}
+			settings.setJmxPort(getInteger(state, JMX_PORT));
+			return settings;
+		}
+
+		@Nullable
+		private static Integer getInteger(Properties state, String name) {
+			String value = state.getProperty(name);
+			return (value != null) ? Integer.parseInt(value) : null;
+		}
+
+	}
+
+}
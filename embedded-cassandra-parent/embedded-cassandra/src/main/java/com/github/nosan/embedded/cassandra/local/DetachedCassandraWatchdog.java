@@ -0,0 +1,330 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+
+/**
+ * Watchdog process of the {@code Cassandra} started by {@link DetachedCassandraFactory}. It prunes leases whose
+ * owner JVM is gone and stops the {@code Cassandra} once it has been idle (no leases) for the configured idle
+ * timeout. The watchdog is executed as a separate JVM with this library only on the classpath, hence it must not use
+ * anything but JDK classes.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+final class DetachedCassandraWatchdog {
+
+	static final String STATE_FILE = "state.properties";
+
+	static final String LOCK_FILE = "state.lock";
+
+	static final String PID = "pid";
+
+	static final String START = "start";
+
+	static final String WATCHDOG_PID = "watchdog.pid";
+
+	static final String WATCHDOG_START = "watchdog.start";
+
+	static final String IDLE_TIMEOUT = "idle.timeout";
+
+	static final String IDLE_SINCE = "idle.since";
+
+	static final String WORKING_DIRECTORY = "working.directory";
+
+	static final String DELETE_WORKING_DIRECTORY = "delete.working.directory";
+
+	static final String REGISTRY_FILE = "registry.file";
+
+	static final String LEASE_PREFIX = "lease.";
+
+	private static final long INTERVAL = 500;
+
+	private static final long START_TIME_TOLERANCE = 1000;
+
+	private DetachedCassandraWatchdog() {
+	}
+
+	/**
+	 * Watches the {@code Cassandra} described by the state file within the given directory.
+	 *
+	 * @param args the directory of the state file
+	 * @throws Exception if the watchdog has failed
+	 */
+	public static void main(String[] args) throws Exception {
+		Path directory = Paths.get(args[0]);
+		long pid = getPid();
+		boolean running = true;
+		while (running) {
+			Thread.sleep(INTERVAL);
+			try (FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE)) {
+				try (FileLock ignore = channel.lock()) {
+					running = watch(directory, pid, System.currentTimeMillis());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks the {@code Cassandra} state once.
+	 *
+	 * @param directory the directory of the state file
+	 * @param watchdogPid the pid of the watchdog
+	 * @param now the current time (in milliseconds since epoch)
+	 * @return {@code true} if the {@code Cassandra} should be watched further, otherwise {@code false}
+	 * @throws IOException in the case of I/O errors
+	 * @throws InterruptedException if the current thread is interrupted
+	 */
+	static boolean watch(Path directory, long watchdogPid, long now) throws IOException, InterruptedException {
+		Path file = directory.resolve(STATE_FILE);
+		if (!Files.exists(file)) {
+			return false;
+		}
+		Properties state = read(file);
+		if (getLong(state, WATCHDOG_PID) != watchdogPid) {
+			return false;
+		}
+		long pid = getLong(state, PID);
+		if (!isAlive(pid, getLong(state, START))) {
+			cleanup(directory, state);
+			return false;
+		}
+		boolean changed = false;
+		boolean leased = false;
+		for (String name : state.stringPropertyNames()) {
+			if (name.startsWith(LEASE_PREFIX)) {
+				String[] owner = state.getProperty(name).split(":");
+				if (isAlive(Long.parseLong(owner[0]), Long.parseLong(owner[1]))) {
+					leased = true;
+				}
+				else {
+					state.remove(name);
+					changed = true;
+				}
+			}
+		}
+		long idleSince = getLong(state, IDLE_SINCE);
+		if (leased && idleSince != -1) {
+			state.remove(IDLE_SINCE);
+			changed = true;
+		}
+		else if (!leased && idleSince == -1) {
+			idleSince = now;
+			state.setProperty(IDLE_SINCE, Long.toString(now));
+			changed = true;
+		}
+		if (!leased && now - idleSince >= getLong(state, IDLE_TIMEOUT)) {
+			stop(pid, getLong(state, START));
+			cleanup(directory, state);
+			return false;
+		}
+		if (changed) {
+			write(file, state);
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the state file.
+	 *
+	 * @param file the state file
+	 * @return the state
+	 * @throws IOException in the case of I/O errors
+	 */
+	static Properties read(Path file) throws IOException {
+		Properties state = new Properties();
+		try (InputStream is = Files.newInputStream(file)) {
+			state.load(is);
+		}
+		return state;
+	}
+
+	/**
+	 * Writes the state file.
+	 *
+	 * @param file the state file
+	 * @param state the state
+	 * @throws IOException in the case of I/O errors
+	 */
+	static void write(Path file, Properties state) throws IOException {
+		try (OutputStream os = Files.newOutputStream(file)) {
+			state.store(os, "Detached Apache Cassandra");
+		}
+	}
+
+	/**
+	 * Returns the {@code long} property.
+	 *
+	 * @param state the state
+	 * @param name the name of the property
+	 * @return the value, or {@code -1}
+	 */
+	static long getLong(Properties state, String name) {
+		String value = state.getProperty(name);
+		return (value != null) ? Long.parseLong(value.trim()) : -1;
+	}
+
+	private static void stop(long pid, long start) throws InterruptedException {
+		signal(pid, false);
+		for (int i = 0; i < 100 && isAlive(pid, start); i++) {
+			Thread.sleep(100);
+		}
+		if (isAlive(pid, start)) {
+			signal(pid, true);
+			for (int i = 0; i < 50 && isAlive(pid, start); i++) {
+				Thread.sleep(100);
+			}
+		}
+	}
+
+	private static void cleanup(Path directory, Properties state) throws IOException {
+		String workingDirectory = state.getProperty(WORKING_DIRECTORY);
+		if (workingDirectory != null && Boolean.parseBoolean(state.getProperty(DELETE_WORKING_DIRECTORY))) {
+			delete(Paths.get(workingDirectory));
+		}
+		String registryFile = state.getProperty(REGISTRY_FILE);
+		if (registryFile != null) {
+			Files.deleteIfExists(Paths.get(registryFile));
+		}
+		Files.deleteIfExists(directory.resolve(STATE_FILE));
+	}
+
+	private static void delete(Path path) throws IOException {
+		if (Files.exists(path)) {
+			List<Path> paths;
+			try (Stream<Path> stream = Files.walk(path)) {
+				paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+			}
+			for (Path p : paths) {
+				Files.deleteIfExists(p);
+			}
+		}
+	}
+
+	private static boolean isAlive(long pid, long startedBefore) throws InterruptedException {
+		if (pid <= 0) {
+			return false;
+		}
+		Optional<?> handle = getProcessHandle(pid);
+		if (handle != null) {
+			if (!handle.isPresent() || !Boolean.TRUE.equals(invoke(handle.get(), "isAlive"))) {
+				return false;
+			}
+			Object info = invoke(handle.get(), "info");
+			Object start = (info != null) ? ((Optional<?>) invoke(info, "startInstant")).orElse(null) : null;
+			return start == null || ((Instant) start).toEpochMilli() <= startedBefore + START_TIME_TOLERANCE;
+		}
+		if (isWindows()) {
+			return true;
+		}
+		return run("kill", "-0", Long.toString(pid)) != 1;
+	}
+
+	private static void signal(long pid, boolean force) throws InterruptedException {
+		Optional<?> handle = getProcessHandle(pid);
+		if (handle != null) {
+			if (handle.isPresent()) {
+				invoke(handle.get(), force ? "destroyForcibly" : "destroy");
+			}
+			return;
+		}
+		if (isWindows()) {
+			if (force) {
+				run("taskkill", "/f", "/t", "/pid", Long.toString(pid));
+			}
+			else {
+				run("taskkill", "/t", "/pid", Long.toString(pid));
+			}
+		}
+		else {
+			run("kill", force ? "-SIGKILL" : "-SIGTERM", Long.toString(pid));
+		}
+	}
+
+	@Nullable
+	private static Optional<?> getProcessHandle(long pid) {
+		try {
+			Method method = Class.forName("java.lang.ProcessHandle").getMethod("of", long.class);
+			return (Optional<?>) method.invoke(null, pid);
+		}
+		catch (Throwable ex) {
+			return null;
+		}
+	}
+
+	@Nullable
+	private static Object invoke(Object target, String name) {
+		try {
+			for (Class<?> type : target.getClass().getInterfaces()) {
+				if (type.getName().startsWith("java.lang.ProcessHandle")) {
+					return type.getMethod(name).invoke(target);
+				}
+			}
+			return null;
+		}
+		catch (Throwable ex) {
+			return null;
+		}
+	}
+
+	private static int run(String... command) throws InterruptedException {
+		try {
+			Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+			if (!process.waitFor(10, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+				return -1;
+			}
+			return process.exitValue();
+		}
+		catch (IOException ex) {
+			return -1;
+		}
+	}
+
+	private static boolean isWindows() {
+		return System.getProperty("os.name", "").toLowerCase(Locale.ENGLISH).contains("windows");
+	}
+
+	private static long getPid() {
+		String name = ManagementFactory.getRuntimeMXBean().getName();
+		return Long.parseLong(name.substring(0, name.indexOf('@')));
+	}
+
+}
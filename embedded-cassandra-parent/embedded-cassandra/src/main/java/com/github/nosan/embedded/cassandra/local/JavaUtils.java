@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+import com.github.nosan.embedded.cassandra.util.SystemUtils;
+
+/**
+ * Utility methods for dealing with the version of a JDK.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+abstract class JavaUtils {
+
+	private static final Pattern RELEASE_VERSION_PATTERN = Pattern.compile("JAVA_VERSION=\"(.+)\"");
+
+	// 1.8.0_191, 11.0.2, 17
+	private static final Pattern VERSION_PATTERN = Pattern.compile("(?:1\\.)?(\\d+)(?:\\.\\d+)?(?:[._](\\d+))?.*");
+
+	/**
+	 * Returns the version of the given JDK, e.g. {@code 1.8.0_191} or {@code 11.0.2}. The version is read from the
+	 * {@code release} file, the version of the current JVM is used if there is no such file.
+	 *
+	 * @param javaHome the JDK, or {@code null} to use the current one
+	 * @return the version
+	 */
+	static String getVersion(@Nullable Path javaHome) {
+		if (javaHome != null) {
+			for (Path release : new Path[]{javaHome.resolve("release"), javaHome.resolve("../release")}) {
+				try {
+					if (Files.exists(release)) {
+						for (String line : Files.readAllLines(release, StandardCharsets.UTF_8)) {
+							Matcher matcher = RELEASE_VERSION_PATTERN.matcher(line.trim());
+							if (matcher.matches()) {
+								return matcher.group(1);
+							}
+						}
+					}
+				}
+				catch (Exception ex) {
+					//ignore
+				}
+			}
+		}
+		return SystemUtils.getProperty("java.version").orElse("1.8");
+	}
+
+	/**
+	 * Returns the major version, e.g. {@code 8} for {@code 1.8.0_191}.
+	 *
+	 * @param version the version
+	 * @return the major version, or {@code 8} if the version cannot be parsed
+	 */
+	static int getMajorVersion(String version) {
+		Matcher matcher = VERSION_PATTERN.matcher(version.trim());
+		return matcher.matches() ? Integer.parseInt(matcher.group(1)) : 8;
+	}
+
+	/**
+	 * Returns the update version, e.g. {@code 191} for {@code 1.8.0_191} or {@code 2} for {@code 11.0.2}.
+	 *
+	 * @param version the version
+	 * @return the update version, or {@code 0} if there is none
+	 */
+	static int getUpdateVersion(String version) {
+		Matcher matcher = VERSION_PATTERN.matcher(version.trim());
+		return (matcher.matches() && matcher.group(2) != null) ? Integer.parseInt(matcher.group(2)) : 0;
+	}
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.github.nosan.embedded.cassandra.Version;
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+import com.github.nosan.embedded.cassandra.util.StringUtils;
+import com.github.nosan.embedded.cassandra.util.SystemUtils;
+
+/**
+ * {@link CassandraNode} implementation that launches {@code java} directly, without {@code bin/cassandra} scripts.
+ * The classpath, JVM options (including {@code jvm.options} files) and the main class are built the same way as
+ * {@code cassandra.in.sh}, {@code cassandra-env.sh} and {@code bin/cassandra} do, hence the tracked pid is always the
+ * pid of the {@code Cassandra} JVM. Supported only since Apache Cassandra {@code 3.0}, older versions have no {@code
+ * jvm.options} files.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+class JvmCassandraNode extends AbstractCassandraNode {
+
+	private static final String MAIN_CLASS = "org.apache.cassandra.service.CassandraDaemon";
+
+	private static final long MB = 1024 * 1024;
+
+	@Nullable
+	private final ClassDataSharing classDataSharing;
+
+	private final List<String> launcher;
+
+	JvmCassandraNode(Path workingDirectory, Version version, Duration startupTimeout,
+			List<Pattern> fatalErrorPatterns, boolean forceStop, boolean daemon, @Nullable Path javaHome,
+			JvmParameters jvmParameters, ProcessRegistry processRegistry) {
+		this(workingDirectory, version, startupTimeout, fatalErrorPatterns, forceStop, daemon, javaHome,
+				jvmParameters, processRegistry, null, Collections.emptyList());
+	}
+
+	JvmCassandraNode(Path workingDirectory, Version version, Duration startupTimeout,
+			List<Pattern> fatalErrorPatterns, boolean forceStop, boolean daemon, @Nullable Path javaHome,
+			JvmParameters jvmParameters, ProcessRegistry processRegistry,
+			@Nullable ClassDataSharing classDataSharing, List<String> launcher) {
+		super(workingDirectory, version, startupTimeout, fatalErrorPatterns, forceStop, daemon, javaHome,
+				jvmParameters, processRegistry);
+		this.classDataSharing = classDataSharing;
+		this.launcher = Collections.unmodifiableList(new ArrayList<>(launcher));
+	}
+
+	@Override
+	ProcessId start(Map<String, String> environment) throws IOException {
+		Path workingDirectory = this.workingDirectory;
+		Path javaHome = Optional.ofNullable(environment.get(JAVA_HOME)).map(Paths::get).orElse(null);
+		int javaVersion = getJavaVersion(javaHome);
+		ProcessBuilder builder = new ProcessBuilder().directory(workingDirectory.toFile()).redirectErrorStream(true);
+		builder.environment().putAll(environment);
+		builder.environment().put("CASSANDRA_HOME", workingDirectory.toString());
+		builder.environment().put("CASSANDRA_CONF", workingDirectory.resolve("conf").toString());
+		List<String> command = builder.command();
+		command.addAll(this.launcher);
+		command.add((javaHome != null) ? javaHome.resolve("bin/java").toString() : "java");
+		command.addAll(getJvmOptions(javaVersion, environment));
+		List<Path> classpath = getClasspath();
+		ClassDataSharing classDataSharing = this.classDataSharing;
+		if (classDataSharing != null && javaVersion >= ClassDataSharing.MIN_JAVA_VERSION) {
+			ClassDataSharing.Archive archive = classDataSharing.getArchive(javaHome,
+					workingDirectory.resolve("lib"));
+			command.addAll(archive.getJvmOptions());
+			// the archive is valid only if its jars come first, conf directory is appended
+			classpath = new ArrayList<>(archive.getClasspath());
+			classpath.add(workingDirectory.resolve("conf"));
+		}
+		command.add(String.format("-Dlogback.configurationFile=%s", "logback.xml"));
+		command.add(String.format("-Dcassandra.logdir=%s", workingDirectory.resolve("logs")));
+		command.add(String.format("-Dcassandra.storagedir=%s", workingDirectory.resolve("data")));
+		command.add("-Dcassandra-foreground=yes");
+		command.add("-cp");
+		command.add(classpath.stream().map(Path::toString).collect(Collectors.joining(File.pathSeparator)));
+		command.add(MAIN_CLASS);
+		return new ProcessId(new RunProcess(builder).run());
+	}
+
+	@Override
+	int terminate(ProcessId processId) {
+		ProcessUtils.destroy(processId.getProcess(), false);
+		return 0;
+	}
+
+	@Override
+	int kill(ProcessId processId) {
+		ProcessUtils.destroy(processId.getProcess(), true);
+		return 0;
+	}
+
+	private List<String> getJvmOptions(int javaVersion, Map<String, String> environment) throws IOException {
+		Path workingDirectory = this.workingDirectory;
+		Path conf = workingDirectory.resolve("conf");
+		List<String> options = new ArrayList<>();
+		options.addAll(readJvmOptions(conf.resolve("jvm.options")));
+		options.addAll(readJvmOptions(conf.resolve("jvm-server.options")));
+		options.addAll(readJvmOptions(conf.resolve(String.format("jvm%d-server.options", javaVersion))));
+		options.addAll(getHeapOptions(options));
+		if (javaVersion < 9) {
+			options.add(String.format("-Xloggc:%s", workingDirectory.resolve("logs/gc.log")));
+		}
+		else {
+			options.add(String.format("-Xlog:gc=info,heap*=trace,age*=debug,safepoint=info,promotion*=trace"
+					+ ":file=%s:time,uptime,pid,tid,level:filecount=10,filesize=10485760",
+					workingDirectory.resolve("logs/gc.log")));
+		}
+		Path hotspotCompiler = conf.resolve("hotspot_compiler");
+		if (Files.exists(hotspotCompiler)) {
+			options.add(String.format("-XX:CompileCommandFile=%s", hotspotCompiler));
+		}
+		Path jamm = findJamm();
+		if (jamm != null) {
+			options.add(String.format("-javaagent:%s", jamm));
+		}
+		if (!SystemUtils.isWindows()) {
+			options.add("-XX:OnOutOfMemoryError=kill -9 %p");
+		}
+		Path sigar = workingDirectory.resolve("lib/sigar-bin");
+		if (Files.isDirectory(sigar)) {
+			options.add(String.format("-Djava.library.path=%s", sigar));
+		}
+		options.add(String.format("%s=%s", JvmParameters.JMX_LOCAL_PORT, DEFAULT_JMX_PORT));
+		options.add("-Dcom.sun.management.jmxremote.authenticate=false");
+		String extraOptions = environment.get(JVM_EXTRA_OPTS);
+		if (StringUtils.hasText(extraOptions)) {
+			// the same word splitting as the shell applies to unquoted $JVM_EXTRA_OPTS
+			for (String option : extraOptions.trim().split("\\s+")) {
+				options.add(option);
+			}
+		}
+		return options;
+	}
+
+	private List<String> getHeapOptions(List<String> options) {
+		List<String> heapOptions = new ArrayList<>();
+		boolean xmx = options.stream().anyMatch(option -> option.startsWith("-Xmx"));
+		boolean xms = options.stream().anyMatch(option -> option.startsWith("-Xms"));
+		boolean xmn = options.stream().anyMatch(option -> option.startsWith("-Xmn"));
+		boolean g1 = options.contains("-XX:+UseG1GC");
+		long memory = MemoryPolicy.getTotalMemory() / MB;
+		int cpus = Runtime.getRuntime().availableProcessors();
+		long maxHeapSize = Math.max(Math.min(memory / 2, 1024), Math.min(memory / 4, 8192));
+		long heapNewSize = Math.min(maxHeapSize / 4, 100L * cpus);
+		if (!xmx) {
+			heapOptions.add(String.format("-Xmx%dM", maxHeapSize));
+		}
+		if (!xms) {
+			heapOptions.add(String.format("-Xms%dM", maxHeapSize));
+		}
+		if (!xmn && !g1) {
+			heapOptions.add(String.format("-Xmn%dM", heapNewSize));
+		}
+		return heapOptions;
+	}
+
+	private List<Path> getClasspath() throws IOException {
+		List<Path> classpath = new ArrayList<>();
+		classpath.add(this.workingDirectory.resolve("conf"));
+		try (DirectoryStream<Path> jars = Files.newDirectoryStream(this.workingDirectory.resolve("lib"), "*.jar")) {
+			for (Path jar : jars) {
+				classpath.add(jar);
+			}
+		}
+		return classpath;
+	}
+
+	@Nullable
+	private Path findJamm() throws IOException {
+		try (DirectoryStream<Path> jars = Files.newDirectoryStream(this.workingDirectory.resolve("lib"),
+				"jamm-*.jar")) {
+			for (Path jar : jars) {
+				return jar;
+			}
+		}
+		return null;
+	}
+
+	private static List<String> readJvmOptions(Path file) throws IOException {
+		List<String> options = new ArrayList<>();
+		if (Files.exists(file)) {
+			for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+				String option = line.trim();
+				if (option.startsWith("-")) {
+					options.add(option);
+				}
+			}
+		}
+		return options;
+	}
+
+	private static int getJavaVersion(@Nullable Path javaHome) {
+		return JavaUtils.getMajorVersion(JavaUtils.getVersion(javaHome));
+	}
+
+}
@@ -16,8 +16,10 @@
 
 package com.github.nosan.embedded.cassandra.local;
 
+import java.io.IOException;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.FileLockInterruptionException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -31,6 +33,7 @@ import com.github.nosan.embedded.cassandra.CassandraInterruptedException;
 import com.github.nosan.embedded.cassandra.Settings;
 import com.github.nosan.embedded.cassandra.Version;
 import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+import com.github.nosan.embedded.cassandra.util.CompletableFutureUtils;
 import com.github.nosan.embedded.cassandra.util.MDCThreadFactory;
 
 /**
@@ -41,7 +44,7 @@ import com.github.nosan.embedded.cassandra.util.MDCThreadFactory;
  * @see LocalCassandraFactory
  * @since 1.0.0
  */
-class LocalCassandra implements Cassandra {
+class LocalCassandra implements Cassandra, Pausable {
 
 	private static final AtomicLong cassandraNumber = new AtomicLong();
 
@@ -112,6 +115,86 @@ class LocalCassandra implements Cassandra {
 		}
 	}
 
+	/**
+	 * Restarts the underlying {@code Cassandra} process. Unlike {@link #stop()} followed by {@link #start()}, the
+	 * working directory is neither deleted nor customized again, and the ports of the first start are kept.
+	 *
+	 * @throws CassandraException if the {@code Cassandra} cannot be restarted
+	 */
+	@Override
+	public synchronized void restart() throws CassandraException {
+		if (!this.started) {
+			start();
+			return;
+		}
+		try {
+			this.state = State.STARTING;
+			execute(this.database::restart, this.threadFactory);
+			this.state = State.STARTED;
+		}
+		catch (InterruptedException | FileLockInterruptionException | ClosedByInterruptException ex) {
+			this.state = State.START_INTERRUPTED;
+			doStopSafely();
+			this.started = false;
+			throw new CassandraInterruptedException(String.format("%s has been interrupted", toString()), ex);
+		}
+		catch (Throwable ex) {
+			this.state = State.START_FAILED;
+			doStopSafely();
+			this.started = false;
+			throw new CassandraException(String.format("Unable to restart %s", toString()), ex);
+		}
+	}
+
+	/**
+	 * Suspends the underlying {@code Cassandra} process with {@code SIGSTOP}, it stops consuming CPU (compaction,
+	 * gossip, GC) but keeps its memory and state. Unix only.
+	 */
+	@Override
+	public synchronized void pause() throws CassandraException {
+		if (!this.started) {
+			throw new IllegalStateException(String.format("%s is not running.", toString()));
+		}
+		try {
+			this.database.pause();
+		}
+		catch (IOException ex) {
+			throw new CassandraException(String.format("Unable to pause %s", toString()), ex);
+		}
+	}
+
+	/**
+	 * Resumes the underlying {@code Cassandra} process suspended by {@link #pause()} with {@code SIGCONT}.
+	 */
+	@Override
+	public synchronized void resume() throws CassandraException {
+		if (!this.started) {
+			throw new IllegalStateException(String.format("%s is not running.", toString()));
+		}
+		try {
+			this.database.resume();
+		}
+		catch (IOException ex) {
+			throw new CassandraException(String.format("Unable to resume %s", toString()), ex);
+		}
+	}
+
+	@Override
+	public CompletableFuture<Settings> startAsync() {
+		return CompletableFutureUtils.supplyAsync(() -> {
+			start();
+			return getSettings();
+		}, this.threadFactory);
+	}
+
+	@Override
+	public CompletableFuture<Void> stopAsync() {
+		return CompletableFutureUtils.supplyAsync(() -> {
+			stop();
+			return null;
+		}, this.threadFactory);
+	}
+
 	@Override
 	public synchronized Settings getSettings() throws IllegalStateException {
 		if (!this.started) {
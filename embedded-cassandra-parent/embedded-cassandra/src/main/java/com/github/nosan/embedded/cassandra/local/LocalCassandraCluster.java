@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.nosan.embedded.cassandra.Cassandra;
+import com.github.nosan.embedded.cassandra.CassandraException;
+import com.github.nosan.embedded.cassandra.CassandraInterruptedException;
+import com.github.nosan.embedded.cassandra.Cassandras;
+import com.github.nosan.embedded.cassandra.Settings;
+import com.github.nosan.embedded.cassandra.Version;
+
+/**
+ * {@link Cassandra} cluster of the local nodes. The nodes are {@link Cassandras#startAll(java.util.Collection, int)
+ * started} and {@link Cassandras#stopAll(java.util.Collection, int) stopped} concurrently (if the version allows
+ * it), {@link #getSettings() settings} are the settings of the first node.
+ *
+ * @author Dmytro Nosan
+ * @see LocalCassandraClusterFactory
+ * @since 2.0.4
+ */
+public class LocalCassandraCluster implements Cassandra {
+
+	private final List<Cassandra> nodes;
+
+	private final boolean parallel;
+
+	private volatile State state = State.NEW;
+
+	LocalCassandraCluster(List<Cassandra> nodes, boolean parallel) {
+		this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+		this.parallel = parallel;
+	}
+
+	@Override
+	public synchronized void start() throws CassandraException, CassandraInterruptedException {
+		if (this.state == State.STARTED) {
+			return;
+		}
+		this.state = State.STARTING;
+		try {
+			Cassandras.startAll(this.nodes, this.parallel ? this.nodes.size() : 1);
+			this.state = State.STARTED;
+		}
+		catch (CassandraInterruptedException ex) {
+			this.state = State.START_INTERRUPTED;
+			throw ex;
+		}
+		catch (RuntimeException ex) {
+			this.state = State.START_FAILED;
+			throw ex;
+		}
+	}
+
+	@Override
+	public synchronized void stop() throws CassandraException, CassandraInterruptedException {
+		if (this.state == State.NEW || this.state == State.STOPPED) {
+			return;
+		}
+		this.state = State.STOPPING;
+		try {
+			Cassandras.stopAll(this.nodes, this.nodes.size());
+			this.state = State.STOPPED;
+		}
+		catch (CassandraInterruptedException ex) {
+			this.state = State.STOP_INTERRUPTED;
+			throw ex;
+		}
+		catch (RuntimeException ex) {
+			this.state = State.STOP_FAILED;
+			throw ex;
+		}
+	}
+
+	/**
+	 * Restarts the nodes one by one (a rolling restart), each node keeps its working directory and ports.
+	 *
+	 * @throws CassandraException if the {@code Cassandra} cannot be restarted
+	 * @throws CassandraInterruptedException if the {@code Cassandra} was interrupted.
+	 */
+	@Override
+	public synchronized void restart() throws CassandraException, CassandraInterruptedException {
+		if (this.state != State.STARTED) {
+			stop();
+			start();
+			return;
+		}
+		this.state = State.STARTING;
+		try {
+			for (Cassandra node : this.nodes) {
+				node.restart();
+			}
+			this.state = State.STARTED;
+		}
+		catch (CassandraInterruptedException ex) {
+			this.state = State.START_INTERRUPTED;
+			throw ex;
+		}
+		catch (RuntimeException ex) {
+			this.state = State.START_FAILED;
+			throw ex;
+		}
+	}
+
+	@Override
+	public synchronized Settings getSettings() throws IllegalStateException {
+		if (this.state != State.STARTED) {
+			throw new IllegalStateException(String.format("%s is not running.", toString()));
+		}
+		return this.nodes.get(0).getSettings();
+	}
+
+	@Override
+	public Version getVersion() {
+		return this.nodes.get(0).getVersion();
+	}
+
+	@Override
+	public State getState() {
+		return this.state;
+	}
+
+	/**
+	 * Returns the nodes of this cluster.
+	 *
+	 * @return the nodes
+	 */
+	public List<Cassandra> getNodes() {
+		return this.nodes;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Local Cassandra Cluster [nodes=%d, version=%s, state=%s]", this.nodes.size(),
+				getVersion(), getState());
+	}
+
+}
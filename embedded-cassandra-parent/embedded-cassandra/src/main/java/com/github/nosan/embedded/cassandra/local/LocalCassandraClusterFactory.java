@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.github.nosan.embedded.cassandra.Cassandra;
+import com.github.nosan.embedded.cassandra.CassandraFactory;
+import com.github.nosan.embedded.cassandra.Version;
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+import com.github.nosan.embedded.cassandra.util.ClassUtils;
+
+/**
+ * {@link CassandraFactory} that creates a {@link LocalCassandraCluster} of {@code N} nodes on the loopback aliases
+ * ({@code 127.0.0.1}, {@code 127.0.0.2}, ...). Each node is configured by a copy of the given {@link
+ * LocalCassandraFactory} with its own working directory, all nodes are seeds and each node owns one pre-assigned
+ * token, so that the nodes join the ring concurrently (with {@code cassandra.consistent.rangemovement=false}) instead
+ * of bootstrapping one by one.
+ * <p>
+ * All nodes share the client and storage ports, a {@code 0} port is replaced by one random port for the whole cluster.
+ * JMX ports are random unless {@link LocalCassandraFactory#getJmxLocalPort() JMX local port} is set, in which case
+ * node {@code i} uses {@code jmxLocalPort + i}. If {@link LocalCassandraFactory#getWorkingDirectory() working
+ * directory} is set, the nodes use its {@code node1}, {@code node2}, ... subdirectories.
+ * <p>
+ * Requires {@code org.yaml:snakeyaml} on the classpath. Loopback aliases other than {@code 127.0.0.1} must be
+ * configured on some operating systems (e.g. {@code sudo ifconfig lo0 alias 127.0.0.2} on macOS).
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+public class LocalCassandraClusterFactory implements CassandraFactory {
+
+	private static final String SNAKEYAML_YAML_CLASS = "org.yaml.snakeyaml.Yaml";
+
+	private static final String CONSISTENT_RANGE_MOVEMENT = "-Dcassandra.consistent.rangemovement=false";
+
+	private static final int MAX_NODES = 254;
+
+	private final LocalCassandraFactory factory;
+
+	private final int nodes;
+
+	/**
+	 * Creates a {@link LocalCassandraClusterFactory}.
+	 *
+	 * @param factory the factory to configure the nodes
+	 * @param nodes the number of nodes
+	 */
+	public LocalCassandraClusterFactory(LocalCassandraFactory factory, int nodes) {
+		Objects.requireNonNull(factory, "Factory must not be null");
+		if (nodes <= 0 || nodes > MAX_NODES) {
+			throw new IllegalArgumentException(
+					String.format("Number of nodes '%d' must be between 1 and %d", nodes, MAX_NODES));
+		}
+		this.factory = factory;
+		this.nodes = nodes;
+	}
+
+	/**
+	 * Returns the number of nodes.
+	 *
+	 * @return the number of nodes
+	 */
+	public int getNodes() {
+		return this.nodes;
+	}
+
+	@Override
+	public LocalCassandraCluster create() {
+		if (!ClassUtils.isPresent(SNAKEYAML_YAML_CLASS, getClass().getClassLoader())) {
+			throw new IllegalStateException(String.format("'%s' is not present. Cluster requires snakeyaml.",
+					SNAKEYAML_YAML_CLASS));
+		}
+		List<String> seeds = new ArrayList<>();
+		for (int i = 0; i < this.nodes; i++) {
+			seeds.add(getAddress(i));
+		}
+		Integer port = getPort(this.factory.getPort());
+		Integer rpcPort = getPort(this.factory.getRpcPort());
+		Integer storagePort = getPort(this.factory.getStoragePort());
+		Integer sslStoragePort = getPort(this.factory.getSslStoragePort());
+		Integer jmxLocalPort = this.factory.getJmxLocalPort();
+		Path workingDirectory = this.factory.getWorkingDirectory();
+		List<Cassandra> nodes = new ArrayList<>();
+		for (int i = 0; i < this.nodes; i++) {
+			LocalCassandraFactory node = new LocalCassandraFactory(this.factory);
+			if (workingDirectory != null) {
+				node.setWorkingDirectory(workingDirectory.resolve("node" + (i + 1)));
+			}
+			node.setPort(port);
+			node.setRpcPort(rpcPort);
+			node.setStoragePort(storagePort);
+			node.setSslStoragePort(sslStoragePort);
+			node.setJmxLocalPort((jmxLocalPort != null && jmxLocalPort != 0) ? jmxLocalPort + i : 0);
+			List<String> jvmOptions = new ArrayList<>(this.factory.getJvmOptions());
+			jvmOptions.add(CONSISTENT_RANGE_MOVEMENT);
+			node.setJvmOptions(jvmOptions);
+			List<WorkingDirectoryCustomizer> customizers = new ArrayList<>();
+			customizers.add(new ClusterNodeConfigurationCustomizer(getAddress(i), seeds, i, this.nodes));
+			customizers.addAll(this.factory.getWorkingDirectoryCustomizers());
+			node.setWorkingDirectoryCustomizers(customizers);
+			nodes.add(node.create());
+		}
+		return new LocalCassandraCluster(nodes, isParallelStartSupported(nodes.get(0).getVersion()));
+	}
+
+	private static String getAddress(int index) {
+		return "127.0.0." + (index + 1);
+	}
+
+	@Nullable
+	private static Integer getPort(@Nullable Integer port) {
+		if (port != null && port == 0) {
+			return RandomPortSupplier.INSTANCE.get();
+		}
+		return port;
+	}
+
+	private static boolean isParallelStartSupported(Version version) {
+		// 'cassandra.consistent.rangemovement' has been introduced in 2.1
+		return version.getMajor() > 2 || (version.getMajor() == 2 && version.getMinor() >= 1);
+	}
+
+}
@@ -76,6 +76,28 @@ class LocalCassandraDatabase implements CassandraDatabase {
 		delete();
 	}
 
+	@Override
+	public synchronized void restart() throws IOException, InterruptedException {
+		Version version = getVersion();
+		log.info("Restart Apache Cassandra '{}'", version);
+		long start = System.currentTimeMillis();
+		this.node.restart();
+		long elapsed = System.currentTimeMillis() - start;
+		log.info("Apache Cassandra '{}' is restarted ({} ms)", version, elapsed);
+	}
+
+	@Override
+	public synchronized void pause() throws IOException {
+		this.node.pause();
+		log.info("Apache Cassandra '{}' is paused", getVersion());
+	}
+
+	@Override
+	public synchronized void resume() throws IOException {
+		this.node.resume();
+		log.info("Apache Cassandra '{}' is resumed", getVersion());
+	}
+
 	@Override
 	public synchronized Settings getSettings() {
 		return this.node.getSettings();
@@ -21,9 +21,14 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 import com.github.nosan.embedded.cassandra.Cassandra;
 import com.github.nosan.embedded.cassandra.CassandraFactory;
@@ -45,8 +50,15 @@ public class LocalCassandraFactory implements CassandraFactory {
 
 	private static final String SNAKEYAML_YAML_CLASS = "org.yaml.snakeyaml.Yaml";
 
+	private static final List<String> FATAL_ERROR_PATTERNS = Collections.unmodifiableList(Arrays.asList(
+			"(?i).*exception\\s*encountered\\s*during\\s*startup.*",
+			"(?i).*fatal\\s*configuration\\s*error.*",
+			".*java\\.lang\\.OutOfMemoryError.*"));
+
 	private final List<String> jvmOptions = new ArrayList<>();
 
+	private final List<String> fatalErrorPatterns = new ArrayList<>(FATAL_ERROR_PATTERNS);
+
 	private final List<WorkingDirectoryCustomizer> workingDirectoryCustomizers = new ArrayList<>();
 
 	@Nullable
@@ -102,6 +114,62 @@ public class LocalCassandraFactory implements CassandraFactory {
 
 	private boolean daemon = true;
 
+	private boolean directLaunch = false;
+
+	private StopMode stopMode = StopMode.GRACEFUL;
+
+	@Nullable
+	private MemoryPolicy memoryPolicy;
+
+	private boolean classDataSharing = false;
+
+	@Nullable
+	private CpuPolicy cpuPolicy;
+
+	/**
+	 * Creates a {@link LocalCassandraFactory}.
+	 */
+	public LocalCassandraFactory() {
+	}
+
+	/**
+	 * Creates a {@link LocalCassandraFactory} with the same properties as the given factory.
+	 *
+	 * @param factory the factory to copy the properties from
+	 * @since 2.0.4
+	 */
+	public LocalCassandraFactory(LocalCassandraFactory factory) {
+		Objects.requireNonNull(factory, "Factory must not be null");
+		this.jvmOptions.addAll(factory.jvmOptions);
+		this.fatalErrorPatterns.clear();
+		this.fatalErrorPatterns.addAll(factory.fatalErrorPatterns);
+		this.workingDirectoryCustomizers.addAll(factory.workingDirectoryCustomizers);
+		this.artifactFactory = factory.artifactFactory;
+		this.version = factory.version;
+		this.port = factory.port;
+		this.rpcPort = factory.rpcPort;
+		this.storagePort = factory.storagePort;
+		this.sslStoragePort = factory.sslStoragePort;
+		this.jmxLocalPort = factory.jmxLocalPort;
+		this.artifactDirectory = factory.artifactDirectory;
+		this.workingDirectory = factory.workingDirectory;
+		this.javaHome = factory.javaHome;
+		this.loggingFile = factory.loggingFile;
+		this.rackFile = factory.rackFile;
+		this.topologyFile = factory.topologyFile;
+		this.configurationFile = factory.configurationFile;
+		this.startupTimeout = factory.startupTimeout;
+		this.allowRoot = factory.allowRoot;
+		this.registerShutdownHook = factory.registerShutdownHook;
+		this.deleteWorkingDirectory = factory.deleteWorkingDirectory;
+		this.daemon = factory.daemon;
+		this.directLaunch = factory.directLaunch;
+		this.stopMode = factory.stopMode;
+		this.memoryPolicy = factory.memoryPolicy;
+		this.classDataSharing = factory.classDataSharing;
+		this.cpuPolicy = factory.cpuPolicy;
+	}
+
 	/**
 	 * Allow running Cassandra under {@code root} user.
 	 * <p>
@@ -560,6 +628,42 @@ public class LocalCassandraFactory implements CassandraFactory {
 		this.startupTimeout = startupTimeout;
 	}
 
+	/**
+	 * Regular expressions of the fatal startup errors. If any {@code Cassandra} output line matches one of these
+	 * patterns, the startup is aborted right away and the process is killed. By default, {@code Exception encountered
+	 * during startup}, {@code Fatal configuration error} and {@code OutOfMemoryError} are detected.
+	 *
+	 * @return The value of the {@code fatalErrorPatterns} attribute
+	 * @since 2.0.4
+	 */
+	public List<String> getFatalErrorPatterns() {
+		return this.fatalErrorPatterns;
+	}
+
+	/**
+	 * Initializes the value for the {@link LocalCassandraFactory#getFatalErrorPatterns()} attribute.
+	 *
+	 * @param fatalErrorPatterns the regular expressions
+	 * @since 2.0.4
+	 */
+	public void setFatalErrorPatterns(String... fatalErrorPatterns) {
+		this.fatalErrorPatterns.clear();
+		this.fatalErrorPatterns.addAll(Arrays.asList(fatalErrorPatterns));
+	}
+
+	/**
+	 * Initializes the value for the {@link LocalCassandraFactory#getFatalErrorPatterns()} attribute.
+	 *
+	 * @param fatalErrorPatterns the regular expressions
+	 * @since 2.0.4
+	 */
+	public void setFatalErrorPatterns(Iterable<String> fatalErrorPatterns) {
+		this.fatalErrorPatterns.clear();
+		for (String fatalErrorPattern : fatalErrorPatterns) {
+			this.fatalErrorPatterns.add(fatalErrorPattern);
+		}
+	}
+
 	/**
 	 * Marks {@code Cassandra} threads as daemons.
 	 *
@@ -581,6 +685,125 @@ public class LocalCassandraFactory implements CassandraFactory {
 		this.daemon = daemon;
 	}
 
+	/**
+	 * Launches {@code java} directly, without {@code bin/cassandra} scripts. The classpath, JVM options (including
+	 * {@code jvm.options} files) and the main class are built by this factory, hence no shell helper processes are
+	 * forked and the tracked pid is always the pid of the {@code Cassandra} JVM.
+	 * <p>
+	 * {@code -R} option and environment variables used by {@code cassandra-env.sh} (e.g. {@code MAX_HEAP_SIZE}) are
+	 * not taken into account, use {@link #getJvmOptions() JVM options} instead.
+	 * <p>
+	 * Supported only since Apache Cassandra {@code 3.0}. Older versions keep their JVM options (including the JMX
+	 * ones) only in {@code cassandra-env.sh}, so {@link #create()} throws {@link IllegalStateException} for them.
+	 *
+	 * @return The value of the {@code directLaunch} attribute
+	 * @since 2.0.4
+	 */
+	public boolean isDirectLaunch() {
+		return this.directLaunch;
+	}
+
+	/**
+	 * Initializes the value for the {@link LocalCassandraFactory#isDirectLaunch()} attribute.
+	 *
+	 * @param directLaunch The value for directLaunch
+	 * @since 2.0.4
+	 */
+	public void setDirectLaunch(boolean directLaunch) {
+		this.directLaunch = directLaunch;
+	}
+
+	/**
+	 * The way how {@code Cassandra} should be stopped. Defaults to {@link StopMode#GRACEFUL}.
+	 *
+	 * @return The value of the {@code stopMode} attribute
+	 * @since 2.0.4
+	 */
+	public StopMode getStopMode() {
+		return this.stopMode;
+	}
+
+	/**
+	 * Initializes the value for the {@link LocalCassandraFactory#getStopMode()} attribute.
+	 *
+	 * @param stopMode The value for stopMode
+	 * @since 2.0.4
+	 */
+	public void setStopMode(StopMode stopMode) {
+		this.stopMode = Objects.requireNonNull(stopMode, "Stop Mode must not be null");
+	}
+
+	/**
+	 * The heap, memtable and cache sizing of {@code Cassandra}. Heap sizes are passed as JVM options and take
+	 * precedence over {@code cassandra-env.sh} and {@code jvm.options}. Memtable and cache sizes are written into the
+	 * {@code cassandra.yaml} (requires {@code org.yaml:snakeyaml}).
+	 *
+	 * @return The value of the {@code memoryPolicy} attribute
+	 * @since 2.0.4
+	 */
+	@Nullable
+	public MemoryPolicy getMemoryPolicy() {
+		return this.memoryPolicy;
+	}
+
+	/**
+	 * Initializes the value for the {@link LocalCassandraFactory#getMemoryPolicy()} attribute.
+	 *
+	 * @param memoryPolicy The value for memoryPolicy
+	 * @since 2.0.4
+	 */
+	public void setMemoryPolicy(@Nullable MemoryPolicy memoryPolicy) {
+		this.memoryPolicy = memoryPolicy;
+	}
+
+	/**
+	 * Whether an Application Class Data Sharing ({@code AppCDS}) archive should be used to shorten the JVM boot and to
+	 * share the class metadata between instances. The archive is created by the first runs and stored in the
+	 * {@link #getArtifactDirectory() artifact directory}, it is rebuilt automatically whenever the JDK or the jars
+	 * change. Works only with {@link #isDirectLaunch() direct launch} and Java 11+, otherwise ignored.
+	 *
+	 * @return The value of the {@code classDataSharing} attribute
+	 * @since 2.0.4
+	 */
+	public boolean isClassDataSharing() {
+		return this.classDataSharing;
+	}
+
+	/**
+	 * Initializes the value for the {@link LocalCassandraFactory#isClassDataSharing()} attribute.
+	 *
+	 * @param classDataSharing The value for classDataSharing
+	 * @since 2.0.4
+	 */
+	public void setClassDataSharing(boolean classDataSharing) {
+		this.classDataSharing = classDataSharing;
+	}
+
+	/**
+	 * The CPU budget of {@code Cassandra}. The number of processors is passed as a JVM option
+	 * ({@code -XX:ActiveProcessorCount} requires Java 8u191 or 10+, it is skipped for older JVMs), thread pools are
+	 * written into the {@code cassandra.yaml} (requires {@code org.yaml:snakeyaml}). Affinity and niceness are
+	 * applied only on Linux, if {@code taskset}, {@code nice} and {@code ionice} are found on the {@code PATH}.
+	 *
+	 * @return The value of the {@code cpuPolicy} attribute
+	 * @since 2.0.4
+	 */
+	@Nullable
+	public CpuPolicy getCpuPolicy() {
+		return this.cpuPolicy;
+	}
+
+	/**
+	 * Initializes the value for the {@link LocalCassandraFactory#getCpuPolicy()} attribute. The number of processors
+	 * is applied only if the {@code Cassandra} JVM is Java 8u191 or 10+.
+	 *
+	 * @param cpuPolicy The value for cpuPolicy
+	 * @since 2.0.4
+	 */
+	public void setCpuPolicy(@Nullable CpuPolicy cpuPolicy) {
+		this.cpuPolicy = cpuPolicy;
+	}
+
 	@Override
 	public Cassandra create() {
 		Version version = getVersion();
@@ -592,7 +815,10 @@ public class LocalCassandraFactory implements CassandraFactory {
 			workingDirectory = getTempDir()
 					.resolve(String.format("embedded-cassandra/%s/%s", version, UUID.randomUUID()));
 		}
-		CassandraNode node = createCassandraNode(workingDirectory, version);
+		ProcessRegistry processRegistry = new ProcessRegistry(getTempDir().resolve(ProcessRegistry.DIRECTORY),
+				isDeleteWorkingDirectory());
+		processRegistry.reap();
+		CassandraNode node = createCassandraNode(workingDirectory, version, processRegistry);
 		CassandraDatabase database = new LocalCassandraDatabase(workingDirectory, isDeleteWorkingDirectory(),
 				getMergedWorkingDirectoryCustomizers(version), node);
 		return new LocalCassandra(isRegisterShutdownHook(), isDaemon(), database);
@@ -603,13 +829,8 @@ public class LocalCassandraFactory implements CassandraFactory {
 		if (artifactFactory == null) {
 			artifactFactory = new RemoteArtifactFactory();
 		}
-		Path artifactDirectory = getArtifactDirectory();
-		if (artifactDirectory == null) {
-			artifactDirectory = getTempDir()
-					.resolve(String.format("embedded-cassandra/%1$s/apache-cassandra-%1$s", version));
-		}
 		List<WorkingDirectoryCustomizer> customizers = new ArrayList<>();
-		customizers.add(new ArtifactWorkingDirectoryCustomizer(artifactFactory, artifactDirectory));
+		customizers.add(new ArtifactWorkingDirectoryCustomizer(artifactFactory, getArtifactDirectory(version)));
 		Optional.ofNullable(getRackFile()).map(RackFileCustomizer::new).ifPresent(customizers::add);
 		Optional.ofNullable(getTopologyFile()).map(TopologyFileCustomizer::new).ifPresent(customizers::add);
 		Optional.ofNullable(getLoggingFile()).map(LoggingFileCustomizer::new).ifPresent(customizers::add);
@@ -620,6 +841,14 @@ public class LocalCassandraFactory implements CassandraFactory {
 				customizers.add(new ConfigurationFileRandomPortCustomizer(RandomPortSupplier.INSTANCE));
 			}
 		}
+		if (ClassUtils.isPresent(SNAKEYAML_YAML_CLASS, getClass().getClassLoader())) {
+			Map<String, Object> properties = new LinkedHashMap<>();
+			Optional.ofNullable(getMemoryPolicy()).map(MemoryPolicy::getProperties).ifPresent(properties::putAll);
+			Optional.ofNullable(getCpuPolicy()).map(CpuPolicy::getProperties).ifPresent(properties::putAll);
+			if (!properties.isEmpty()) {
+				customizers.add(new ConfigurationPropertiesCustomizer(properties));
+			}
+		}
 		if (!SystemUtils.isWindows()) {
 			customizers.add(new CassandraFileExecutableCustomizer());
 		}
@@ -627,7 +856,16 @@ public class LocalCassandraFactory implements CassandraFactory {
 		return customizers;
 	}
 
-	private CassandraNode createCassandraNode(Path workingDirectory, Version version) {
+	private Path getArtifactDirectory(Version version) {
+		Path artifactDirectory = getArtifactDirectory();
+		if (artifactDirectory == null) {
+			return getTempDir().resolve(String.format("embedded-cassandra/%1$s/apache-cassandra-%1$s", version));
+		}
+		return artifactDirectory;
+	}
+
+	private CassandraNode createCassandraNode(Path workingDirectory, Version version,
+			ProcessRegistry processRegistry) {
 		List<String> jvmOptions = new ArrayList<>(getJvmOptions());
 		if (getPort() != null) {
 			jvmOptions.add(JvmParameters.NATIVE_TRANSPORT_PORT + JvmParameters.PROPERTY_SEPARATOR + getPort());
@@ -644,17 +882,49 @@ public class LocalCassandraFactory implements CassandraFactory {
 		if (getJmxLocalPort() != null) {
 			jvmOptions.add(JvmParameters.JMX_LOCAL_PORT + JvmParameters.PROPERTY_SEPARATOR + getJmxLocalPort());
 		}
+		MemoryPolicy memoryPolicy = getMemoryPolicy();
+		if (memoryPolicy != null) {
+			jvmOptions.add(String.format("-Xms%dM", memoryPolicy.getMaxHeapSize()));
+			jvmOptions.add(String.format("-Xmx%dM", memoryPolicy.getMaxHeapSize()));
+			if (!jvmOptions.contains("-XX:+UseG1GC")) {
+				jvmOptions.add(String.format("-Xmn%dM", memoryPolicy.getHeapNewSize()));
+			}
+		}
+		CpuPolicy cpuPolicy = getCpuPolicy();
+		List<String> launcher = new ArrayList<>();
+		if (cpuPolicy != null) {
+			jvmOptions.addAll(cpuPolicy.getJvmOptions(JavaUtils.getVersion(getJavaHome())));
+			launcher.addAll(cpuPolicy.getLauncher());
+		}
 		JvmParameters jvmParameters = new JvmParameters(new JvmOptions(jvmOptions), RandomPortSupplier.INSTANCE);
 		Duration timeout = getStartupTimeout();
 		if (timeout == null || timeout.getSeconds() <= 0) {
 			timeout = Duration.ofMinutes(1);
 		}
+		List<Pattern> fatalErrorPatterns = new ArrayList<>();
+		for (String fatalErrorPattern : getFatalErrorPatterns()) {
+			fatalErrorPatterns.add(Pattern.compile(fatalErrorPattern));
+		}
+		StopMode stopMode = getStopMode();
+		boolean forceStop = stopMode == StopMode.FORCIBLE
+				|| (stopMode == StopMode.AUTO && isDeleteWorkingDirectory());
+		if (isDirectLaunch()) {
+			if (version.getMajor() < 3) {
+				throw new IllegalStateException(String.format("Direct launch is not supported by Apache Cassandra"
+						+ " '%s', JVM options of versions before 3.0 are defined only in 'cassandra-env.sh'."
+						+ " Please disable direct launch or use a newer version.", version));
+			}
+			ClassDataSharing classDataSharing = isClassDataSharing()
+					? new ClassDataSharing(getArtifactDirectory(version).resolve("cds")) : null;
+			return new JvmCassandraNode(workingDirectory, version, timeout, fatalErrorPatterns, forceStop,
+					isDaemon(), getJavaHome(), jvmParameters, processRegistry, classDataSharing, launcher);
+		}
 		if (SystemUtils.isWindows()) {
-			return new WindowsCassandraNode(workingDirectory, version, timeout, isDaemon(), getJavaHome(),
-					jvmParameters);
+			return new WindowsCassandraNode(workingDirectory, version, timeout, fatalErrorPatterns, forceStop,
+					isDaemon(), getJavaHome(), jvmParameters, processRegistry);
 		}
-		return new UnixCassandraNode(workingDirectory, version, timeout, isDaemon(), getJavaHome(),
-				jvmParameters, isAllowRoot());
+		return new UnixCassandraNode(workingDirectory, version, timeout, fatalErrorPatterns, forceStop,
+				isDaemon(), getJavaHome(), jvmParameters, processRegistry, isAllowRoot(), launcher);
 	}
 
 	private Path getTempDir() {
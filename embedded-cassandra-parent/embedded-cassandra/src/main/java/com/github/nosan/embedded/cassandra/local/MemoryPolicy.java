@@ -0,0 +1,230 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+
+/**
+ * Memory sizing of the {@code Cassandra} instance. Either explicit heap sizes ({@link #of(int, int)}) or an automatic
+ * budget, which is shared between the expected number of concurrent instances ({@link #auto(int)}). Memtable, file
+ * cache and key cache sizes are derived from the heap size, embedded instances hold little data, so that smaller
+ * memtables and caches leave headroom for other instances on the same host.
+ *
+ * @author Dmytro Nosan
+ * @see LocalCassandraFactory#setMemoryPolicy(MemoryPolicy)
+ * @since 2.0.4
+ */
+public final class MemoryPolicy {
+
+	private static final String OPERATING_SYSTEM_MX_BEAN_CLASS = "com.sun.management.OperatingSystemMXBean";
+
+	private static final long MB = 1024 * 1024;
+
+	private static final int MIN_HEAP_SIZE = 256;
+
+	private static final int MAX_HEAP_SIZE = 8192;
+
+	private static final String[] CGROUP_MEMORY_LIMITS = {"/sys/fs/cgroup/memory.max",
+			"/sys/fs/cgroup/memory/memory.limit_in_bytes"};
+
+	private final int maxHeapSize;
+
+	private final int heapNewSize;
+
+	private MemoryPolicy(int maxHeapSize, int heapNewSize) {
+		this.maxHeapSize = maxHeapSize;
+		this.heapNewSize = heapNewSize;
+	}
+
+	/**
+	 * Creates a {@link MemoryPolicy} with the explicit heap sizes.
+	 *
+	 * @param maxHeapSize the heap size in megabytes ({@code -Xms} and {@code -Xmx})
+	 * @param heapNewSize the new generation size in megabytes ({@code -Xmn})
+	 * @return a new policy
+	 */
+	public static MemoryPolicy of(int maxHeapSize, int heapNewSize) {
+		if (maxHeapSize <= 0) {
+			throw new IllegalArgumentException("Max Heap Size must be positive");
+		}
+		if (heapNewSize <= 0 || heapNewSize >= maxHeapSize) {
+			throw new IllegalArgumentException("Heap New Size must be positive and less than Max Heap Size");
+		}
+		return new MemoryPolicy(maxHeapSize, heapNewSize);
+	}
+
+	/**
+	 * Creates a {@link MemoryPolicy} which splits the available memory (the physical memory, or the {@code cgroup}
+	 * limit if it is lower) across the given number of concurrent instances.
+	 *
+	 * @param instances the expected number of concurrent instances
+	 * @return a new policy
+	 */
+	public static MemoryPolicy auto(int instances) {
+		return auto(getTotalMemory() / MB, Runtime.getRuntime().availableProcessors(), instances);
+	}
+
+	static MemoryPolicy auto(long memory, int cpus, int instances) {
+		if (instances <= 0) {
+			throw new IllegalArgumentException("Instances must be positive");
+		}
+		long budget = memory / instances;
+		int maxHeapSize = (int) Math.max(MIN_HEAP_SIZE, Math.min(budget / 2, MAX_HEAP_SIZE));
+		int heapNewSize = (int) Math.min(maxHeapSize / 4, 100L * Math.max(1, cpus / instances));
+		return new MemoryPolicy(maxHeapSize, heapNewSize);
+	}
+
+	/**
+	 * Returns the heap size in megabytes.
+	 *
+	 * @return the heap size
+	 */
+	public int getMaxHeapSize() {
+		return this.maxHeapSize;
+	}
+
+	/**
+	 * Returns the new generation size in megabytes.
+	 *
+	 * @return the new generation size
+	 */
+	public int getHeapNewSize() {
+		return this.heapNewSize;
+	}
+
+	/**
+	 * Returns the {@code memtable_heap_space_in_mb}.
+	 *
+	 * @return the memtable heap space
+	 */
+	public int getMemtableHeapSpace() {
+		return Math.max(1, this.maxHeapSize / 8);
+	}
+
+	/**
+	 * Returns the {@code memtable_offheap_space_in_mb}.
+	 *
+	 * @return the memtable off-heap space
+	 */
+	public int getMemtableOffheapSpace() {
+		return Math.max(1, this.maxHeapSize / 8);
+	}
+
+	/**
+	 * Returns the {@code file_cache_size_in_mb}.
+	 *
+	 * @return the file cache size
+	 */
+	public int getFileCacheSize() {
+		return Math.max(1, Math.min(512, this.maxHeapSize / 8));
+	}
+
+	/**
+	 * Returns the {@code key_cache_size_in_mb}.
+	 *
+	 * @return the key cache size
+	 */
+	public int getKeyCacheSize() {
+		return Math.max(1, Math.min(100, this.maxHeapSize / 20));
+	}
+
+	/**
+	 * Returns {@code cassandra.yaml} properties derived from this policy.
+	 *
+	 * @return the properties
+	 */
+	Map<String, Object> getProperties() {
+		Map<String, Object> properties = new LinkedHashMap<>();
+		properties.put("memtable_heap_space_in_mb", getMemtableHeapSpace());
+		properties.put("memtable_offheap_space_in_mb", getMemtableOffheapSpace());
+		properties.put("file_cache_size_in_mb", getFileCacheSize());
+		properties.put("key_cache_size_in_mb", getKeyCacheSize());
+		return properties;
+	}
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (other == null || getClass() != other.getClass()) {
+			return false;
+		}
+		MemoryPolicy that = (MemoryPolicy) other;
+		return this.maxHeapSize == that.maxHeapSize && this.heapNewSize == that.heapNewSize;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.maxHeapSize, this.heapNewSize);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MemoryPolicy [maxHeapSize=%dM, heapNewSize=%dM]", this.maxHeapSize, this.heapNewSize);
+	}
+
+	/**
+	 * Returns the total memory available for this host in bytes, taking the {@code cgroup} limit into account.
+	 *
+	 * @return the total memory
+	 */
+	static long getTotalMemory() {
+		long memory = getPhysicalMemory();
+		for (String limit : CGROUP_MEMORY_LIMITS) {
+			Path file = Paths.get(limit);
+			try {
+				if (Files.isReadable(file)) {
+					String value = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+					if (value.matches("\\d+")) {
+						memory = Math.min(memory, Long.parseLong(value));
+					}
+				}
+			}
+			catch (Exception ex) {
+				//ignore
+			}
+		}
+		return memory;
+	}
+
+	private static long getPhysicalMemory() {
+		OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+		for (String name : new String[]{"getTotalPhysicalMemorySize", "getTotalMemorySize"}) {
+			try {
+				Method method = Class.forName(OPERATING_SYSTEM_MX_BEAN_CLASS).getMethod(name);
+				return ((Number) method.invoke(bean)).longValue();
+			}
+			catch (Throwable ex) {
+				//ignore
+			}
+		}
+		return 2048 * MB;
+	}
+
+}
@@ -21,6 +21,7 @@ import java.util.Optional;
 import java.util.StringJoiner;
 
 import com.github.nosan.embedded.cassandra.Settings;
+import com.github.nosan.embedded.cassandra.StartupReport;
 import com.github.nosan.embedded.cassandra.Version;
 import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
 
@@ -55,6 +56,12 @@ class NodeSettings implements Settings {
 	@Nullable
 	private volatile Boolean transportStarted;
 
+	@Nullable
+	private volatile Integer jmxPort;
+
+	@Nullable
+	private volatile StartupReport startupReport;
+
 	NodeSettings(Version version) {
 		this.version = version;
 	}
@@ -104,6 +111,16 @@ class NodeSettings implements Settings {
 		return Optional.ofNullable(this.rpcPort);
 	}
 
+	@Override
+	public Optional<Integer> jmxPort() {
+		return Optional.ofNullable(this.jmxPort);
+	}
+
+	@Override
+	public Optional<StartupReport> startupReport() {
+		return Optional.ofNullable(this.startupReport);
+	}
+
 	@Override
 	public String toString() {
 		return new StringJoiner(", ", "[", "]")
@@ -112,6 +129,7 @@ class NodeSettings implements Settings {
 				.add("port=" + this.port)
 				.add("sslPort=" + this.sslPort)
 				.add("rpcPort=" + this.rpcPort)
+				.add("jmxPort=" + this.jmxPort)
 				.add("rpcTransportStarted=" + this.rpcTransportStarted)
 				.add("transportStarted=" + this.transportStarted)
 				.toString();
@@ -163,4 +181,12 @@ class NodeSettings implements Settings {
 		this.transportStarted = transportStarted;
 	}
 
+	void setJmxPort(@Nullable Integer jmxPort) {
+		this.jmxPort = jmxPort;
+	}
+
+	void setStartupReport(@Nullable StartupReport startupReport) {
+		this.startupReport = startupReport;
+	}
+
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import com.github.nosan.embedded.cassandra.Cassandra;
+import com.github.nosan.embedded.cassandra.CassandraException;
+
+/**
+ * {@link Cassandra} whose process can be suspended while it is idle and resumed later without losing its state. The
+ * {@code Cassandra} created by {@link LocalCassandraFactory} implements this interface:
+ * <pre>
+ * if (cassandra instanceof Pausable) {
+ * 	((Pausable) cassandra).pause();
+ * }</pre>
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+public interface Pausable {
+
+	/**
+	 * Suspends the running {@code Cassandra}. Calling this method on an already paused {@code Cassandra} has no
+	 * effect.
+	 *
+	 * @throws CassandraException if the {@code Cassandra} cannot be paused
+	 * @throws IllegalStateException if the {@code Cassandra} is not running
+	 * @throws UnsupportedOperationException if the platform does not support suspending a process
+	 */
+	void pause() throws CassandraException, IllegalStateException, UnsupportedOperationException;
+
+	/**
+	 * Resumes the paused {@code Cassandra}. Calling this method on a not paused {@code Cassandra} has no effect.
+	 *
+	 * @throws CassandraException if the {@code Cassandra} cannot be resumed
+	 * @throws IllegalStateException if the {@code Cassandra} is not running
+	 * @throws UnsupportedOperationException if the platform does not support suspending a process
+	 */
+	void resume() throws CassandraException, IllegalStateException, UnsupportedOperationException;
+
+}
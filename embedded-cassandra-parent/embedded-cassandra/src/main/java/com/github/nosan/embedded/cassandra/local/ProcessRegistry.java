@@ -0,0 +1,233 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of the {@code Cassandra} processes started by this library. Each started process is recorded together
+ * with the pid and the start time of the JVM that owns it. Processes whose owner JVM is gone (e.g. killed with {@code
+ * SIGKILL} so that no shutdown hook was run) can be {@link #reap() reaped} later by another JVM.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+class ProcessRegistry {
+
+	static final String DIRECTORY = "embedded-cassandra/processes";
+
+	private static final Logger log = LoggerFactory.getLogger(ProcessRegistry.class);
+
+	private static final Set<Path> reaped = ConcurrentHashMap.newKeySet();
+
+	private static final String PID = "pid";
+
+	private static final String START = "start";
+
+	private static final String OWNER_PID = "owner.pid";
+
+	private static final String OWNER_START = "owner.start";
+
+	private static final String WORKING_DIRECTORY = "working.directory";
+
+	private static final String DELETE_WORKING_DIRECTORY = "delete.working.directory";
+
+	private static final String SUFFIX = ".properties";
+
+	private final Path directory;
+
+	private final boolean deleteWorkingDirectory;
+
+	ProcessRegistry(Path directory, boolean deleteWorkingDirectory) {
+		this.directory = directory;
+		this.deleteWorkingDirectory = deleteWorkingDirectory;
+	}
+
+	/**
+	 * Records the given process.
+	 *
+	 * @param pid the pid of the {@code Cassandra} process
+	 * @param workingDirectory the working directory of the {@code Cassandra} process
+	 */
+	void register(long pid, Path workingDirectory) {
+		if (pid <= 0) {
+			return;
+		}
+		Properties properties = new Properties();
+		properties.setProperty(PID, Long.toString(pid));
+		properties.setProperty(START, Long.toString(System.currentTimeMillis()));
+		properties.setProperty(OWNER_PID, Long.toString(ProcessUtils.getPid()));
+		properties.setProperty(OWNER_START, Long.toString(ManagementFactory.getRuntimeMXBean().getStartTime()));
+		properties.setProperty(WORKING_DIRECTORY, workingDirectory.toAbsolutePath().toString());
+		properties.setProperty(DELETE_WORKING_DIRECTORY, Boolean.toString(this.deleteWorkingDirectory));
+		try {
+			Files.createDirectories(this.directory);
+			try (OutputStream os = Files.newOutputStream(getFile(pid))) {
+				properties.store(os, "Apache Cassandra Process");
+			}
+		}
+		catch (IOException ex) {
+			log.error(String.format("Can not register a process '%s'", pid), ex);
+		}
+	}
+
+	/**
+	 * Removes the given process from the registry.
+	 *
+	 * @param pid the pid of the {@code Cassandra} process
+	 */
+	void unregister(long pid) {
+		if (pid <= 0) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(getFile(pid));
+		}
+		catch (IOException ex) {
+			log.error(String.format("Can not unregister a process '%s'", pid), ex);
+		}
+	}
+
+	/**
+	 * Transfers the ownership of the process running within the given working directory to another process.
+	 *
+	 * @param workingDirectory the working directory of the {@code Cassandra} process
+	 * @param ownerPid the pid of the new owner
+	 * @param ownerStart the start time (in milliseconds since epoch) of the new owner
+	 * @return the pid of the {@code Cassandra} process, or {@code -1} if there is no such process
+	 * @throws IOException in the case of I/O errors
+	 */
+	long transfer(Path workingDirectory, long ownerPid, long ownerStart) throws IOException {
+		String directory = workingDirectory.toAbsolutePath().toString();
+		if (!Files.isDirectory(this.directory)) {
+			return -1;
+		}
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "*" + SUFFIX)) {
+			for (Path file : files) {
+				Properties properties = load(file);
+				if (directory.equals(properties.getProperty(WORKING_DIRECTORY))
+						&& ProcessUtils.getPid() == getLong(properties, OWNER_PID)) {
+					properties.setProperty(OWNER_PID, Long.toString(ownerPid));
+					properties.setProperty(OWNER_START, Long.toString(ownerStart));
+					try (OutputStream os = Files.newOutputStream(file)) {
+						properties.store(os, "Apache Cassandra Process");
+					}
+					return getLong(properties, PID);
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the registry file of the given process.
+	 *
+	 * @param pid the pid of the {@code Cassandra} process
+	 * @return the file
+	 */
+	Path getFile(long pid) {
+		return this.directory.resolve(pid + SUFFIX);
+	}
+
+	/**
+	 * Kills alive processes whose owner JVM is gone and reclaims their working directories. Reaping is done only once
+	 * per JVM for each registry directory. A process is killed only if both its owner is confirmed dead and its
+	 * start time has been verified, and it is removed from the registry only once it is gone. Processes whose state
+	 * cannot be verified (e.g. on Java 8) are left untouched.
+	 */
+	void reap() {
+		if (!reaped.add(this.directory.toAbsolutePath()) || !Files.isDirectory(this.directory)) {
+			return;
+		}
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "*" + SUFFIX)) {
+			for (Path file : files) {
+				reap(file);
+			}
+		}
+		catch (IOException ex) {
+			log.error(String.format("Can not reap orphaned processes from '%s'", this.directory), ex);
+		}
+	}
+
+	private void reap(Path file) {
+		try {
+			Properties properties = load(file);
+			long ownerPid = getLong(properties, OWNER_PID);
+			long ownerStart = getLong(properties, OWNER_START);
+			if (ProcessUtils.getLiveness(ownerPid, ownerStart) != ProcessUtils.Liveness.DEAD) {
+				return;
+			}
+			long pid = getLong(properties, PID);
+			long start = getLong(properties, START);
+			ProcessUtils.Liveness liveness = ProcessUtils.getLiveness(pid, start);
+			if (liveness == ProcessUtils.Liveness.UNKNOWN) {
+				log.debug("An orphaned Apache Cassandra Node '{}' can not be verified and is not killed.", pid);
+				return;
+			}
+			if (liveness == ProcessUtils.Liveness.ALIVE) {
+				log.warn("Kill an orphaned Apache Cassandra Node '{}'. The owner JVM '{}' is gone.", pid, ownerPid);
+				ProcessUtils.kill(pid);
+				for (int i = 0; i < 50 && ProcessUtils.isAlive(pid, start); i++) {
+					Thread.sleep(100);
+				}
+				if (ProcessUtils.isAlive(pid, start)) {
+					log.warn("An orphaned Apache Cassandra Node '{}' has not been killed.", pid);
+					return;
+				}
+			}
+			String workingDirectory = properties.getProperty(WORKING_DIRECTORY);
+			if (workingDirectory != null && Boolean.parseBoolean(properties.getProperty(DELETE_WORKING_DIRECTORY))
+					&& FileUtils.delete(Paths.get(workingDirectory))) {
+				log.info("The working directory '{}' was deleted.", workingDirectory);
+			}
+			Files.deleteIfExists(file);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		catch (Exception ex) {
+			log.error(String.format("Can not reap an orphaned process from '%s'", file), ex);
+		}
+	}
+
+	private static Properties load(Path file) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream is = Files.newInputStream(file)) {
+			properties.load(is);
+		}
+		return properties;
+	}
+
+	private static long getLong(Properties properties, String name) {
+		String value = properties.getProperty(name);
+		return (value != null) ? Long.parseLong(value.trim()) : -1;
+	}
+
+}
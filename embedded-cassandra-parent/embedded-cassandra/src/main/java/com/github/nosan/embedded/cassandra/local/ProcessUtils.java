@@ -19,18 +19,27 @@ package com.github.nosan.embedded.cassandra.local;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+import com.github.nosan.embedded.cassandra.util.MDCThreadFactory;
 import com.github.nosan.embedded.cassandra.util.StringUtils;
+import com.github.nosan.embedded.cassandra.util.SystemUtils;
 
 /**
  * Utility class for dealing with a {@link Process}.
@@ -42,18 +51,156 @@ abstract class ProcessUtils {
 
 	private static final Logger log = LoggerFactory.getLogger(ProcessUtils.class);
 
+	private static final ThreadFactory THREAD_FACTORY = new MDCThreadFactory("process");
+
 	@Nullable
 	private static final Method PID_METHOD;
 
+	@Nullable
+	private static final Method DESCENDANTS_METHOD;
+
+	@Nullable
+	private static final Method DESTROY_METHOD;
+
+	@Nullable
+	private static final Method DESTROY_FORCIBLY_METHOD;
+
+	@Nullable
+	private static final Method OF_METHOD;
+
+	@Nullable
+	private static final Method IS_ALIVE_METHOD;
+
+	@Nullable
+	private static final Method HANDLE_DESCENDANTS_METHOD;
+
+	@Nullable
+	private static final Method HANDLE_PID_METHOD;
+
+	@Nullable
+	private static final Method INFO_METHOD;
+
+	@Nullable
+	private static final Method START_INSTANT_METHOD;
+
+	private static final long START_TIME_TOLERANCE = 1000;
+
 	static {
-		Method method = null;
+		Class<?> processHandle = getClass("java.lang.ProcessHandle");
+		Class<?> processHandleInfo = getClass("java.lang.ProcessHandle$Info");
+		PID_METHOD = getMethod(Process.class, "pid");
+		DESCENDANTS_METHOD = getMethod(Process.class, "descendants");
+		DESTROY_METHOD = getMethod(processHandle, "destroy");
+		DESTROY_FORCIBLY_METHOD = getMethod(processHandle, "destroyForcibly");
+		OF_METHOD = getMethod(processHandle, "of", long.class);
+		IS_ALIVE_METHOD = getMethod(processHandle, "isAlive");
+		HANDLE_DESCENDANTS_METHOD = getMethod(processHandle, "descendants");
+		HANDLE_PID_METHOD = getMethod(processHandle, "pid");
+		INFO_METHOD = getMethod(processHandle, "info");
+		START_INSTANT_METHOD = getMethod(processHandleInfo, "startInstant");
+	}
+
+	/**
+	 * Returns the pid of the current JVM.
+	 *
+	 * @return the pid (or {@code -1})
+	 * @since 2.0.4
+	 */
+	static long getPid() {
 		try {
-			method = Process.class.getMethod("pid");
+			String name = ManagementFactory.getRuntimeMXBean().getName();
+			return Long.parseLong(name.substring(0, name.indexOf('@')));
 		}
 		catch (Throwable ex) {
-			//ignore
+			return -1;
 		}
-		PID_METHOD = method;
+	}
+
+	/**
+	 * Checks whether a process with the given pid is alive and has been started not later than the given time. The
+	 * start time protects against a pid that has been reused by another process.
+	 *
+	 * @param pid the pid
+	 * @param startedBefore the time (in milliseconds since epoch) the process must have been started before
+	 * @return {@code true} if the process is alive or its state cannot be determined, otherwise {@code false}
+	 * @see #getLiveness(long, long)
+	 * @since 2.0.4
+	 */
+	static boolean isAlive(long pid, long startedBefore) {
+		return getLiveness(pid, startedBefore) != Liveness.DEAD;
+	}
+
+	/**
+	 * Determines whether a process with the given pid is alive and has been started not later than the given time.
+	 * The process is {@link Liveness#ALIVE} only if its start time could be verified, that is, a reused pid is never
+	 * reported as alive. Without {@code ProcessHandle} (Java 8) or if the start time is not available, a running
+	 * process is {@link Liveness#UNKNOWN}.
+	 *
+	 * @param pid the pid
+	 * @param startedBefore the time (in milliseconds since epoch) the process must have been started before
+	 * @return the liveness of the process
+	 * @since 2.0.4
+	 */
+	static Liveness getLiveness(long pid, long startedBefore) {
+		if (pid <= 0) {
+			return Liveness.DEAD;
+		}
+		if (OF_METHOD != null && IS_ALIVE_METHOD != null) {
+			try {
+				Object handle = ((Optional<?>) OF_METHOD.invoke(null, pid)).orElse(null);
+				if (handle == null || !((Boolean) IS_ALIVE_METHOD.invoke(handle))) {
+					return Liveness.DEAD;
+				}
+				Instant start = getStartInstant(handle);
+				if (start == null) {
+					return Liveness.UNKNOWN;
+				}
+				return (start.toEpochMilli() <= startedBefore + START_TIME_TOLERANCE) ? Liveness.ALIVE
+						: Liveness.DEAD;
+			}
+			catch (Throwable ex) {
+				return Liveness.UNKNOWN;
+			}
+		}
+		if (SystemUtils.isWindows()) {
+			return Liveness.UNKNOWN;
+		}
+		// 1 means there is no such process, anything else can not be verified against the start time
+		return (runAndWait(new ProcessBuilder("kill", "-0", Long.toString(pid))) != 1) ? Liveness.UNKNOWN
+				: Liveness.DEAD;
+	}
+
+	/**
+	 * Kills the process (and its descendants if {@code ProcessHandle} is available) with the given pid.
+	 *
+	 * @param pid the pid
+	 * @since 2.0.4
+	 */
+	static void kill(long pid) {
+		if (pid <= 0) {
+			return;
+		}
+		if (OF_METHOD != null && HANDLE_DESCENDANTS_METHOD != null && DESTROY_FORCIBLY_METHOD != null) {
+			try {
+				Object handle = ((Optional<?>) OF_METHOD.invoke(null, pid)).orElse(null);
+				if (handle != null) {
+					List<Object> handles = new ArrayList<>();
+					handles.add(handle);
+					((Stream<?>) HANDLE_DESCENDANTS_METHOD.invoke(handle)).forEach(handles::add);
+					for (Object h : handles) {
+						DESTROY_FORCIBLY_METHOD.invoke(h);
+					}
+				}
+				return;
+			}
+			catch (Throwable ex) {
+				log.debug(String.format("Can not kill a process '%s'", pid), ex);
+			}
+		}
+		ProcessBuilder builder = SystemUtils.isWindows()
+				? new ProcessBuilder("taskkill", "/f", "/t", "/pid", Long.toString(pid))
+				: new ProcessBuilder("kill", "-SIGKILL", Long.toString(pid));
+		runAndWait(builder);
 	}
 
 	/**
@@ -97,6 +244,66 @@ abstract class ProcessUtils {
 		return -1;
 	}
 
+	/**
+	 * Sends a signal to the {@link Process} and its descendants (if {@code ProcessHandle} is available) without
+	 * spawning a new process.
+	 *
+	 * @param process a {@link Process}
+	 * @param forcibly {@code true} to send {@code SIGKILL}, otherwise {@code SIGTERM}
+	 * @since 2.0.4
+	 */
+	static void destroy(Process process, boolean forcibly) {
+		List<Object> descendants = getDescendants(process);
+		if (forcibly) {
+			process.destroyForcibly();
+		}
+		else {
+			process.destroy();
+		}
+		for (Object descendant : descendants) {
+			Method method = forcibly ? DESTROY_FORCIBLY_METHOD : DESTROY_METHOD;
+			try {
+				if (method != null) {
+					method.invoke(descendant);
+				}
+			}
+			catch (Throwable ex) {
+				log.debug(String.format("Can not destroy a process '%s'", descendant), ex);
+			}
+		}
+	}
+
+	/**
+	 * Sends a signal to the {@link Process} and its descendants (if {@code ProcessHandle} is available) via {@code
+	 * kill}. Not supported on Windows.
+	 *
+	 * @param process a {@link Process}
+	 * @param signal the name of the signal, e.g. {@code STOP}
+	 * @return the exit code of {@code kill}
+	 * @since 2.0.4
+	 */
+	static int signal(Process process, String signal) {
+		long pid = getPid(process);
+		if (pid <= 0) {
+			return -1;
+		}
+		List<String> command = new ArrayList<>();
+		command.add("kill");
+		command.add("-" + signal);
+		command.add(Long.toString(pid));
+		for (Object descendant : getDescendants(process)) {
+			try {
+				if (HANDLE_PID_METHOD != null) {
+					command.add(String.valueOf(HANDLE_PID_METHOD.invoke(descendant)));
+				}
+			}
+			catch (Throwable ex) {
+				log.debug(String.format("Can not get a pid of '%s'", descendant), ex);
+			}
+		}
+		return runAndWait(new ProcessBuilder(command));
+	}
+
 	/**
 	 * Read the process output and write it to the consumer.
 	 *
@@ -124,6 +331,65 @@ abstract class ProcessUtils {
 		}
 	}
 
+	private static List<Object> getDescendants(Process process) {
+		List<Object> descendants = new ArrayList<>();
+		if (DESCENDANTS_METHOD != null) {
+			try {
+				((Stream<?>) DESCENDANTS_METHOD.invoke(process)).forEach(descendants::add);
+			}
+			catch (Throwable ex) {
+				//ignore
+			}
+		}
+		return descendants;
+	}
+
+	private static int runAndWait(ProcessBuilder builder) {
+		try {
+			return new RunProcess(builder.redirectErrorStream(true)).runAndWait(THREAD_FACTORY, log::debug);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return -1;
+		}
+	}
+
+	@Nullable
+	private static Instant getStartInstant(Object handle) {
+		if (INFO_METHOD != null && START_INSTANT_METHOD != null) {
+			try {
+				return (Instant) ((Optional<?>) START_INSTANT_METHOD.invoke(INFO_METHOD.invoke(handle))).orElse(null);
+			}
+			catch (Throwable ex) {
+				//ignore
+			}
+		}
+		return null;
+	}
+
+	@Nullable
+	private static Class<?> getClass(String name) {
+		try {
+			return Class.forName(name);
+		}
+		catch (Throwable ex) {
+			return null;
+		}
+	}
+
+	@Nullable
+	private static Method getMethod(@Nullable Class<?> type, String name, Class<?>... parameterTypes) {
+		if (type == null) {
+			return null;
+		}
+		try {
+			return type.getMethod(name, parameterTypes);
+		}
+		catch (Throwable ex) {
+			return null;
+		}
+	}
+
 	@Nullable
 	private static String readline(BufferedReader reader) {
 		try {
@@ -134,4 +400,25 @@ abstract class ProcessUtils {
 		}
 	}
 
+	/**
+	 * The liveness of a process.
+	 *
+	 * @since 2.0.4
+	 */
+	enum Liveness {
+		/**
+		 * The process is alive and its start time has been verified.
+		 */
+		ALIVE,
+		/**
+		 * The process is not running (or its pid has been reused by another process).
+		 */
+		DEAD,
+		/**
+		 * The process is running, but it is not known whether it is the expected one.
+		 */
+		UNKNOWN
+
+	}
+
 }
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.nosan.embedded.cassandra.Cassandra;
+import com.github.nosan.embedded.cassandra.CassandraException;
+import com.github.nosan.embedded.cassandra.CassandraFactory;
+import com.github.nosan.embedded.cassandra.CassandraInterruptedException;
+import com.github.nosan.embedded.cassandra.Settings;
+import com.github.nosan.embedded.cassandra.Version;
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+import com.github.nosan.embedded.cassandra.util.MDCThreadFactory;
+
+/**
+ * {@link CassandraFactory} that shares one running {@link Cassandra} between all identically configured {@link
+ * LocalCassandraFactory factories} within the JVM. Each {@link Cassandra#start() start} of the created {@code
+ * Cassandra} acquires a lease on the shared {@code Cassandra} and each {@link Cassandra#stop() stop} releases it. The
+ * shared {@code Cassandra} is started with the first lease and stopped when the last lease is released (or the JVM
+ * exits, if {@link LocalCassandraFactory#isRegisterShutdownHook()} is enabled).
+ * <p>
+ * The configuration of the {@link LocalCassandraFactory} is captured when {@link #create()} is called. Two
+ * configurations are identical if all their properties are equal, {@link WorkingDirectoryCustomizer customizers} and
+ * {@link com.github.nosan.embedded.cassandra.local.artifact.ArtifactFactory artifact factories} are compared by
+ * {@code equals}.
+ * <p>
+ * Can be used with {@code TestCassandra} and its JUnit/TestNG integrations, note that their CQL scripts are
+ * executed against the shared {@code Cassandra} for every lease.
+ * <p>
+ * With an {@link #setIdleTimeout(Duration) idle timeout} the shared {@code Cassandra} is kept warm when the last
+ * lease is released: it is paused once it has had no lease for the given time and resumed by the next lease.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+public class SharedCassandraFactory implements CassandraFactory {
+
+	private static final Logger log = LoggerFactory.getLogger(SharedCassandraFactory.class);
+
+	private static final Map<List<Object>, SharedCassandra> registry = new HashMap<>();
+
+	private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+			new MDCThreadFactory("shared-cassandra-idle"));
+
+	private final LocalCassandraFactory factory;
+
+	@Nullable
+	private Duration idleTimeout;
+
+	/**
+	 * Creates a {@link SharedCassandraFactory}.
+	 *
+	 * @param factory the factory to create the shared {@code Cassandra}
+	 */
+	public SharedCassandraFactory(LocalCassandraFactory factory) {
+		this.factory = Objects.requireNonNull(factory, "Factory must not be null");
+	}
+
+	/**
+	 * The time the shared {@code Cassandra} may stay without any lease before it is paused.
+	 *
+	 * @return the idle timeout, or {@code null} if the shared {@code Cassandra} is stopped with the last lease
+	 */
+	@Nullable
+	public Duration getIdleTimeout() {
+		return this.idleTimeout;
+	}
+
+	/**
+	 * Sets the time the shared {@code Cassandra} may stay without any lease before its process is suspended ({@code
+	 * SIGSTOP}, Unix only). The suspended process does not burn CPU on compaction, gossip and GC, and it is resumed
+	 * ({@code SIGCONT}) when the next lease is acquired. If set, the shared {@code Cassandra} is not stopped with the
+	 * last lease but when the JVM exits, so {@link LocalCassandraFactory#isRegisterShutdownHook()} should be enabled.
+	 * The timeout of the factory that has created the shared {@code Cassandra} is used.
+	 *
+	 * @param idleTimeout the idle timeout, or {@code null} if the shared {@code Cassandra} should be stopped with the
+	 * last lease
+	 */
+	public void setIdleTimeout(@Nullable Duration idleTimeout) {
+		this.idleTimeout = idleTimeout;
+	}
+
+	@Override
+	public Cassandra create() {
+		List<Object> key = getKey(this.factory);
+		Duration idleTimeout = this.idleTimeout;
+		SharedCassandra cassandra;
+		synchronized (registry) {
+			cassandra = registry.computeIfAbsent(key, k -> new SharedCassandra(k, this.factory.create(),
+					idleTimeout));
+		}
+		return new LeasedCassandra(cassandra);
+	}
+
+	/**
+	 * Returns the key that identifies the effective configuration of the given factory.
+	 *
+	 * @param factory the factory
+	 * @return the key
+	 */
+	static List<Object> getKey(LocalCassandraFactory factory) {
+		return Arrays.asList(factory.getVersion(), factory.getArtifactFactory(), factory.getArtifactDirectory(),
+				factory.getWorkingDirectory(), factory.getJavaHome(), toString(factory.getConfigurationFile()),
+				toString(factory.getLoggingFile()), toString(factory.getRackFile()),
+				toString(factory.getTopologyFile()), factory.getPort(), factory.getRpcPort(),
+				factory.getStoragePort(), factory.getSslStoragePort(), factory.getJmxLocalPort(),
+				new ArrayList<>(factory.getJvmOptions()), new ArrayList<>(factory.getWorkingDirectoryCustomizers()),
+				new ArrayList<>(factory.getFatalErrorPatterns()), factory.getStartupTimeout(),
+				factory.isAllowRoot(), factory.isRegisterShutdownHook(), factory.isDeleteWorkingDirectory(),
+				factory.isDaemon(), factory.isDirectLaunch(), factory.getStopMode(), factory.getMemoryPolicy(),
+				factory.isClassDataSharing(), factory.getCpuPolicy());
+	}
+
+	@Nullable
+	private static String toString(@Nullable URL url) {
+		return (url != null) ? url.toString() : null;
+	}
+
+	/**
+	 * The shared {@link Cassandra} and its leases.
+	 */
+	private static final class SharedCassandra {
+
+		private final List<Object> key;
+
+		private final Cassandra cassandra;
+
+		@Nullable
+		private final Duration idleTimeout;
+
+		private int leases;
+
+		private boolean paused;
+
+		@Nullable
+		private ScheduledFuture<?> pause;
+
+		SharedCassandra(List<Object> key, Cassandra cassandra, @Nullable Duration idleTimeout) {
+			this.key = key;
+			this.cassandra = cassandra;
+			this.idleTimeout = idleTimeout;
+		}
+
+		synchronized void acquire() throws CassandraException {
+			if (this.leases == 0) {
+				ScheduledFuture<?> pause = this.pause;
+				if (pause != null) {
+					pause.cancel(false);
+					this.pause = null;
+				}
+				if (this.paused) {
+					((Pausable) this.cassandra).resume();
+					this.paused = false;
+				}
+				synchronized (registry) {
+					registry.putIfAbsent(this.key, this);
+				}
+				this.cassandra.start();
+			}
+			this.leases++;
+		}
+
+		synchronized void release() throws CassandraException {
+			this.leases--;
+			if (this.leases == 0) {
+				Duration idleTimeout = this.idleTimeout;
+				if (idleTimeout != null) {
+					if (this.cassandra instanceof Pausable) {
+						this.pause = scheduler.schedule(this::pauseIfIdle, idleTimeout.toNanos(),
+								TimeUnit.NANOSECONDS);
+					}
+					return;
+				}
+				synchronized (registry) {
+					registry.remove(this.key, this);
+				}
+				this.cassandra.stop();
+			}
+		}
+
+		synchronized int getLeases() {
+			return this.leases;
+		}
+
+		synchronized boolean isPaused() {
+			return this.paused;
+		}
+
+		private synchronized void pauseIfIdle() {
+			if (this.leases == 0 && !this.paused) {
+				try {
+					((Pausable) this.cassandra).pause();
+					this.paused = true;
+				}
+				catch (Exception ex) {
+					log.warn(String.format("Unable to pause idle %s", this.cassandra), ex);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * The {@link Cassandra} that holds a lease on the {@link SharedCassandra}.
+	 */
+	private static final class LeasedCassandra implements Cassandra {
+
+		private final SharedCassandra shared;
+
+		private volatile State state = State.NEW;
+
+		LeasedCassandra(SharedCassandra shared) {
+			this.shared = shared;
+		}
+
+		@Override
+		public synchronized void start() throws CassandraException {
+			if (this.state == State.STARTED) {
+				return;
+			}
+			this.state = State.STARTING;
+			try {
+				this.shared.acquire();
+				this.state = State.STARTED;
+			}
+			catch (CassandraInterruptedException ex) {
+				this.state = State.START_INTERRUPTED;
+				throw ex;
+			}
+			catch (RuntimeException ex) {
+				this.state = State.START_FAILED;
+				throw ex;
+			}
+		}
+
+		@Override
+		public synchronized void stop() throws CassandraException {
+			if (this.state != State.STARTED) {
+				return;
+			}
+			this.state = State.STOPPING;
+			try {
+				this.shared.release();
+				this.state = State.STOPPED;
+			}
+			catch (CassandraInterruptedException ex) {
+				this.state = State.STOP_INTERRUPTED;
+				throw ex;
+			}
+			catch (RuntimeException ex) {
+				this.state = State.STOP_FAILED;
+				throw ex;
+			}
+		}
+
+		@Override
+		public synchronized Settings getSettings() throws IllegalStateException {
+			if (this.state != State.STARTED) {
+				throw new IllegalStateException(String.format("%s is not running.", toString()));
+			}
+			return this.shared.cassandra.getSettings();
+		}
+
+		@Override
+		public Version getVersion() {
+			return this.shared.cassandra.getVersion();
+		}
+
+		@Override
+		public State getState() {
+			return this.state;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Shared Cassandra [leases=%d, paused=%s, state=%s, cassandra=%s]",
+					this.shared.getLeases(), this.shared.isPaused(), getState(), this.shared.cassandra);
+		}
+
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+import com.github.nosan.embedded.cassandra.StartupReport;
+
+/**
+ * Profiler that timestamps well-known {@code Cassandra} log milestones and builds a {@link StartupReport}.
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+class StartupProfiler implements Consumer<String> {
+
+	static final String LAUNCH = "launch";
+
+	static final String JVM = "jvm";
+
+	static final String SETTINGS = "settings";
+
+	static final String SYSTEM_KEYSPACE = "system keyspace";
+
+	static final String SCHEMA = "schema";
+
+	static final String COMMITLOG_REPLAY = "commitlog replay";
+
+	static final String GOSSIP = "gossip";
+
+	static final String TRANSPORT = "transport";
+
+	private static final Map<String, Pattern> MILESTONES;
+
+	static {
+		Map<String, Pattern> milestones = new LinkedHashMap<>();
+		milestones.put(SETTINGS, Pattern.compile("(?i).*((loading\\s*settings\\s*from)"
+				+ "|(configuration\\s*location)).*"));
+		milestones.put(SYSTEM_KEYSPACE, Pattern.compile("(?i).*initializing\\s*system\\.\\w+.*"));
+		milestones.put(SCHEMA, Pattern.compile("(?i).*initializing\\s*system_schema\\.\\w+.*"));
+		milestones.put(COMMITLOG_REPLAY, Pattern.compile("(?i).*((replaying\\s*.*commitlog)"
+				+ "|(no\\s*commitlog\\s*files\\s*found)).*"));
+		milestones.put(GOSSIP, Pattern.compile("(?i).*waiting\\s*for\\s*gossip\\s*to\\s*settle.*"));
+		milestones.put(TRANSPORT, Pattern.compile("(?i).*starting\\s*listening\\s*for\\s*cql\\s*clients.*"));
+		MILESTONES = milestones;
+	}
+
+	private final LongSupplier clock;
+
+	private final long start;
+
+	private final List<Milestone> milestones = new ArrayList<>();
+
+	StartupProfiler() {
+		this(System::nanoTime);
+	}
+
+	StartupProfiler(LongSupplier clock) {
+		this.clock = clock;
+		this.start = clock.getAsLong();
+	}
+
+	@Override
+	public synchronized void accept(String line) {
+		if (this.milestones.isEmpty()) {
+			this.milestones.add(new Milestone(JVM, this.clock.getAsLong()));
+		}
+		for (Map.Entry<String, Pattern> entry : MILESTONES.entrySet()) {
+			String name = entry.getKey();
+			if (!isReached(name) && entry.getValue().matcher(line).matches()) {
+				this.milestones.add(new Milestone(name, this.clock.getAsLong()));
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Completes the profiling and returns a report.
+	 *
+	 * @return the startup report
+	 */
+	synchronized StartupReport getReport() {
+		long end = this.clock.getAsLong();
+		List<StartupReport.Phase> phases = new ArrayList<>();
+		String name = LAUNCH;
+		long start = this.start;
+		for (Milestone milestone : this.milestones) {
+			phases.add(new StartupReport.Phase(name, Duration.ofNanos(milestone.time - start)));
+			name = milestone.name;
+			start = milestone.time;
+		}
+		phases.add(new StartupReport.Phase(name, Duration.ofNanos(end - start)));
+		return new StartupReport(phases);
+	}
+
+	private boolean isReached(String name) {
+		for (Milestone milestone : this.milestones) {
+			if (milestone.name.equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static final class Milestone {
+
+		private final String name;
+
+		private final long time;
+
+		Milestone(String name, long time) {
+			this.name = name;
+			this.time = time;
+		}
+
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+/**
+ * Enumeration of the modes that describes how {@code Cassandra} process should be stopped.
+ *
+ * @author Dmytro Nosan
+ * @see LocalCassandraFactory#getStopMode()
+ * @since 2.0.4
+ */
+public enum StopMode {
+	/**
+	 * Sends {@code SIGTERM} and waits for the graceful shutdown (memtables are flushed and commitlog is drained)
+	 * before escalating to {@code SIGKILL}.
+	 */
+	GRACEFUL,
+	/**
+	 * Sends {@code SIGKILL} right away. Suitable only if the data is never read back.
+	 */
+	FORCIBLE,
+	/**
+	 * {@link #FORCIBLE} if the working directory is deleted after stop, otherwise {@link #GRACEFUL}.
+	 *
+	 * @see LocalCassandraFactory#isDeleteWorkingDirectory()
+	 */
+	AUTO
+
+}
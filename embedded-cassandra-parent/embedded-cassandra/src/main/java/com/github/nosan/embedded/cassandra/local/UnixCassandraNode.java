@@ -19,7 +19,11 @@ package com.github.nosan.embedded.cassandra.local;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import com.github.nosan.embedded.cassandra.Version;
 import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
@@ -34,10 +38,22 @@ class UnixCassandraNode extends AbstractCassandraNode {
 
 	private final boolean allowRoot;
 
-	UnixCassandraNode(Path workingDirectory, Version version, Duration startupTimeout, boolean daemon,
-			@Nullable Path javaHome, JvmParameters jvmParameters, boolean allowRoot) {
-		super(workingDirectory, version, startupTimeout, daemon, javaHome, jvmParameters);
+	private final List<String> launcher;
+
+	UnixCassandraNode(Path workingDirectory, Version version, Duration startupTimeout,
+			List<Pattern> fatalErrorPatterns, boolean forceStop, boolean daemon, @Nullable Path javaHome,
+			JvmParameters jvmParameters, ProcessRegistry processRegistry, boolean allowRoot) {
+		this(workingDirectory, version, startupTimeout, fatalErrorPatterns, forceStop, daemon, javaHome,
+				jvmParameters, processRegistry, allowRoot, Collections.emptyList());
+	}
+
+	UnixCassandraNode(Path workingDirectory, Version version, Duration startupTimeout,
+			List<Pattern> fatalErrorPatterns, boolean forceStop, boolean daemon, @Nullable Path javaHome,
+			JvmParameters jvmParameters, ProcessRegistry processRegistry, boolean allowRoot, List<String> launcher) {
+		super(workingDirectory, version, startupTimeout, fatalErrorPatterns, forceStop, daemon, javaHome,
+				jvmParameters, processRegistry);
 		this.allowRoot = allowRoot;
+		this.launcher = Collections.unmodifiableList(new ArrayList<>(launcher));
 	}
 
 	@Override
@@ -50,27 +66,20 @@ class UnixCassandraNode extends AbstractCassandraNode {
 		if (this.allowRoot && (version.getMajor() > 3 || (version.getMajor() == 3 && version.getMinor() > 1))) {
 			builder.command().add("-R");
 		}
+		builder.command().addAll(0, this.launcher);
 		return new ProcessId(new RunProcess(builder).run());
 	}
 
 	@Override
-	int terminate(ProcessId processId) throws InterruptedException {
-		long pid = processId.getPid();
-		if (pid != -1) {
-			return new RunProcess(newBuilder().command("kill", Long.toString(pid)))
-					.runAndWait(this.threadFactory, this.log::info);
-		}
-		return -1;
+	int terminate(ProcessId processId) {
+		ProcessUtils.destroy(processId.getProcess(), false);
+		return 0;
 	}
 
 	@Override
-	int kill(ProcessId processId) throws InterruptedException {
-		long pid = processId.getPid();
-		if (pid != -1) {
-			return new RunProcess(newBuilder().command("kill", "-SIGKILL", Long.toString(pid)))
-					.runAndWait(this.threadFactory, this.log::info);
-		}
-		return -1;
+	int kill(ProcessId processId) {
+		ProcessUtils.destroy(processId.getProcess(), true);
+		return 0;
 	}
 
 	private ProcessBuilder newBuilder() {
@@ -20,8 +20,10 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 import com.github.nosan.embedded.cassandra.Version;
 import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
@@ -34,9 +36,11 @@ import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
  */
 class WindowsCassandraNode extends AbstractCassandraNode {
 
-	WindowsCassandraNode(Path workingDirectory, Version version, Duration startupTimeout, boolean daemon,
-			@Nullable Path javaHome, JvmParameters jvmParameters) {
-		super(workingDirectory, version, startupTimeout, daemon, javaHome, jvmParameters);
+	WindowsCassandraNode(Path workingDirectory, Version version, Duration startupTimeout,
+			List<Pattern> fatalErrorPatterns, boolean forceStop, boolean daemon, @Nullable Path javaHome,
+			JvmParameters jvmParameters, ProcessRegistry processRegistry) {
+		super(workingDirectory, version, startupTimeout, fatalErrorPatterns, forceStop, daemon, javaHome,
+				jvmParameters, processRegistry);
 	}
 
 	@Override
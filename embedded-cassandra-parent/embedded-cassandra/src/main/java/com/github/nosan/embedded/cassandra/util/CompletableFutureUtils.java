@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.util;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+
+/**
+ * Utility methods for dealing with {@link CompletableFuture}. <b>Only for internal purposes.</b>
+ *
+ * @author Dmytro Nosan
+ * @since 2.0.4
+ */
+public abstract class CompletableFutureUtils {
+
+	/**
+	 * Executes the given {@code callable} in a new thread created by the given {@code threadFactory}. Unlike
+	 * {@link CompletableFuture#supplyAsync(java.util.function.Supplier)}, {@link CompletableFuture#cancel(boolean)
+	 * cancellation} interrupts the running thread.
+	 *
+	 * @param callable the callable to execute
+	 * @param threadFactory the factory to create a new thread
+	 * @param <T> the result type
+	 * @return the future
+	 */
+	public static <T> CompletableFuture<T> supplyAsync(Callable<? extends T> callable, ThreadFactory threadFactory) {
+		Objects.requireNonNull(callable, "Callable must not be null");
+		Objects.requireNonNull(threadFactory, "Thread Factory must not be null");
+		InterruptibleFuture<T> future = new InterruptibleFuture<>();
+		Thread thread = threadFactory.newThread(() -> {
+			try {
+				future.complete(callable.call());
+			}
+			catch (Throwable ex) {
+				future.completeExceptionally(ex);
+			}
+		});
+		future.setThread(thread);
+		thread.start();
+		return future;
+	}
+
+	private static final class InterruptibleFuture<T> extends CompletableFuture<T> {
+
+		@Nullable
+		private volatile Thread thread;
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			Thread thread = this.thread;
+			if (cancelled && thread != null) {
+				thread.interrupt();
+			}
+			return cancelled;
+		}
+
+		void setThread(Thread thread) {
+			this.thread = thread;
+		}
+
+	}
+
+}
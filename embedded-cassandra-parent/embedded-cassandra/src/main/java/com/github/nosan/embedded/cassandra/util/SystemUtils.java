@@ -50,6 +50,17 @@ public abstract class SystemUtils {
 		return File.separatorChar == '\\';
 	}
 
+	/**
+	 * Returns {@code true} if this is Linux.
+	 *
+	 * @return {@code true} if this is Linux, otherwise {@code false}
+	 * @since 2.0.4
+	 */
+	public static boolean isLinux() {
+		String os = getValue("os.name");
+		return StringUtils.hasText(os) && os.toLowerCase(Locale.ENGLISH).contains("linux");
+	}
+
 	/**
 	 * Returns the temporary directory.
 	 *
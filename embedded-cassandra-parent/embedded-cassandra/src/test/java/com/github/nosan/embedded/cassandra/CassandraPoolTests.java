@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link CassandraPool}.
+ *
+ * @author Dmytro Nosan
+ */
+class CassandraPoolTests {
+
+	private final List<MockCassandra> created = new CopyOnWriteArrayList<>();
+
+	@Test
+	void shouldDestroyAndReplaceReleasedCassandra() {
+		CassandraPool pool = new CassandraPool(() -> create(false), 2);
+		assertThat(this.created).hasSize(2);
+		Cassandra cassandra = pool.acquire();
+		assertThat(cassandra.getState()).isEqualTo(Cassandra.State.STARTED);
+		pool.release(cassandra);
+		assertThat(this.created).hasSize(3);
+		pool.close();
+		assertThat(this.created).extracting(Cassandra::getState).containsOnly(Cassandra.State.STOPPED);
+	}
+
+	@Test
+	void shouldResetAndReturnReleasedCassandra() {
+		AtomicInteger resets = new AtomicInteger();
+		CassandraPool pool = new CassandraPool(() -> create(false), 1, cassandra -> resets.incrementAndGet());
+		Cassandra cassandra = pool.acquire();
+		pool.release(cassandra);
+		assertThat(resets).hasValue(1);
+		assertThat(pool.acquire()).isSameAs(cassandra);
+		assertThat(this.created).hasSize(1);
+		pool.close();
+		assertThat(cassandra.getState()).isEqualTo(Cassandra.State.STOPPED);
+	}
+
+	@Test
+	void shouldReplaceCassandraIfResetFails() {
+		CassandraPool pool = new CassandraPool(() -> create(false), 1, cassandra -> {
+			throw new IllegalStateException("Reset failed");
+		});
+		Cassandra cassandra = pool.acquire();
+		pool.release(cassandra);
+		assertThat(this.created).hasSize(2);
+		assertThat(pool.acquire()).isNotSameAs(cassandra);
+		pool.close();
+	}
+
+	@Test
+	void shouldReplaceCassandraIfStartFails() {
+		AtomicInteger count = new AtomicInteger();
+		CassandraPool pool = new CassandraPool(() -> create(count.getAndIncrement() == 0), 1);
+		assertThatThrownBy(pool::acquire).isInstanceOf(CassandraException.class).hasMessage("Start failed");
+		assertThat(pool.acquire().getState()).isEqualTo(Cassandra.State.STARTED);
+		assertThat(this.created).hasSize(2);
+		pool.close();
+	}
+
+	@Test
+	void shouldNotReleaseForeignCassandra() {
+		CassandraPool pool = new CassandraPool(() -> create(false), 1);
+		assertThatThrownBy(() -> pool.release(new MockCassandra(false))).isInstanceOf(IllegalArgumentException.class);
+		pool.close();
+	}
+
+	@Test
+	void shouldNotAcquireIfClosed() {
+		CassandraPool pool = new CassandraPool(() -> create(false), 1);
+		pool.close();
+		assertThatThrownBy(pool::acquire).isInstanceOf(IllegalStateException.class).hasMessage("Pool is closed");
+	}
+
+	private MockCassandra create(boolean fail) {
+		MockCassandra cassandra = new MockCassandra(fail);
+		this.created.add(cassandra);
+		return cassandra;
+	}
+
+	private static final class MockCassandra implements Cassandra {
+
+		private final boolean fail;
+
+		private volatile State state = State.NEW;
+
+		MockCassandra(boolean fail) {
+			this.fail = fail;
+		}
+
+		@Override
+		public synchronized void start() {
+			if (this.fail) {
+				this.state = State.START_FAILED;
+				throw new CassandraException("Start failed");
+			}
+			this.state = State.STARTED;
+		}
+
+		@Override
+		public synchronized void stop() {
+			this.state = State.STOPPED;
+		}
+
+		@Override
+		public Settings getSettings() {
+			return () -> Version.parse("3.11.4");
+		}
+
+		@Override
+		public Version getVersion() {
+			return Version.parse("3.11.4");
+		}
+
+		@Override
+		public State getState() {
+			return this.state;
+		}
+
+	}
+
+}
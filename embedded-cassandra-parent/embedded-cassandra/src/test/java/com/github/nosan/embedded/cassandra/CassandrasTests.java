@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link Cassandras}.
+ *
+ * @author Dmytro Nosan
+ */
+class CassandrasTests {
+
+	private final AtomicInteger running = new AtomicInteger();
+
+	private final AtomicInteger maxRunning = new AtomicInteger();
+
+	@Test
+	void shouldStartAndStopAll() {
+		List<MockCassandra> cassandras = create(6, -1);
+		Cassandras.startAll(cassandras, 2);
+		assertThat(cassandras).extracting(Cassandra::getState).containsOnly(Cassandra.State.STARTED);
+		assertThat(this.maxRunning).hasValue(2);
+		Cassandras.stopAll(cassandras, 3);
+		assertThat(cassandras).extracting(Cassandra::getState).containsOnly(Cassandra.State.STOPPED);
+	}
+
+	@Test
+	void shouldStopStartedIfAnyFails() {
+		List<MockCassandra> cassandras = create(4, 1);
+		assertThatThrownBy(() -> Cassandras.startAll(cassandras, 1)).isInstanceOf(CassandraException.class)
+				.hasMessage("Unable to start 1 of 4 Cassandra(s)").hasCauseInstanceOf(CassandraException.class);
+		assertThat(cassandras).extracting(Cassandra::getState).containsExactly(Cassandra.State.STOPPED,
+				Cassandra.State.START_FAILED, Cassandra.State.NEW, Cassandra.State.NEW);
+	}
+
+	@Test
+	void shouldAggregateFailures() {
+		List<MockCassandra> cassandras = new ArrayList<>(Arrays.asList(new MockCassandra(true),
+				new MockCassandra(true), new MockCassandra(false)));
+		assertThatThrownBy(() -> Cassandras.startAll(cassandras, 3)).isInstanceOf(CassandraException.class)
+				.hasMessage("Unable to start 2 of 3 Cassandra(s)")
+				.satisfies(ex -> assertThat(ex.getSuppressed()).hasSize(1));
+		assertThat(cassandras.get(2).getState()).isEqualTo(Cassandra.State.STOPPED);
+	}
+
+	@Test
+	void shouldNotAllowZeroParallelism() {
+		assertThatThrownBy(() -> Cassandras.startAll(create(1, -1), 0))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private List<MockCassandra> create(int count, int failed) {
+		List<MockCassandra> cassandras = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			cassandras.add(new MockCassandra(i == failed));
+		}
+		return cassandras;
+	}
+
+	private final class MockCassandra implements Cassandra {
+
+		private final boolean fail;
+
+		private volatile State state = State.NEW;
+
+		MockCassandra(boolean fail) {
+			this.fail = fail;
+		}
+
+		@Override
+		public synchronized void start() {
+			int running = CassandrasTests.this.running.incrementAndGet();
+			CassandrasTests.this.maxRunning.accumulateAndGet(running, Math::max);
+			try {
+				TimeUnit.MILLISECONDS.sleep(50);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			finally {
+				CassandrasTests.this.running.decrementAndGet();
+			}
+			if (this.fail) {
+				this.state = State.START_FAILED;
+				throw new CassandraException("Start failed");
+			}
+			this.state = State.STARTED;
+		}
+
+		@Override
+		public synchronized void stop() {
+			if (this.state == State.STARTED) {
+				this.state = State.STOPPED;
+			}
+		}
+
+		@Override
+		public Settings getSettings() {
+			return () -> Version.parse("3.11.4");
+		}
+
+		@Override
+		public Version getVersion() {
+			return Version.parse("3.11.4");
+		}
+
+		@Override
+		public State getState() {
+			return this.state;
+		}
+
+	}
+
+}
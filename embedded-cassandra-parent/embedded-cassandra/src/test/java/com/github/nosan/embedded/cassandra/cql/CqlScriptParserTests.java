@@ -16,7 +16,13 @@
 
 package com.github.nosan.embedded.cassandra.cql;
 
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
@@ -176,4 +182,63 @@ class CqlScriptParserTests {
 		assertThat(statements).isEmpty();
 	}
 
+	@Test
+	void shouldStreamStatementsReadInChunks() {
+		String script = "INSERT INTO test.roles (id) VALUES ($$a;b$$); /* comment; */ -- comment;\n"
+				+ "INSERT INTO test.roles (id) VALUES ('c;d'); //";
+		try (Stream<String> statements = CqlScriptParser.stream(new ChunkedReader(script))) {
+			assertThat(statements.collect(Collectors.toList())).containsExactly(
+					"INSERT INTO test.roles (id) VALUES ($$a;b$$)", "INSERT INTO test.roles (id) VALUES ('c;d')")
+					.isEqualTo(CqlScriptParser.parse(script));
+		}
+	}
+
+	@Test
+	void shouldStreamStatementsLazily() {
+		AtomicBoolean closed = new AtomicBoolean();
+		Reader reader = new StringReader("USE test; /* unterminated") {
+
+			@Override
+			public void close() {
+				closed.set(true);
+				super.close();
+			}
+		};
+		try (Stream<String> statements = CqlScriptParser.stream(reader)) {
+			Iterator<String> iterator = statements.iterator();
+			assertThat(iterator.next()).isEqualTo("USE test");
+			assertThatThrownBy(iterator::hasNext).isInstanceOf(IllegalArgumentException.class)
+					.hasMessage("Missing end block comment '*/'");
+		}
+		assertThat(closed).isTrue();
+	}
+
+	/**
+	 * {@link Reader} that returns at most one character per read.
+	 */
+	private static final class ChunkedReader extends Reader {
+
+		private final String source;
+
+		private int index;
+
+		ChunkedReader(String source) {
+			this.source = source;
+		}
+
+		@Override
+		public int read(char[] buffer, int offset, int length) {
+			if (this.index >= this.source.length()) {
+				return -1;
+			}
+			buffer[offset] = this.source.charAt(this.index++);
+			return 1;
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
 }
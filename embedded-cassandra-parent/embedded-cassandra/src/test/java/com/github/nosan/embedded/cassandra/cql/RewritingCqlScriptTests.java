@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.cql;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link RewritingCqlScript}.
+ *
+ * @author Dmytro Nosan
+ */
+class RewritingCqlScriptTests {
+
+	@Test
+	void shouldRewriteStatements() {
+		CqlScript script = CqlScript.rewrite(statement -> statement.toUpperCase(),
+				CqlScript.statements("select * from roles", "select * from users"));
+		assertThat(script.getStatements()).containsExactly("SELECT * FROM ROLES", "SELECT * FROM USERS");
+	}
+
+	@Test
+	void assertEqualsAndHashCode() {
+		CqlScript script = CqlScript.statements("CREATE TABLE roles (id text PRIMARY KEY)");
+		assertThat(new RewritingCqlScript(script, new SchemaRewriter()))
+				.isEqualTo(new RewritingCqlScript(script, new SchemaRewriter()))
+				.hasSameHashCodeAs(new RewritingCqlScript(script, new SchemaRewriter()))
+				.isNotEqualTo(new RewritingCqlScript(script, new SchemaRewriter().withGcGraceSeconds(null)));
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.cql;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SchemaRewriter}.
+ *
+ * @author Dmytro Nosan
+ */
+class SchemaRewriterTests {
+
+	private final SchemaRewriter rewriter = new SchemaRewriter();
+
+	@Test
+	void shouldRewriteKeyspace() {
+		assertThat(this.rewriter.rewrite("CREATE KEYSPACE IF NOT EXISTS test WITH replication = {'class': "
+				+ "'NetworkTopologyStrategy', 'dc1': 3}")).isEqualTo("CREATE KEYSPACE IF NOT EXISTS test WITH "
+				+ "replication = {'class': 'SimpleStrategy', 'replication_factor': 1} AND durable_writes = false");
+		assertThat(this.rewriter.rewrite("alter keyspace test with REPLICATION = {'class': 'SimpleStrategy', "
+				+ "'replication_factor': 3} and DURABLE_WRITES = true;")).isEqualTo("alter keyspace test with "
+				+ "REPLICATION = {'class': 'SimpleStrategy', 'replication_factor': 1} and DURABLE_WRITES = false");
+	}
+
+	@Test
+	void shouldRewriteTable() {
+		assertThat(this.rewriter.rewrite("CREATE TABLE test.roles (id text PRIMARY KEY, name text)"))
+				.isEqualTo("CREATE TABLE test.roles (id text PRIMARY KEY, name text) WITH "
+						+ "compression = {'enabled': false} AND gc_grace_seconds = 0");
+		assertThat(this.rewriter.rewrite("CREATE TABLE test.events (id int, ts timeuuid, PRIMARY KEY (id, ts))"
+				+ " WITH CLUSTERING ORDER BY (ts DESC) AND compression = {'class': 'LZ4Compressor'}"
+				+ " AND read_repair_chance = 0.1 AND gc_grace_seconds = 864000 AND comment = 'with = 1'"))
+				.isEqualTo("CREATE TABLE test.events (id int, ts timeuuid, PRIMARY KEY (id, ts))"
+						+ " WITH CLUSTERING ORDER BY (ts DESC) AND compression = {'enabled': false}"
+						+ " AND read_repair_chance = 0.0 AND gc_grace_seconds = 0 AND comment = 'with = 1'");
+		assertThat(this.rewriter.rewrite("ALTER TABLE test.roles WITH gc_grace_seconds = 3600"))
+				.isEqualTo("ALTER TABLE test.roles WITH gc_grace_seconds = 0");
+		assertThat(this.rewriter.rewrite("ALTER TABLE test.roles ADD email text"))
+				.isEqualTo("ALTER TABLE test.roles ADD email text");
+	}
+
+	@Test
+	void shouldApplyConfiguredRules() {
+		SchemaRewriter rewriter = this.rewriter.withReplicationFactor(null).withDurableWrites(null)
+				.withCompressionDisabled(false).withGcGraceSeconds(60);
+		assertThat(rewriter.rewrite("CREATE KEYSPACE test WITH replication = {'class': 'SimpleStrategy', "
+				+ "'replication_factor': 3}")).isEqualTo("CREATE KEYSPACE test WITH replication = {'class': "
+				+ "'SimpleStrategy', 'replication_factor': 3}");
+		assertThat(rewriter.rewrite("CREATE TABLE roles (id text PRIMARY KEY)"))
+				.isEqualTo("CREATE TABLE roles (id text PRIMARY KEY) WITH gc_grace_seconds = 60");
+		assertThat(rewriter).isEqualTo(new SchemaRewriter().withReplicationFactor(null).withDurableWrites(null)
+				.withCompressionDisabled(false).withGcGraceSeconds(60)).isNotEqualTo(this.rewriter);
+	}
+
+	@Test
+	void shouldNotRewriteOtherStatements() {
+		String statement = "INSERT INTO test.roles (id, name) VALUES ('1', 'CREATE TABLE x WITH gc_grace_seconds = 1')";
+		assertThat(this.rewriter.rewrite(statement)).isEqualTo(statement);
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.cql;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TemplateCqlScript}.
+ *
+ * @author Dmytro Nosan
+ */
+class TemplateCqlScriptTests {
+
+	@Test
+	void shouldReplacePlaceholders() {
+		CqlScript script = CqlScript.template(Collections.singletonMap("keyspace", "test_$1"),
+				CqlScript.statements("CREATE TABLE ${keyspace}.roles (id text PRIMARY KEY)",
+						"INSERT INTO ${keyspace}.roles (id) VALUES ('${id}')"));
+		assertThat(script.getStatements()).containsExactly("CREATE TABLE test_$1.roles (id text PRIMARY KEY)",
+				"INSERT INTO test_$1.roles (id) VALUES ('${id}')");
+	}
+
+	@Test
+	void assertEqualsAndHashCode() {
+		CqlScript script = CqlScript.statements("SELECT * FROM ${keyspace}.roles");
+		assertThat(new TemplateCqlScript(script, Collections.singletonMap("keyspace", "test")))
+				.isEqualTo(new TemplateCqlScript(script, Collections.singletonMap("keyspace", "test")))
+				.hasSameHashCodeAs(new TemplateCqlScript(script, Collections.singletonMap("keyspace", "test")))
+				.isNotEqualTo(new TemplateCqlScript(script, Collections.emptyMap()));
+	}
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.nosan.embedded.cassandra.Version;
+import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link AbstractCassandraNode}.
+ *
+ * @author Dmytro Nosan
+ */
+@DisabledOnOs(OS.WINDOWS)
+class AbstractCassandraNodeTests {
+
+	private static final String STARTED = "echo 'Not starting native transport'; echo 'Not starting RPC server'";
+
+	@Test
+	void shouldFailFastOnFatalError(@TempDir Path workingDirectory) {
+		FakeCassandraNode node = new FakeCassandraNode(workingDirectory,
+				Collections.singletonList(Pattern.compile("(?i).*exception\\s*encountered\\s*during\\s*startup.*")),
+				false, "echo 'ERROR Exception encountered during startup'; sleep 60");
+		long start = System.nanoTime();
+		assertThatThrownBy(node::start).isInstanceOf(IOException.class)
+				.hasMessageContaining("has failed with a fatal error")
+				.hasMessageContaining("Exception encountered during startup");
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(30));
+		assertThat(node.kills).isEqualTo(1);
+		assertThat(node.getProcess().isAlive()).isFalse();
+	}
+
+	@Test
+	void shouldIgnoreOutputWithoutFatalErrorPatterns(@TempDir Path workingDirectory) {
+		FakeCassandraNode node = new FakeCassandraNode(workingDirectory, Collections.emptyList(), false,
+				"echo 'ERROR Exception encountered during startup'");
+		assertThatThrownBy(node::start).isInstanceOf(IOException.class).hasMessageContaining("is not alive");
+		assertThat(node.kills).isZero();
+	}
+
+	@Test
+	void shouldTerminateIfNotForceStop(@TempDir Path workingDirectory) throws Exception {
+		FakeCassandraNode node = new FakeCassandraNode(workingDirectory, Collections.emptyList(), false,
+				STARTED + "; sleep 60");
+		node.start();
+		node.stop();
+		assertThat(node.terminates).isEqualTo(1);
+		assertThat(node.kills).isZero();
+		assertThat(node.getProcess().isAlive()).isFalse();
+	}
+
+	@Test
+	void shouldKillIfForceStop(@TempDir Path workingDirectory) throws Exception {
+		FakeCassandraNode node = new FakeCassandraNode(workingDirectory, Collections.emptyList(), true,
+				STARTED + "; sleep 60");
+		node.start();
+		node.stop();
+		assertThat(node.terminates).isZero();
+		assertThat(node.kills).isEqualTo(1);
+		assertThat(node.getProcess().isAlive()).isFalse();
+	}
+
+	@Test
+	void shouldKillIfNotTerminated(@TempDir Path workingDirectory) throws Exception {
+		FakeCassandraNode node = new FakeCassandraNode(workingDirectory, Collections.emptyList(), false,
+				"trap '' TERM; " + STARTED + "; sleep 60");
+		node.start();
+		node.stop();
+		assertThat(node.terminates).isEqualTo(1);
+		assertThat(node.kills).isEqualTo(1);
+		assertThat(node.getProcess().isAlive()).isFalse();
+	}
+
+	@Test
+	void shouldRestartWithSameParameters(@TempDir Path workingDirectory) throws Exception {
+		AtomicInteger ports = new AtomicInteger(7199);
+		JvmParameters jvmParameters = new JvmParameters(
+				new JvmOptions(Collections.singletonList(JvmParameters.JMX_LOCAL_PORT + "=0")), ports::incrementAndGet);
+		FakeCassandraNode node = new FakeCassandraNode(workingDirectory, Collections.emptyList(), true,
+				STARTED + "; sleep 60", jvmParameters);
+		node.start();
+		assertThat(node.getSettings().getJmxPort()).isEqualTo(7200);
+		node.restart();
+		assertThat(node.getSettings().getJmxPort()).isEqualTo(7200);
+		assertThat(node.environments).hasSize(2);
+		assertThat(node.environments.get(1)).isEqualTo(node.environments.get(0));
+		node.stop();
+	}
+
+	private static final class FakeCassandraNode extends AbstractCassandraNode {
+
+		private final String script;
+
+		private final List<Map<String, String>> environments = new CopyOnWriteArrayList<>();
+
+		private volatile int terminates;
+
+		private volatile int kills;
+
+		@Nullable
+		private volatile Process process;
+
+		FakeCassandraNode(Path workingDirectory, List<Pattern> fatalErrorPatterns, boolean forceStop,
+				String script) {
+			this(workingDirectory, fatalErrorPatterns, forceStop, script,
+					new JvmParameters(new JvmOptions(Collections.emptyList()), () -> 0));
+		}
+
+		FakeCassandraNode(Path workingDirectory, List<Pattern> fatalErrorPatterns, boolean forceStop,
+				String script, JvmParameters jvmParameters) {
+			super(workingDirectory, Version.parse("3.11.4"), Duration.ofMinutes(1), fatalErrorPatterns, forceStop,
+					true, null, jvmParameters, new ProcessRegistry(workingDirectory.resolve("processes"), false));
+			this.script = script;
+		}
+
+		@Override
+		ProcessId start(Map<String, String> environment) throws IOException {
+			this.environments.add(environment);
+			ProcessBuilder builder = new ProcessBuilder("sh", "-c", this.script)
+					.directory(this.workingDirectory.toFile()).redirectErrorStream(true);
+			builder.environment().putAll(environment);
+			Process process = new RunProcess(builder).run();
+			this.process = process;
+			return new ProcessId(process);
+		}
+
+		@Override
+		int terminate(ProcessId processId) {
+			this.terminates++;
+			ProcessUtils.destroy(processId.getProcess(), false);
+			return 0;
+		}
+
+		@Override
+		int kill(ProcessId processId) {
+			this.kills++;
+			ProcessUtils.destroy(processId.getProcess(), true);
+			return 0;
+		}
+
+		Process getProcess() {
+			Process process = this.process;
+			assertThat(process).isNotNull();
+			return process;
+		}
+
+	}
+
+}
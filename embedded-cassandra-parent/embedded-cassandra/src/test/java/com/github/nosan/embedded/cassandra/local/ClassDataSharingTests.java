@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ClassDataSharing}.
+ *
+ * @author Dmytro Nosan
+ */
+class ClassDataSharingTests {
+
+	private final Path javaHome = Paths.get(System.getProperty("java.home"));
+
+	@Test
+	void shouldRecordClassesAndDumpArchive(@TempDir Path temporaryFolder) throws IOException {
+		Path lib = Files.createDirectories(temporaryFolder.resolve("lib"));
+		createJar(lib.resolve("cassandra.jar"));
+		ClassDataSharing classDataSharing = new ClassDataSharing(temporaryFolder.resolve("cds"));
+		ClassDataSharing.Archive archive = classDataSharing.getArchive(this.javaHome, lib);
+		assertThat(archive.getClasspath()).hasSize(1).allMatch(Files::exists)
+				.allMatch(jar -> jar.startsWith(temporaryFolder.resolve("cds")));
+		assertThat(archive.getJvmOptions()).hasSize(1);
+		String option = archive.getJvmOptions().get(0);
+		assertThat(option).startsWith("-XX:DumpLoadedClassList=");
+		Path classList = Paths.get(option.substring(option.indexOf('=') + 1));
+		Files.write(classList, "java/lang/Object\njava/lang/Str".getBytes(StandardCharsets.UTF_8));
+		ClassDataSharing.Archive dumped = classDataSharing.getArchive(this.javaHome, lib);
+		assertThat(dumped.getClasspath()).isEqualTo(archive.getClasspath());
+		assertThat(dumped.getJvmOptions()).hasSize(2).contains("-Xshare:auto");
+		assertThat(classList).doesNotExist();
+		assertThat(archive.getClasspath().get(0).resolveSibling("../classes.jsa")).exists();
+	}
+
+	@Test
+	void shouldUseNewArchiveWhenJarsChange(@TempDir Path temporaryFolder) throws IOException {
+		Path lib = Files.createDirectories(temporaryFolder.resolve("lib"));
+		createJar(lib.resolve("cassandra.jar"));
+		ClassDataSharing classDataSharing = new ClassDataSharing(temporaryFolder.resolve("cds"));
+		ClassDataSharing.Archive archive = classDataSharing.getArchive(this.javaHome, lib);
+		createJar(lib.resolve("netty.jar"));
+		ClassDataSharing.Archive other = classDataSharing.getArchive(this.javaHome, lib);
+		assertThat(other.getClasspath()).hasSize(2);
+		assertThat(other.getClasspath().get(0).getParent()).isNotEqualTo(archive.getClasspath().get(0).getParent());
+	}
+
+	@Test
+	void shouldUseNewArchiveWhenJarContentChanges(@TempDir Path temporaryFolder) throws IOException {
+		Path lib = Files.createDirectories(temporaryFolder.resolve("lib"));
+		createJar(lib.resolve("cassandra.jar"), "A");
+		ClassDataSharing classDataSharing = new ClassDataSharing(temporaryFolder.resolve("cds"));
+		ClassDataSharing.Archive archive = classDataSharing.getArchive(this.javaHome, lib);
+		long size = Files.size(lib.resolve("cassandra.jar"));
+		createJar(lib.resolve("cassandra.jar"), "B");
+		assertThat(Files.size(lib.resolve("cassandra.jar"))).isEqualTo(size);
+		ClassDataSharing.Archive other = classDataSharing.getArchive(this.javaHome, lib);
+		assertThat(other.getClasspath().get(0).getParent()).isNotEqualTo(archive.getClasspath().get(0).getParent());
+	}
+
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void shouldNotRetryFailedDump(@TempDir Path temporaryFolder) throws IOException {
+		Path javaHome = Files.createDirectories(temporaryFolder.resolve("jdk"));
+		Path java = Files.createDirectories(javaHome.resolve("bin")).resolve("java");
+		Files.write(java, "#!/bin/sh\necho 'dump failed'\nexit 1\n".getBytes(StandardCharsets.UTF_8));
+		assertThat(java.toFile().setExecutable(true)).isTrue();
+		Path lib = Files.createDirectories(temporaryFolder.resolve("lib"));
+		createJar(lib.resolve("cassandra.jar"));
+		ClassDataSharing classDataSharing = new ClassDataSharing(temporaryFolder.resolve("cds"));
+		ClassDataSharing.Archive archive = classDataSharing.getArchive(javaHome, lib);
+		String option = archive.getJvmOptions().get(0);
+		Files.write(Paths.get(option.substring(option.indexOf('=') + 1)),
+				"java/lang/Object\n".getBytes(StandardCharsets.UTF_8));
+		ClassDataSharing.Archive failed = classDataSharing.getArchive(javaHome, lib);
+		assertThat(failed.getJvmOptions()).isEmpty();
+		assertThat(failed.getClasspath()).isEqualTo(archive.getClasspath()).allMatch(Files::exists);
+		Path entry = archive.getClasspath().get(0).getParent().getParent();
+		assertThat(entry.resolve("dump.failed")).exists();
+		assertThat(entry.resolve("dump.log")).hasContent("dump failed");
+		assertThat(classDataSharing.getArchive(javaHome, lib).getJvmOptions()).isEmpty();
+	}
+
+	private static void createJar(Path file) throws IOException {
+		try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(file), new Manifest())) {
+			jar.flush();
+		}
+	}
+
+	private static void createJar(Path file, String content) throws IOException {
+		try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(file), new Manifest())) {
+			jar.putNextEntry(new JarEntry("content.txt"));
+			jar.write(content.getBytes(StandardCharsets.UTF_8));
+			jar.closeEntry();
+		}
+	}
+
+}
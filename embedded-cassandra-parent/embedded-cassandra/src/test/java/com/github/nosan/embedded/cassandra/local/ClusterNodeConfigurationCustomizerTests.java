@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.yaml.snakeyaml.Yaml;
+
+import com.github.nosan.embedded.cassandra.Version;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ClusterNodeConfigurationCustomizer}.
+ *
+ * @author Dmytro Nosan
+ */
+class ClusterNodeConfigurationCustomizerTests {
+
+	private static final List<String> SEEDS = Arrays.asList("127.0.0.1", "127.0.0.2", "127.0.0.3", "127.0.0.4");
+
+	@Test
+	void shouldConfigureClusterNode(@TempDir Path temporaryFolder) throws Exception {
+		Path confDir = temporaryFolder.resolve("conf");
+		Path configurationFile = confDir.resolve("cassandra.yaml");
+		Files.createDirectories(confDir);
+		try (InputStream inputStream = getClass().getResourceAsStream("/cassandra-all-ports.yaml")) {
+			Files.copy(inputStream, configurationFile);
+		}
+		new ClusterNodeConfigurationCustomizer("127.0.0.2", SEEDS, 1, 4).customize(temporaryFolder,
+				Version.parse("3.11.4"));
+		try (InputStream inputStream = Files.newInputStream(configurationFile)) {
+			Map properties = new Yaml().loadAs(inputStream, Map.class);
+			assertThat(properties.get("listen_address")).isEqualTo("127.0.0.2");
+			assertThat(properties.get("rpc_address")).isEqualTo("127.0.0.2");
+			assertThat(properties.get("num_tokens")).isEqualTo(1);
+			assertThat(properties.get("initial_token")).isEqualTo("-4611686018427387904");
+			assertThat(properties.get("auto_bootstrap")).isEqualTo(false);
+			assertThat(properties.get("seed_provider").toString())
+					.contains("127.0.0.1,127.0.0.2,127.0.0.3,127.0.0.4");
+		}
+	}
+
+	@Test
+	void shouldDistributeMurmur3Tokens() {
+		assertThat(new ClusterNodeConfigurationCustomizer("127.0.0.1", SEEDS, 0, 4).getToken("null"))
+				.isEqualTo(Long.toString(Long.MIN_VALUE));
+		assertThat(new ClusterNodeConfigurationCustomizer("127.0.0.3", SEEDS, 2, 4).getToken("null"))
+				.isEqualTo("0");
+		assertThat(new ClusterNodeConfigurationCustomizer("127.0.0.4", SEEDS, 3, 4)
+				.getToken("org.apache.cassandra.dht.Murmur3Partitioner")).isEqualTo("4611686018427387904");
+	}
+
+	@Test
+	void shouldDistributeRandomTokens() {
+		assertThat(new ClusterNodeConfigurationCustomizer("127.0.0.2", SEEDS.subList(0, 2), 1, 2)
+				.getToken("org.apache.cassandra.dht.RandomPartitioner"))
+				.isEqualTo("85070591730234615865843651857942052864");
+	}
+
+}
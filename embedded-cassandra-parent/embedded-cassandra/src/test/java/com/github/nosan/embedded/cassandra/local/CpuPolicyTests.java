@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.nosan.embedded.cassandra.util.SystemUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link CpuPolicy}.
+ *
+ * @author Dmytro Nosan
+ */
+class CpuPolicyTests {
+
+	@Test
+	void shouldSplitProcessorsAcrossInstances() {
+		assertThat(CpuPolicy.auto(16, 4).getProcessors()).isEqualTo(4);
+		assertThat(CpuPolicy.auto(2, 4).getProcessors()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldScaleConcurrency() {
+		CpuPolicy policy = CpuPolicy.of(2);
+		assertThat(policy.getJvmOptions("11.0.2")).containsExactly("-XX:ActiveProcessorCount=2");
+		assertThat(policy.getProperties()).containsEntry("concurrent_reads", 16)
+				.containsEntry("concurrent_writes", 16).containsEntry("concurrent_compactors", 2)
+				.containsEntry("memtable_flush_writers", 2).containsEntry("native_transport_max_threads", 64);
+		assertThat(CpuPolicy.of(1).getProperties()).containsEntry("concurrent_compactors", 1)
+				.containsEntry("memtable_flush_writers", 1);
+	}
+
+	@Test
+	void shouldBuildLauncher() {
+		CpuPolicy policy = CpuPolicy.of(2).withAffinity("0-1").withNiceness(10);
+		assertThat(policy).isEqualTo(CpuPolicy.of(2).withNiceness(10).withAffinity("0-1"));
+		if (SystemUtils.isLinux()) {
+			assertThat(policy.getLauncher(command -> true)).containsExactly("taskset", "-c", "0-1", "nice", "-n",
+					"10", "ionice", "-c", "2", "-n", "6");
+		}
+		else {
+			assertThat(policy.getLauncher()).isEmpty();
+		}
+		assertThat(CpuPolicy.of(2).getLauncher()).isEmpty();
+	}
+
+	@Test
+	void shouldSkipMissingCommands() {
+		CpuPolicy policy = CpuPolicy.of(2).withAffinity("0-1").withNiceness(10);
+		if (SystemUtils.isLinux()) {
+			assertThat(policy.getLauncher(command -> !command.equals("ionice"))).containsExactly("taskset", "-c",
+					"0-1", "nice", "-n", "10");
+			assertThat(policy.getLauncher(command -> !command.equals("taskset"))).containsExactly("nice", "-n", "10",
+					"ionice", "-c", "2", "-n", "6");
+		}
+		assertThat(policy.getLauncher(command -> false)).isEmpty();
+	}
+
+	@Test
+	void shouldSkipActiveProcessorCountOnOldJava() {
+		CpuPolicy policy = CpuPolicy.of(2);
+		assertThat(policy.getJvmOptions("1.8.0_191")).containsExactly("-XX:ActiveProcessorCount=2");
+		assertThat(policy.getJvmOptions("17")).containsExactly("-XX:ActiveProcessorCount=2");
+		assertThat(policy.getJvmOptions("1.8.0_181")).isEmpty();
+		assertThat(policy.getJvmOptions("9.0.4")).isEmpty();
+	}
+
+	@Test
+	void shouldNotCreateInvalidPolicy() {
+		assertThatThrownBy(() -> CpuPolicy.of(0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> CpuPolicy.of(1).withAffinity("0-")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> CpuPolicy.of(1).withNiceness(20)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.nosan.embedded.cassandra.Version;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DataDirectoryCache}.
+ *
+ * @author Dmytro Nosan
+ */
+class DataDirectoryCacheTests {
+
+	@Test
+	void keyShouldIgnorePortsAndComments(@TempDir Path temporaryFolder) throws IOException {
+		DataDirectoryCache cache = new DataDirectoryCache(temporaryFolder.resolve("cache"));
+		Path first = write(temporaryFolder.resolve("first.yaml"), "cluster_name: test\nnative_transport_port: 9042\n");
+		Path second = write(temporaryFolder.resolve("second.yaml"),
+				"# comment\ncluster_name: test\n\nnative_transport_port: 53211\n");
+		Path third = write(temporaryFolder.resolve("third.yaml"), "cluster_name: other\nnative_transport_port: 9042\n");
+		Version version = Version.parse("3.11.4");
+		String key = cache.getKey(version, first, "CREATE KEYSPACE test");
+		assertThat(cache.getKey(version, second, "CREATE KEYSPACE test")).isEqualTo(key);
+		assertThat(cache.getKey(version, third, "CREATE KEYSPACE test")).isNotEqualTo(key);
+		assertThat(cache.getKey(version, first, "CREATE KEYSPACE other")).isNotEqualTo(key);
+		assertThat(cache.getKey(Version.parse("3.11.3"), first, "CREATE KEYSPACE test")).isNotEqualTo(key);
+	}
+
+	@Test
+	void shouldStoreAndSeed(@TempDir Path temporaryFolder) throws IOException {
+		DataDirectoryCache cache = new DataDirectoryCache(temporaryFolder.resolve("cache"));
+		Path snapshot = Files.createDirectories(temporaryFolder.resolve("snapshot"));
+		write(snapshot.resolve("md-1-big-Data.db"), "data");
+		Path dataDirectory = temporaryFolder.resolve("data");
+		assertThat(cache.contains("key")).isFalse();
+		assertThat(cache.seed("key", dataDirectory)).isFalse();
+		cache.store("key", Collections.singletonMap("test/users-1", snapshot));
+		assertThat(cache.contains("key")).isTrue();
+		assertThat(cache.seed("key", dataDirectory)).isTrue();
+		assertThat(dataDirectory.resolve("test/users-1/md-1-big-Data.db")).hasContent("data");
+		assertThat(cache.getDirectory().toFile().list()).containsExactly("key");
+	}
+
+	@Test
+	void shouldKeepExistingEntry(@TempDir Path temporaryFolder) throws IOException {
+		DataDirectoryCache cache = new DataDirectoryCache(temporaryFolder.resolve("cache"));
+		Path first = write(Files.createDirectories(temporaryFolder.resolve("first")).resolve("file"), "first");
+		Path second = write(Files.createDirectories(temporaryFolder.resolve("second")).resolve("file"), "second");
+		cache.store("key", Collections.singletonMap("table", first.getParent()));
+		cache.store("key", Collections.singletonMap("table", second.getParent()));
+		assertThat(cache.getDirectory().resolve("key/table/file")).hasContent("first");
+	}
+
+	private static Path write(Path file, String content) throws IOException {
+		return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
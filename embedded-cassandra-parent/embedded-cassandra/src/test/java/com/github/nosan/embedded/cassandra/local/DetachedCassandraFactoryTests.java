@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.nosan.embedded.cassandra.Cassandra;
+import com.github.nosan.embedded.cassandra.Version;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link DetachedCassandraFactory}.
+ *
+ * @author Dmytro Nosan
+ */
+class DetachedCassandraFactoryTests {
+
+	@Test
+	void identicalConfigurationsShouldHaveSameHash() {
+		assertThat(DetachedCassandraFactory.getConfigHash(createFactory()))
+				.isEqualTo(DetachedCassandraFactory.getConfigHash(createFactory()));
+	}
+
+	@Test
+	void policiesShouldChangeHash() {
+		String hash = DetachedCassandraFactory.getConfigHash(createFactory());
+		LocalCassandraFactory memory = createFactory();
+		memory.setMemoryPolicy(MemoryPolicy.of(512, 128));
+		LocalCassandraFactory cpu = createFactory();
+		cpu.setCpuPolicy(CpuPolicy.of(2));
+		LocalCassandraFactory cds = createFactory();
+		cds.setClassDataSharing(true);
+		assertThat(DetachedCassandraFactory.getConfigHash(memory)).isNotEqualTo(hash);
+		assertThat(DetachedCassandraFactory.getConfigHash(cpu)).isNotEqualTo(hash);
+		assertThat(DetachedCassandraFactory.getConfigHash(cds)).isNotEqualTo(hash);
+	}
+
+	@Test
+	void shouldRejectWorkingDirectoryCustomizers() {
+		LocalCassandraFactory factory = createFactory();
+		factory.getWorkingDirectoryCustomizers().add((workingDirectory, version) -> {
+		});
+		assertThatThrownBy(() -> new DetachedCassandraFactory(factory))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void shouldRejectArtifactFactory() {
+		LocalCassandraFactory factory = createFactory();
+		factory.setArtifactFactory(version -> () -> {
+			throw new UnsupportedOperationException();
+		});
+		assertThatThrownBy(() -> new DetachedCassandraFactory(factory))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void shouldNotGuessVersion() {
+		Cassandra cassandra = new DetachedCassandraFactory(new LocalCassandraFactory()).create();
+		assertThatThrownBy(cassandra::getVersion).isInstanceOf(IllegalStateException.class);
+		assertThat(new DetachedCassandraFactory(createFactory()).create().getVersion())
+				.isEqualTo(Version.parse("3.11.4"));
+	}
+
+	private static LocalCassandraFactory createFactory() {
+		LocalCassandraFactory factory = new LocalCassandraFactory();
+		factory.setVersion(Version.parse("3.11.4"));
+		factory.getJvmOptions().add("-Dtest=detached");
+		return factory;
+	}
+
+}
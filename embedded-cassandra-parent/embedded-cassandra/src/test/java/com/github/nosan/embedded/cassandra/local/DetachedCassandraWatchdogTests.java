@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DetachedCassandraWatchdog}.
+ *
+ * @author Dmytro Nosan
+ */
+@DisabledOnOs(OS.WINDOWS)
+class DetachedCassandraWatchdogTests {
+
+	private final long pid = ProcessUtils.getPid();
+
+	private Process process;
+
+	@BeforeEach
+	void startProcess() throws Exception {
+		this.process = new ProcessBuilder("sleep", "60").start();
+	}
+
+	@AfterEach
+	void stopProcess() {
+		this.process.destroyForcibly();
+	}
+
+	@Test
+	void shouldKeepLeasedCassandra(@TempDir Path directory) throws Exception {
+		Properties state = createState(directory, 0);
+		state.setProperty(DetachedCassandraWatchdog.LEASE_PREFIX + "1",
+				String.format("%d:%d", this.pid, ManagementFactory.getRuntimeMXBean().getStartTime()));
+		DetachedCassandraWatchdog.write(directory.resolve(DetachedCassandraWatchdog.STATE_FILE), state);
+		assertThat(DetachedCassandraWatchdog.watch(directory, this.pid, System.currentTimeMillis())).isTrue();
+		assertThat(this.process.isAlive()).isTrue();
+		assertThat(directory.resolve("cassandra")).exists();
+	}
+
+	@Test
+	void shouldStopIdleCassandra(@TempDir Path directory) throws Exception {
+		Properties state = createState(directory, TimeUnit.MINUTES.toMillis(1));
+		state.setProperty(DetachedCassandraWatchdog.LEASE_PREFIX + "1", String.format("%d:%d", Long.MAX_VALUE, 0));
+		Path file = directory.resolve(DetachedCassandraWatchdog.STATE_FILE);
+		DetachedCassandraWatchdog.write(file, state);
+		long now = System.currentTimeMillis();
+		assertThat(DetachedCassandraWatchdog.watch(directory, this.pid, now)).isTrue();
+		assertThat(DetachedCassandraWatchdog.read(file).stringPropertyNames())
+				.doesNotContain(DetachedCassandraWatchdog.LEASE_PREFIX + "1")
+				.contains(DetachedCassandraWatchdog.IDLE_SINCE);
+		assertThat(this.process.isAlive()).isTrue();
+		assertThat(DetachedCassandraWatchdog.watch(directory, this.pid, now + TimeUnit.MINUTES.toMillis(1)))
+				.isFalse();
+		assertThat(this.process.waitFor(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(directory.resolve("cassandra")).doesNotExist();
+		assertThat(file).doesNotExist();
+	}
+
+	@Test
+	void shouldExitIfAnotherWatchdog(@TempDir Path directory) throws Exception {
+		Properties state = createState(directory, 0);
+		DetachedCassandraWatchdog.write(directory.resolve(DetachedCassandraWatchdog.STATE_FILE), state);
+		assertThat(DetachedCassandraWatchdog.watch(directory, this.pid + 1, System.currentTimeMillis())).isFalse();
+		assertThat(this.process.isAlive()).isTrue();
+	}
+
+	private Properties createState(Path directory, long idleTimeout) throws Exception {
+		Path workingDirectory = Files.createDirectories(directory.resolve("cassandra"));
+		Properties state = new Properties();
+		state.setProperty(DetachedCassandraWatchdog.PID, Long.toString(ProcessUtils.getPid(this.process)));
+		state.setProperty(DetachedCassandraWatchdog.START, Long.toString(System.currentTimeMillis()));
+		state.setProperty(DetachedCassandraWatchdog.WATCHDOG_PID, Long.toString(this.pid));
+		state.setProperty(DetachedCassandraWatchdog.IDLE_TIMEOUT, Long.toString(idleTimeout));
+		state.setProperty(DetachedCassandraWatchdog.WORKING_DIRECTORY, workingDirectory.toString());
+		state.setProperty(DetachedCassandraWatchdog.DELETE_WORKING_DIRECTORY, "true");
+		return state;
+	}
+
+}
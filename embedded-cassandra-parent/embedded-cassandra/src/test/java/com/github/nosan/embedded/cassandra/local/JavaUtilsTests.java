@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JavaUtils}.
+ *
+ * @author Dmytro Nosan
+ */
+class JavaUtilsTests {
+
+	@Test
+	void getVersionFromRelease(@TempDir Path temporaryFolder) throws IOException {
+		Files.write(temporaryFolder.resolve("release"), "IMPLEMENTOR=\"Oracle\"\nJAVA_VERSION=\"1.8.0_191\"\n"
+				.getBytes(StandardCharsets.UTF_8));
+		assertThat(JavaUtils.getVersion(temporaryFolder)).isEqualTo("1.8.0_191");
+	}
+
+	@Test
+	void getVersionOfCurrentJvm(@TempDir Path temporaryFolder) {
+		assertThat(JavaUtils.getVersion(null)).isEqualTo(System.getProperty("java.version"));
+		assertThat(JavaUtils.getVersion(temporaryFolder)).isEqualTo(System.getProperty("java.version"));
+	}
+
+	@Test
+	void getMajorVersion() {
+		assertThat(JavaUtils.getMajorVersion("1.8.0_191")).isEqualTo(8);
+		assertThat(JavaUtils.getMajorVersion("11.0.2")).isEqualTo(11);
+		assertThat(JavaUtils.getMajorVersion("17")).isEqualTo(17);
+		assertThat(JavaUtils.getMajorVersion("unknown")).isEqualTo(8);
+	}
+
+	@Test
+	void getUpdateVersion() {
+		assertThat(JavaUtils.getUpdateVersion("1.8.0_191")).isEqualTo(191);
+		assertThat(JavaUtils.getUpdateVersion("11.0.2")).isEqualTo(2);
+		assertThat(JavaUtils.getUpdateVersion("17")).isZero();
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.nosan.embedded.cassandra.Version;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link JvmCassandraNode}.
+ *
+ * @author Dmytro Nosan
+ */
+class JvmCassandraNodeTests {
+
+	@Test
+	void shouldLaunchJavaDirectly(@TempDir Path workingDirectory) throws Exception {
+		Files.createDirectories(workingDirectory.resolve("conf"));
+		Files.createDirectories(workingDirectory.resolve("lib"));
+		Files.createDirectories(workingDirectory.resolve("logs"));
+		Files.write(workingDirectory.resolve("conf/jvm.options"),
+				Arrays.asList("# heap", "-Xms64M", "-Xmx64M", "-Xmn16M"), StandardCharsets.UTF_8);
+		JvmParameters jvmParameters = new JvmParameters(new JvmOptions(Collections.emptyList()), () -> 0);
+		JvmCassandraNode node = new JvmCassandraNode(workingDirectory, Version.parse("3.11.4"),
+				Duration.ofSeconds(30), Collections.emptyList(), false, true, null, jvmParameters,
+				new ProcessRegistry(workingDirectory.resolve("processes"), false));
+		assertThatThrownBy(node::start).hasMessageContaining("is not alive")
+				.hasMessageContaining("org.apache.cassandra.service.CassandraDaemon");
+	}
+
+}
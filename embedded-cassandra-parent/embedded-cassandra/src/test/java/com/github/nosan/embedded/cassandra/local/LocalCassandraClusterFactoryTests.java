@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.nosan.embedded.cassandra.Cassandra;
+import com.github.nosan.embedded.cassandra.Version;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link LocalCassandraClusterFactory}.
+ *
+ * @author Dmytro Nosan
+ */
+class LocalCassandraClusterFactoryTests {
+
+	@Test
+	void shouldCreateCluster() {
+		LocalCassandraFactory factory = new LocalCassandraFactory();
+		factory.setVersion("3.11.4");
+		factory.setWorkingDirectory(Paths.get("cluster"));
+		Path workingDirectory = factory.getWorkingDirectory();
+		LocalCassandraCluster cluster = new LocalCassandraClusterFactory(factory, 3).create();
+		assertThat(cluster.getNodes()).hasSize(3);
+		assertThat(cluster.getVersion()).isEqualTo(Version.parse("3.11.4"));
+		assertThat(cluster.getState()).isEqualTo(Cassandra.State.NEW);
+		assertThatThrownBy(cluster::getSettings).isInstanceOf(IllegalStateException.class);
+		assertThat(factory.getWorkingDirectory()).isEqualTo(workingDirectory);
+		assertThat(factory.getWorkingDirectoryCustomizers()).isEmpty();
+		cluster.stop();
+		assertThat(cluster.getState()).isEqualTo(Cassandra.State.NEW);
+	}
+
+	@Test
+	void shouldNotCreateEmptyCluster() {
+		assertThatThrownBy(() -> new LocalCassandraClusterFactory(new LocalCassandraFactory(), 0))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.nosan.embedded.cassandra.Cassandra;
+import com.github.nosan.embedded.cassandra.Settings;
+import com.github.nosan.embedded.cassandra.Version;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LocalCassandraCluster}.
+ *
+ * @author Dmytro Nosan
+ */
+class LocalCassandraClusterTests {
+
+	private final List<String> events = new CopyOnWriteArrayList<>();
+
+	@Test
+	void shouldRestartNodesOneByOne() {
+		LocalCassandraCluster cluster = new LocalCassandraCluster(Arrays.asList(new Node("node1"),
+				new Node("node2")), false);
+		cluster.start();
+		this.events.clear();
+		cluster.restart();
+		assertThat(this.events).containsExactly("restart node1", "restart node2");
+		assertThat(cluster.getState()).isEqualTo(Cassandra.State.STARTED);
+	}
+
+	@Test
+	void shouldStartIfNotStarted() {
+		LocalCassandraCluster cluster = new LocalCassandraCluster(Arrays.asList(new Node("node1"),
+				new Node("node2")), false);
+		cluster.restart();
+		assertThat(this.events).containsExactly("start node1", "start node2");
+		assertThat(cluster.getState()).isEqualTo(Cassandra.State.STARTED);
+	}
+
+	private final class Node implements Cassandra {
+
+		private final String name;
+
+		private volatile State state = State.NEW;
+
+		Node(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public void start() {
+			LocalCassandraClusterTests.this.events.add("start " + this.name);
+			this.state = State.STARTED;
+		}
+
+		@Override
+		public void stop() {
+			this.state = State.STOPPED;
+		}
+
+		@Override
+		public void restart() {
+			LocalCassandraClusterTests.this.events.add("restart " + this.name);
+		}
+
+		@Override
+		public Settings getSettings() {
+			return this::getVersion;
+		}
+
+		@Override
+		public Version getVersion() {
+			return Version.parse("3.11.4");
+		}
+
+		@Override
+		public State getState() {
+			return this.state;
+		}
+
+	}
+
+}
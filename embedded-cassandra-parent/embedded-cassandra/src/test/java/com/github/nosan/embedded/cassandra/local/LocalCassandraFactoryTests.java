@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.nosan.embedded.cassandra.Cassandra;
+import com.github.nosan.embedded.cassandra.Version;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link LocalCassandraFactory}. {@code bin/cassandra} is replaced by a shell script, so a real Apache
+ * Cassandra is never launched.
+ *
+ * @author Dmytro Nosan
+ */
+@DisabledOnOs(OS.WINDOWS)
+class LocalCassandraFactoryTests {
+
+	@Test
+	void shouldFailFastOnCustomFatalErrorPattern(@TempDir Path temporaryFolder) throws Exception {
+		LocalCassandraFactory factory = createFactory(temporaryFolder, "echo 'Custom fatal marker'", "sleep 60");
+		factory.setFatalErrorPatterns(".*Custom fatal marker.*");
+		Cassandra cassandra = factory.create();
+		long start = System.nanoTime();
+		assertThatThrownBy(cassandra::start).hasStackTraceContaining("has failed with a fatal error")
+				.hasStackTraceContaining("Custom fatal marker");
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(30));
+	}
+
+	@Test
+	void shouldFailFastOnDefaultFatalErrorPatterns(@TempDir Path temporaryFolder) throws Exception {
+		LocalCassandraFactory factory = createFactory(temporaryFolder, "echo 'Fatal configuration error'",
+				"sleep 60");
+		Cassandra cassandra = factory.create();
+		long start = System.nanoTime();
+		assertThatThrownBy(cassandra::start).hasStackTraceContaining("has failed with a fatal error")
+				.hasStackTraceContaining("Fatal configuration error");
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(30));
+	}
+
+	@Test
+	void gracefulStopModeShouldTerminate(@TempDir Path temporaryFolder) throws Exception {
+		assertThat(stop(temporaryFolder, StopMode.GRACEFUL, true)).isTrue();
+	}
+
+	@Test
+	void forcibleStopModeShouldKill(@TempDir Path temporaryFolder) throws Exception {
+		assertThat(stop(temporaryFolder, StopMode.FORCIBLE, false)).isFalse();
+	}
+
+	@Test
+	void autoStopModeShouldKillIfWorkingDirectoryIsDeleted(@TempDir Path temporaryFolder) throws Exception {
+		assertThat(stop(temporaryFolder, StopMode.AUTO, true)).isFalse();
+	}
+
+	@Test
+	void autoStopModeShouldTerminateIfWorkingDirectoryIsKept(@TempDir Path temporaryFolder) throws Exception {
+		assertThat(stop(temporaryFolder, StopMode.AUTO, false)).isTrue();
+	}
+
+	@Test
+	void directLaunchShouldNotSupportCassandra2(@TempDir Path temporaryFolder) throws Exception {
+		LocalCassandraFactory factory = createFactory(temporaryFolder, "sleep 60");
+		factory.setVersion(Version.parse("2.2.13"));
+		factory.setDirectLaunch(true);
+		assertThatThrownBy(factory::create).isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("Direct launch is not supported by Apache Cassandra '2.2.13'");
+	}
+
+	// starts and stops a fake node, returns whether the node has received SIGTERM
+	private static boolean stop(Path temporaryFolder, StopMode stopMode, boolean deleteWorkingDirectory)
+			throws Exception {
+		Path marker = temporaryFolder.resolve("terminated");
+		LocalCassandraFactory factory = createFactory(temporaryFolder,
+				String.format("trap 'touch \"%s\"; exit 0' TERM", marker),
+				"echo 'Not starting native transport'", "echo 'Not starting RPC server'", "sleep 60 & wait $!");
+		factory.setStopMode(stopMode);
+		factory.setDeleteWorkingDirectory(deleteWorkingDirectory);
+		Cassandra cassandra = factory.create();
+		cassandra.start();
+		cassandra.stop();
+		return Files.exists(marker);
+	}
+
+	private static LocalCassandraFactory createFactory(Path temporaryFolder, String... script) throws Exception {
+		Path archive = Paths.get(LocalCassandraFactoryTests.class.getResource("/apache-cassandra-3.11.3.zip")
+				.toURI());
+		LocalCassandraFactory factory = new LocalCassandraFactory();
+		factory.setVersion(Version.parse("3.11.3"));
+		factory.setArtifactFactory(version -> () -> archive);
+		factory.setArtifactDirectory(temporaryFolder.resolve("artifact"));
+		factory.setWorkingDirectory(temporaryFolder.resolve("working"));
+		factory.setStartupTimeout(Duration.ofMinutes(1));
+		factory.setRegisterShutdownHook(false);
+		factory.setWorkingDirectoryCustomizers((workingDirectory, version) -> {
+			Path executable = workingDirectory.resolve("bin/cassandra");
+			List<String> lines = new ArrayList<>();
+			lines.add("#!/bin/sh");
+			lines.addAll(Arrays.asList(script));
+			Files.write(executable, lines, StandardCharsets.UTF_8);
+			assertThat(executable.toFile().setExecutable(true)).isTrue();
+		});
+		return factory;
+	}
+
+}
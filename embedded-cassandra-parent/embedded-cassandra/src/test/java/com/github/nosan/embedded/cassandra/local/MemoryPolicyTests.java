@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link MemoryPolicy}.
+ *
+ * @author Dmytro Nosan
+ */
+class MemoryPolicyTests {
+
+	@Test
+	void shouldSplitMemoryAcrossInstances() {
+		MemoryPolicy policy = MemoryPolicy.auto(16384, 8, 4);
+		assertThat(policy.getMaxHeapSize()).isEqualTo(2048);
+		assertThat(policy.getHeapNewSize()).isEqualTo(200);
+		assertThat(policy.getMemtableHeapSpace()).isEqualTo(256);
+		assertThat(policy.getMemtableOffheapSpace()).isEqualTo(256);
+		assertThat(policy.getFileCacheSize()).isEqualTo(256);
+		assertThat(policy.getKeyCacheSize()).isEqualTo(100);
+	}
+
+	@Test
+	void shouldClampHeapSize() {
+		assertThat(MemoryPolicy.auto(1024, 1, 8).getMaxHeapSize()).isEqualTo(256);
+		assertThat(MemoryPolicy.auto(1024, 1, 8).getHeapNewSize()).isEqualTo(64);
+		assertThat(MemoryPolicy.auto(65536, 32, 1).getMaxHeapSize()).isEqualTo(8192);
+	}
+
+	@Test
+	void shouldUseExplicitSizes() {
+		MemoryPolicy policy = MemoryPolicy.of(512, 128);
+		assertThat(policy.getMaxHeapSize()).isEqualTo(512);
+		assertThat(policy.getHeapNewSize()).isEqualTo(128);
+		assertThat(policy.getKeyCacheSize()).isEqualTo(25);
+		assertThat(policy.getFileCacheSize()).isEqualTo(64);
+		assertThat(policy).isEqualTo(MemoryPolicy.of(512, 128)).hasToString(
+				"MemoryPolicy [maxHeapSize=512M, heapNewSize=128M]");
+	}
+
+	@Test
+	void shouldNotCreateInvalidPolicy() {
+		assertThatThrownBy(() -> MemoryPolicy.of(512, 512)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> MemoryPolicy.auto(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
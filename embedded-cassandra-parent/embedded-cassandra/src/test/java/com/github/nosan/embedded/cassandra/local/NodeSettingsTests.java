@@ -91,4 +91,13 @@ class NodeSettingsTests {
 		assertThat(this.settings.rpcTransportStarted()).hasValue(true);
 	}
 
+	@Test
+	void setJmxPort() {
+		assertThatThrownBy(this.settings::getJmxPort).isInstanceOf(NoSuchElementException.class)
+				.hasStackTraceContaining("JMX port is not present");
+		this.settings.setJmxPort(7199);
+		assertThat(this.settings.getJmxPort()).isEqualTo(7199);
+		assertThat(this.settings.toString()).contains("jmxPort=7199");
+	}
+
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ProcessRegistry}.
+ *
+ * @author Dmytro Nosan
+ */
+@DisabledOnOs(OS.WINDOWS)
+class ProcessRegistryTests {
+
+	@Test
+	void shouldNotReapOwnProcess(@TempDir Path temporaryFolder) throws Exception {
+		Path workingDirectory = Files.createDirectories(temporaryFolder.resolve("cassandra"));
+		Process process = new ProcessBuilder("sleep", "60").start();
+		try {
+			long pid = ProcessUtils.getPid(process);
+			ProcessRegistry registry = new ProcessRegistry(temporaryFolder.resolve("processes"), true);
+			registry.register(pid, workingDirectory);
+			registry.reap();
+			assertThat(process.isAlive()).isTrue();
+			assertThat(workingDirectory).exists();
+			assertThat(temporaryFolder.resolve("processes").resolve(pid + ".properties")).exists();
+			registry.unregister(pid);
+			assertThat(temporaryFolder.resolve("processes").resolve(pid + ".properties")).doesNotExist();
+		}
+		finally {
+			process.destroyForcibly();
+		}
+	}
+
+	@Test
+	void shouldReapOrphanedProcess(@TempDir Path temporaryFolder) throws Exception {
+		Path workingDirectory = Files.createDirectories(temporaryFolder.resolve("cassandra"));
+		Process owner = new ProcessBuilder("echo").start();
+		owner.waitFor();
+		Process process = new ProcessBuilder("sleep", "60").start();
+		try {
+			long pid = ProcessUtils.getPid(process);
+			ProcessRegistry registry = new ProcessRegistry(temporaryFolder.resolve("processes"), true);
+			registry.register(pid, workingDirectory);
+			Path file = temporaryFolder.resolve("processes").resolve(pid + ".properties");
+			Properties properties = new Properties();
+			try (InputStream is = Files.newInputStream(file)) {
+				properties.load(is);
+			}
+			properties.setProperty("owner.pid", Long.toString(ProcessUtils.getPid(owner)));
+			try (OutputStream os = Files.newOutputStream(file)) {
+				properties.store(os, null);
+			}
+			registry.reap();
+			assertThat(process.waitFor(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(workingDirectory).doesNotExist();
+			assertThat(file).doesNotExist();
+		}
+		finally {
+			process.destroyForcibly();
+		}
+	}
+
+	@Test
+	void shouldNotKillReusedPid(@TempDir Path temporaryFolder) throws Exception {
+		Path workingDirectory = Files.createDirectories(temporaryFolder.resolve("cassandra"));
+		Process owner = new ProcessBuilder("echo").start();
+		owner.waitFor();
+		Process process = new ProcessBuilder("sleep", "60").start();
+		try {
+			long pid = ProcessUtils.getPid(process);
+			ProcessRegistry registry = new ProcessRegistry(temporaryFolder.resolve("processes"), true);
+			registry.register(pid, workingDirectory);
+			Path file = temporaryFolder.resolve("processes").resolve(pid + ".properties");
+			Properties properties = new Properties();
+			try (InputStream is = Files.newInputStream(file)) {
+				properties.load(is);
+			}
+			properties.setProperty("owner.pid", Long.toString(ProcessUtils.getPid(owner)));
+			// the registered process has been started long before the running one
+			properties.setProperty("start", "0");
+			try (OutputStream os = Files.newOutputStream(file)) {
+				properties.store(os, null);
+			}
+			registry.reap();
+			assertThat(process.isAlive()).isTrue();
+			if (ProcessUtils.getLiveness(pid, 0) == ProcessUtils.Liveness.DEAD) {
+				assertThat(file).doesNotExist();
+			}
+			else {
+				assertThat(file).exists();
+				assertThat(workingDirectory).exists();
+			}
+		}
+		finally {
+			process.destroyForcibly();
+		}
+	}
+
+}
@@ -19,6 +19,7 @@ package com.github.nosan.embedded.cassandra.local;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
@@ -40,6 +41,41 @@ class ProcessUtilsTests {
 		assertThat(ProcessUtils.getPid(process)).isGreaterThan(0);
 	}
 
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void destroy() throws Exception {
+		Process process = new ProcessBuilder("sleep", "60").start();
+		ProcessUtils.destroy(process, false);
+		assertThat(process.waitFor(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void destroyForcibly() throws Exception {
+		Process process = new ProcessBuilder("bash", "-c", "trap '' TERM; sleep 60").start();
+		ProcessUtils.destroy(process, true);
+		assertThat(process.waitFor(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void getLiveness() throws Exception {
+		Process process = new ProcessBuilder("sleep", "60").start();
+		try {
+			long pid = ProcessUtils.getPid(process);
+			assertThat(ProcessUtils.getLiveness(pid, System.currentTimeMillis()))
+					.isIn(ProcessUtils.Liveness.ALIVE, ProcessUtils.Liveness.UNKNOWN);
+			assertThat(ProcessUtils.getLiveness(pid, 0)).isIn(ProcessUtils.Liveness.DEAD,
+					ProcessUtils.Liveness.UNKNOWN);
+		}
+		finally {
+			process.destroyForcibly().waitFor();
+		}
+		assertThat(ProcessUtils.getLiveness(ProcessUtils.getPid(process), System.currentTimeMillis()))
+				.isEqualTo(ProcessUtils.Liveness.DEAD);
+		assertThat(ProcessUtils.getLiveness(-1, System.currentTimeMillis())).isEqualTo(ProcessUtils.Liveness.DEAD);
+	}
+
 	@Test
 	void getPidFromFile() throws URISyntaxException {
 		assertThat(ProcessUtils.getPid(Paths.get(getClass().getResource("/pid.file").toURI())))
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.nosan.embedded.cassandra.Cassandra;
+import com.github.nosan.embedded.cassandra.Settings;
+import com.github.nosan.embedded.cassandra.Version;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link SharedCassandraFactory}.
+ *
+ * @author Dmytro Nosan
+ */
+class SharedCassandraFactoryTests {
+
+	@Test
+	void identicalConfigurationsShouldHaveSameKey() {
+		assertThat(SharedCassandraFactory.getKey(createFactory("-Dtest=1")))
+				.isEqualTo(SharedCassandraFactory.getKey(createFactory("-Dtest=1")));
+	}
+
+	@Test
+	void differentConfigurationsShouldHaveDifferentKeys() {
+		LocalCassandraFactory factory = createFactory("-Dtest=1");
+		factory.setPort(9042);
+		assertThat(SharedCassandraFactory.getKey(factory))
+				.isNotEqualTo(SharedCassandraFactory.getKey(createFactory("-Dtest=1")));
+		assertThat(SharedCassandraFactory.getKey(createFactory("-Dtest=2")))
+				.isNotEqualTo(SharedCassandraFactory.getKey(createFactory("-Dtest=1")));
+	}
+
+	@Test
+	void shouldNotBeRunningBeforeStart() {
+		Cassandra cassandra = new SharedCassandraFactory(createFactory("-Dtest=3")).create();
+		assertThat(cassandra.getState()).isEqualTo(Cassandra.State.NEW);
+		assertThat(cassandra.getVersion()).isEqualTo(Version.parse("3.11.4"));
+		assertThatThrownBy(cassandra::getSettings).isInstanceOf(IllegalStateException.class);
+		cassandra.stop();
+		assertThat(cassandra.getState()).isEqualTo(Cassandra.State.NEW);
+	}
+
+	@Test
+	void shouldPauseIdleAndResumeOnLease() throws InterruptedException {
+		List<String> events = new CopyOnWriteArrayList<>();
+		SharedCassandraFactory factory = new SharedCassandraFactory(new LocalCassandraFactory(
+				createFactory("-Dtest=4")) {
+
+			@Override
+			public Cassandra create() {
+				return new PausableCassandra(events);
+			}
+		});
+		factory.setIdleTimeout(Duration.ofMillis(50));
+		Cassandra cassandra = factory.create();
+		cassandra.start();
+		cassandra.stop();
+		awaitEvents(events, 2);
+		assertThat(events).containsExactly("start", "pause");
+		Cassandra other = factory.create();
+		other.start();
+		assertThat(events).containsExactly("start", "pause", "resume", "start");
+		assertThat(other.toString()).contains("leases=1, paused=false");
+	}
+
+	@Test
+	void shouldNotPauseIfLeasedAgain() throws InterruptedException {
+		List<String> events = new CopyOnWriteArrayList<>();
+		SharedCassandraFactory factory = new SharedCassandraFactory(new LocalCassandraFactory(
+				createFactory("-Dtest=5")) {
+
+			@Override
+			public Cassandra create() {
+				return new PausableCassandra(events);
+			}
+		});
+		factory.setIdleTimeout(Duration.ofMillis(200));
+		Cassandra cassandra = factory.create();
+		cassandra.start();
+		cassandra.stop();
+		cassandra.start();
+		Thread.sleep(400);
+		assertThat(events).containsExactly("start", "start");
+	}
+
+	private static void awaitEvents(List<String> events, int count) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (events.size() < count && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static LocalCassandraFactory createFactory(String... jvmOptions) {
+		LocalCassandraFactory factory = new LocalCassandraFactory();
+		factory.setVersion(Version.parse("3.11.4"));
+		factory.setJvmOptions(jvmOptions);
+		return factory;
+	}
+
+	private static final class PausableCassandra implements Cassandra, Pausable {
+
+		private final List<String> events;
+
+		private volatile State state = State.NEW;
+
+		PausableCassandra(List<String> events) {
+			this.events = events;
+		}
+
+		@Override
+		public void start() {
+			this.events.add("start");
+			this.state = State.STARTED;
+		}
+
+		@Override
+		public void stop() {
+			this.events.add("stop");
+			this.state = State.STOPPED;
+		}
+
+		@Override
+		public void pause() {
+			this.events.add("pause");
+		}
+
+		@Override
+		public void resume() {
+			this.events.add("resume");
+		}
+
+		@Override
+		public Settings getSettings() {
+			return this::getVersion;
+		}
+
+		@Override
+		public Version getVersion() {
+			return Version.parse("3.11.4");
+		}
+
+		@Override
+		public State getState() {
+			return this.state;
+		}
+
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.local;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.nosan.embedded.cassandra.StartupReport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupProfiler}.
+ *
+ * @author Dmytro Nosan
+ */
+class StartupProfilerTests {
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private final StartupProfiler profiler = new StartupProfiler(this.clock::get);
+
+	@Test
+	void shouldBuildPhases() {
+		accept(200, "Configuration location: file:/cassandra/conf/cassandra.yaml");
+		accept(100, "Node configuration:[...]");
+		accept(300, "Initializing system.IndexInfo");
+		accept(100, "Initializing system.batches");
+		accept(500, "Initializing system_schema.keyspaces");
+		accept(1000, "No commitlog files found; skipping replay");
+		accept(400, "Waiting for gossip to settle...");
+		accept(8000, "No gossip backlog; proceeding");
+		accept(10, "Starting listening for CQL clients on localhost/127.0.0.1:9042 (unencrypted)...");
+		this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(90));
+		StartupReport report = this.profiler.getReport();
+		assertThat(report.getPhases()).extracting(StartupReport.Phase::getName)
+				.containsExactly(StartupProfiler.LAUNCH, StartupProfiler.JVM, StartupProfiler.SETTINGS,
+						StartupProfiler.SYSTEM_KEYSPACE, StartupProfiler.SCHEMA, StartupProfiler.COMMITLOG_REPLAY,
+						StartupProfiler.GOSSIP, StartupProfiler.TRANSPORT);
+		assertThat(report.getPhase(StartupProfiler.LAUNCH)).map(StartupReport.Phase::getDuration)
+				.hasValue(Duration.ofMillis(200));
+		assertThat(report.getPhase(StartupProfiler.SETTINGS)).map(StartupReport.Phase::getDuration)
+				.hasValue(Duration.ofMillis(400));
+		assertThat(report.getPhase(StartupProfiler.GOSSIP)).map(StartupReport.Phase::getDuration)
+				.hasValue(Duration.ofMillis(8010));
+		assertThat(report.getPhase(StartupProfiler.TRANSPORT)).map(StartupReport.Phase::getDuration)
+				.hasValue(Duration.ofMillis(90));
+		assertThat(report.getDuration()).isEqualTo(Duration.ofMillis(10700));
+		assertThat(report.toString()).startsWith("Startup Report (10700 ms)").contains("gossip: 8010 ms");
+	}
+
+	@Test
+	void shouldBuildLaunchPhaseOnly() {
+		this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+		StartupReport report = this.profiler.getReport();
+		assertThat(report.getPhases()).containsExactly(
+				new StartupReport.Phase(StartupProfiler.LAUNCH, Duration.ofMillis(50)));
+		assertThat(report.getPhase(StartupProfiler.GOSSIP)).isEmpty();
+	}
+
+	private void accept(long millis, String line) {
+		this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+		this.profiler.accept(line);
+	}
+
+}
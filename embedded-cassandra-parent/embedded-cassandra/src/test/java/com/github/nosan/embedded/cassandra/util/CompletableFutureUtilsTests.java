@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.util;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link CompletableFutureUtils}.
+ *
+ * @author Dmytro Nosan
+ */
+class CompletableFutureUtilsTests {
+
+	private final MDCThreadFactory threadFactory = new MDCThreadFactory("future");
+
+	@Test
+	void shouldComplete() throws Exception {
+		CompletableFuture<String> future = CompletableFutureUtils.supplyAsync(
+				() -> Thread.currentThread().getName(), this.threadFactory);
+		assertThat(future.get(5, TimeUnit.SECONDS)).startsWith("future-T-");
+	}
+
+	@Test
+	void shouldCompleteExceptionally() {
+		CompletableFuture<String> future = CompletableFutureUtils.supplyAsync(() -> {
+			throw new IOException("failed");
+		}, this.threadFactory);
+		assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(IOException.class);
+	}
+
+	@Test
+	void shouldInterruptOnCancel() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		CompletableFuture<Object> future = CompletableFutureUtils.supplyAsync(() -> {
+			started.countDown();
+			try {
+				Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+			}
+			catch (InterruptedException ex) {
+				interrupted.countDown();
+			}
+			return null;
+		}, this.threadFactory);
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(future.cancel(true)).isTrue();
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(future).isCancelled();
+	}
+
+}
@@ -261,6 +261,24 @@ abstract class AbstractLocalCassandraTests {
 		runner.run(assertDeleteKeyspace());
 	}
 
+	@Test
+	void shouldRestartWithSameWorkingDirectoryDataAndPorts() {
+		Path workingDirectory = this.temporaryFolder.resolve(UUID.randomUUID().toString());
+		this.factory.setWorkingDirectory(workingDirectory);
+		this.factory.setPort(0);
+		this.factory.setJmxLocalPort(0);
+		CassandraRunner runner = new CassandraRunner(this.factory.create());
+		runner.run(assertCreateKeyspace().andThen(cassandra -> {
+			Settings settings = cassandra.getSettings();
+			int port = settings.getPort();
+			int jmxPort = settings.getJmxPort();
+			cassandra.restart();
+			assertThat(cassandra.getSettings().getPort()).isEqualTo(port);
+			assertThat(cassandra.getSettings().getJmxPort()).isEqualTo(jmxPort);
+			assertThat(workingDirectory.resolve("bin/cassandra")).exists();
+		}).andThen(assertDeleteKeyspace()));
+	}
+
 	private static InetAddress getAddressByInterface(String interfaceName, boolean useIpv6) {
 		Objects.requireNonNull(interfaceName, "Interface name must not be null");
 		Predicate<InetAddress> condition = useIpv6 ? Inet6Address.class::isInstance : Inet4Address.class::isInstance;
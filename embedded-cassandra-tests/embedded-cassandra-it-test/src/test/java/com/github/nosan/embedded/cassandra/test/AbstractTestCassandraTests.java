@@ -16,6 +16,11 @@
 
 package com.github.nosan.embedded.cassandra.test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.cql.Row;
 import org.junit.jupiter.api.AfterAll;
@@ -27,8 +32,11 @@ import com.github.nosan.embedded.cassandra.Version;
 import com.github.nosan.embedded.cassandra.cql.CqlScript;
 import com.github.nosan.embedded.cassandra.lang.annotation.Nullable;
 import com.github.nosan.embedded.cassandra.local.LocalCassandraFactory;
+import com.github.nosan.embedded.cassandra.test.util.CqlSessionUtils;
+import com.github.nosan.embedded.cassandra.test.util.CqlUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests for {@link TestCassandra}.
@@ -71,4 +79,90 @@ abstract class AbstractTestCassandraTests {
 		assertThat(resultSet.getLong(0)).isEqualTo(1);
 	}
 
+	@Test
+	void shouldRestoreSnapshot() {
+		CqlSession session = this.cassandra.getNativeConnection(CqlSession.class);
+		this.cassandra.snapshot("seed");
+		session.execute("INSERT INTO test.users (user_id) VALUES ('sam')");
+		session.execute("DELETE FROM test.users WHERE user_id = 'frodo'");
+		this.cassandra.restore("seed");
+		assertUsers(session);
+		// restoring twice links the same SSTables next to the already restored ones
+		this.cassandra.restore("seed");
+		assertUsers(session);
+	}
+
+	@Test
+	void shouldCleanupOnlyWrittenTables() {
+		CqlSession session = this.cassandra.getNativeConnection(CqlSession.class);
+		this.cassandra.getWriteTracker().clear();
+		session.execute("INSERT INTO test.roles (id) VALUES ('admin')");
+		assertThat(this.cassandra.getWriteTracker().getTables()).containsExactly("test.roles");
+		this.cassandra.cleanup();
+		assertThat(this.cassandra.getWriteTracker().getTables()).isEmpty();
+		assertThat(count(session, "test.roles")).isZero();
+		assertThat(count(session, "test.users")).isEqualTo(1);
+		session.execute("INSERT INTO test.roles (id) VALUES ('test_id')");
+		this.cassandra.getWriteTracker().clear();
+	}
+
+	@Test
+	void shouldCreateAndDropKeyspace() throws Exception {
+		TestKeyspace keyspace = this.cassandra.createKeyspace(
+				CqlScript.statements("CREATE TABLE ${keyspace}.users (user_id text PRIMARY KEY)"));
+		assertThat(keyspace.getName()).startsWith("test_");
+		keyspace.executeScripts(CqlScript.statements("INSERT INTO ${keyspace}.users (user_id) VALUES ('frodo')"));
+		// the keyspace connection is bound to the keyspace, so the table is not qualified
+		assertThat(count(keyspace.getNativeConnection(CqlSession.class), "users")).isEqualTo(1);
+		keyspace.drop().get(1, TimeUnit.MINUTES);
+		assertThatThrownBy(keyspace::getConnection).isInstanceOf(IllegalStateException.class);
+		CqlSession session = this.cassandra.getNativeConnection(CqlSession.class);
+		assertThatThrownBy(() -> count(session, keyspace.getName() + ".users"))
+				.hasMessageContaining(keyspace.getName());
+	}
+
+	@Test
+	void shouldGetTables() {
+		// before 3.0 the tables are read from system.schema_columnfamilies
+		CqlSession session = this.cassandra.getNativeConnection(CqlSession.class);
+		List<String> tables = CqlSessionUtils.getTables(session);
+		assertThat(tables).contains("test.users", "test.roles");
+		assertThat(tables).noneMatch(table -> CqlUtils.isSystemKeyspace(table.substring(0, table.indexOf('.'))));
+	}
+
+	@Test
+	void shouldTruncateTables() {
+		CqlSession session = this.cassandra.getNativeConnection(CqlSession.class);
+		CqlSessionUtils.truncate(session, Collections.singletonList("test.roles"), 1);
+		assertThat(count(session, "test.roles")).isZero();
+		assertThat(count(session, "test.users")).isEqualTo(1);
+		session.execute("INSERT INTO test.roles (id) VALUES ('test_id')");
+	}
+
+	@Test
+	void shouldResetExcludingTablesAndKeyspaces() {
+		CqlSession session = this.cassandra.getNativeConnection(CqlSession.class);
+		this.cassandra.reset("test");
+		assertThat(count(session, "test.roles")).isEqualTo(1);
+		assertThat(count(session, "test.users")).isEqualTo(1);
+		this.cassandra.reset(1, "test.users");
+		assertThat(count(session, "test.roles")).isZero();
+		assertThat(count(session, "test.users")).isEqualTo(1);
+		session.execute("INSERT INTO test.roles (id) VALUES ('test_id')");
+	}
+
+	private static long count(CqlSession session, String table) {
+		Row row = session.execute(String.format("SELECT COUNT(*) FROM %s", table)).one();
+		assertThat(row).isNotNull();
+		return row.getLong(0);
+	}
+
+	private static void assertUsers(CqlSession session) {
+		List<String> users = new ArrayList<>();
+		for (Row row : session.execute("SELECT user_id FROM test.users")) {
+			users.add(row.getString(0));
+		}
+		assertThat(users).containsExactly("frodo");
+	}
+
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.test;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.Row;
+import org.junit.jupiter.api.Test;
+
+import com.github.nosan.embedded.cassandra.CassandraRunner;
+import com.github.nosan.embedded.cassandra.cql.CqlScript;
+import com.github.nosan.embedded.cassandra.local.LocalCassandraFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DefaultConnection}.
+ *
+ * @author Dmytro Nosan
+ */
+@SuppressWarnings("deprecation")
+class DefaultConnectionTests {
+
+	@Test
+	void shouldCreateKeyspaceConnection() {
+		TestCassandra testCassandra = new TestCassandra(new LocalCassandraFactory(), DefaultConnection::new);
+		new CassandraRunner(testCassandra).run(cassandra -> {
+			try (TestKeyspace keyspace = ((TestCassandra) cassandra).createKeyspace(
+					CqlScript.statements("CREATE TABLE ${keyspace}.users (user_id text PRIMARY KEY)"))) {
+				CqlSession session = keyspace.getNativeConnection(CqlSession.class);
+				Row row = session.execute("SELECT COUNT(*) FROM users").one();
+				assertThat(row).isNotNull();
+				assertThat(row.getLong(0)).isZero();
+			}
+		});
+	}
+
+}
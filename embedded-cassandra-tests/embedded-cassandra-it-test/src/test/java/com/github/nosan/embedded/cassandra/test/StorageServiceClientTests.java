@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StorageServiceClient}.
+ *
+ * @author Dmytro Nosan
+ */
+class StorageServiceClientTests {
+
+	@Test
+	void shouldLinkUnderFreshGenerations(@TempDir Path temporaryFolder) throws IOException {
+		Path table = Files.createDirectories(temporaryFolder.resolve("users-1234"));
+		Path snapshot = Files.createDirectories(table.resolve("snapshots").resolve("seed"));
+		Files.write(table.resolve("mc-3-big-Data.db"), new byte[]{1});
+		Files.write(table.resolve("mc-3-big-Index.db"), new byte[]{1});
+		Files.write(snapshot.resolve("mc-1-big-Data.db"), new byte[]{2});
+		Files.write(snapshot.resolve("mc-1-big-Index.db"), new byte[]{2});
+		Files.write(snapshot.resolve("mc-2-big-Data.db"), new byte[]{3});
+		Files.write(snapshot.resolve("manifest.json"), new byte[0]);
+		StorageServiceClient.link(snapshot, table);
+		assertThat(table.resolve("mc-3-big-Data.db")).hasBinaryContent(new byte[]{1});
+		assertThat(table.resolve("mc-3-big-Index.db")).hasBinaryContent(new byte[]{1});
+		assertThat(table.resolve("mc-1-big-Data.db")).doesNotExist();
+		assertThat(table.resolve("mc-2-big-Data.db")).doesNotExist();
+		assertThat(table.resolve("manifest.json")).doesNotExist();
+		int generation = Files.exists(table.resolve("mc-4-big-Index.db")) ? 4 : 5;
+		assertThat(table.resolve(String.format("mc-%d-big-Data.db", generation))).hasBinaryContent(new byte[]{2});
+		assertThat(table.resolve(String.format("mc-%d-big-Index.db", generation))).hasBinaryContent(new byte[]{2});
+		assertThat(table.resolve(String.format("mc-%d-big-Data.db", 9 - generation))).hasBinaryContent(new byte[]{3});
+	}
+
+	@Test
+	void shouldKeepLegacyPrefix(@TempDir Path temporaryFolder) throws IOException {
+		Path table = Files.createDirectories(temporaryFolder.resolve("users-1234"));
+		Path snapshot = Files.createDirectories(table.resolve("snapshots").resolve("seed"));
+		Files.write(snapshot.resolve("test-users-ka-7-Data.db"), new byte[]{1});
+		StorageServiceClient.link(snapshot, table);
+		assertThat(table.resolve("test-users-ka-8-Data.db")).hasBinaryContent(new byte[]{1});
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.Row;
+import org.junit.jupiter.api.Test;
+
+import com.github.nosan.embedded.cassandra.Settings;
+import com.github.nosan.embedded.cassandra.Version;
+import com.github.nosan.embedded.cassandra.cql.CqlScript;
+import com.github.nosan.embedded.cassandra.local.LocalCassandraFactory;
+import com.github.nosan.embedded.cassandra.local.WorkingDirectoryCustomizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TestCassandra#createClones(int)}.
+ *
+ * @author Dmytro Nosan
+ */
+class TestCassandraClonesTests {
+
+	private static final int CLONES = 2;
+
+	@Test
+	void shouldStartClonesConcurrently() {
+		LocalCassandraFactory factory = new LocalCassandraFactory();
+		factory.setJmxLocalPort(0);
+		factory.setConfigurationFile(getClass().getResource("/cassandra-random.yaml"));
+		// clones inherit this customizer
+		ConcurrentStartCustomizer customizer = new ConcurrentStartCustomizer();
+		factory.getWorkingDirectoryCustomizers().add(customizer);
+		TestCassandra cassandra = new TestCassandra(factory, CqlScript.classpath("init.cql"));
+		cassandra.start();
+		List<TestCassandra> clones = new ArrayList<>();
+		try {
+			customizer.enabled.set(true);
+			clones.addAll(cassandra.createClones(CLONES));
+			assertThat(clones).hasSize(CLONES);
+			Set<UUID> hostIds = new HashSet<>();
+			Set<Integer> ports = new HashSet<>();
+			hostIds.add(getHostId(cassandra));
+			addPorts(ports, cassandra.getSettings());
+			for (TestCassandra clone : clones) {
+				CqlSession session = clone.getNativeConnection(CqlSession.class);
+				Row row = session.execute("SELECT COUNT(*) FROM test.users").one();
+				assertThat(row).isNotNull();
+				assertThat(row.getLong(0)).isEqualTo(1);
+				hostIds.add(getHostId(clone));
+				addPorts(ports, clone.getSettings());
+			}
+			assertThat(hostIds).hasSize(CLONES + 1);
+			assertThat(ports).hasSize((CLONES + 1) * 2);
+		}
+		finally {
+			for (TestCassandra clone : clones) {
+				clone.stop();
+			}
+			cassandra.stop();
+		}
+	}
+
+	private static UUID getHostId(TestCassandra cassandra) {
+		Row row = cassandra.getNativeConnection(CqlSession.class).execute("SELECT host_id FROM system.local").one();
+		assertThat(row).isNotNull();
+		return row.getUuid(0);
+	}
+
+	private static void addPorts(Set<Integer> ports, Settings settings) {
+		ports.add(settings.getPort());
+		ports.add(settings.getJmxPort());
+	}
+
+	/**
+	 * Customizer that makes each clone wait until all of them are being started.
+	 */
+	private static final class ConcurrentStartCustomizer implements WorkingDirectoryCustomizer {
+
+		private final AtomicBoolean enabled = new AtomicBoolean();
+
+		private final CountDownLatch starting = new CountDownLatch(CLONES);
+
+		@Override
+		public void customize(Path workingDirectory, Version version) throws IOException {
+			if (!this.enabled.get()) {
+				return;
+			}
+			this.starting.countDown();
+			try {
+				if (!this.starting.await(2, TimeUnit.MINUTES)) {
+					throw new IllegalStateException("Clones are not started concurrently");
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(ex.getMessage());
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.Row;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.nosan.embedded.cassandra.Cassandra;
+import com.github.nosan.embedded.cassandra.CassandraRunner;
+import com.github.nosan.embedded.cassandra.cql.CqlScript;
+import com.github.nosan.embedded.cassandra.local.DataDirectoryCache;
+import com.github.nosan.embedded.cassandra.local.LocalCassandraFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TestCassandra} with {@link DataDirectoryCache}.
+ *
+ * @author Dmytro Nosan
+ */
+class TestCassandraDataDirectoryCacheTests {
+
+	@Test
+	void shouldSeedFromCacheAndSkipScripts(@TempDir Path temporaryFolder) throws IOException {
+		DataDirectoryCache cache = new DataDirectoryCache(temporaryFolder.resolve("cache"));
+		new CassandraRunner(createCassandra(cache)).run(this::assertUsers);
+		try (Stream<Path> entries = Files.list(cache.getDirectory())) {
+			assertThat(entries.count()).describedAs("The data directory is not stored").isPositive();
+		}
+		// init.cql creates the keyspace without 'IF NOT EXISTS', it would fail if it were executed again
+		new CassandraRunner(createCassandra(cache)).run(this::assertUsers);
+	}
+
+	private static TestCassandra createCassandra(DataDirectoryCache cache) {
+		LocalCassandraFactory factory = new LocalCassandraFactory();
+		return new TestCassandra(factory, null, cache, CqlScript.classpath("init.cql"));
+	}
+
+	private void assertUsers(Cassandra cassandra) {
+		CqlSession session = ((TestCassandra) cassandra).getNativeConnection(CqlSession.class);
+		Row row = session.execute("SELECT COUNT(*) FROM test.users").one();
+		assertThat(row).isNotNull();
+		assertThat(row.getLong(0)).isEqualTo(1);
+	}
+
+}
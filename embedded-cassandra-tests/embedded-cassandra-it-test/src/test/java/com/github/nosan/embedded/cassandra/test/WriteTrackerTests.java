@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.test;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link WriteTracker}.
+ *
+ * @author Dmytro Nosan
+ */
+class WriteTrackerTests {
+
+	private final WriteTracker tracker = new WriteTracker();
+
+	@Test
+	void shouldTrackWrites() {
+		this.tracker.track(null, "INSERT INTO test.users (id) VALUES (1)");
+		this.tracker.track(null, "update Test.Roles SET name = 'admin' WHERE id = 1");
+		this.tracker.track(null, "SELECT * FROM test.tokens");
+		assertThat(this.tracker.getTables()).containsExactly("test.users", "test.roles");
+	}
+
+	@Test
+	void shouldTrackQuotedIdentifiers() {
+		this.tracker.track(null, "INSERT INTO \"Test\".\"My\"\"Users\" (id) VALUES (1)");
+		this.tracker.track(null, "UPDATE \"test\" . \"Roles\" SET name = 'admin' WHERE id = 1");
+		assertThat(this.tracker.getTables()).containsExactly("Test.My\"Users", "test.Roles");
+	}
+
+	@Test
+	void shouldTrackDeletes() {
+		this.tracker.track(null, "DELETE FROM test.users WHERE id = 1");
+		this.tracker.track(null, "DELETE name, emails FROM test.roles WHERE id = 1");
+		this.tracker.track(null, "DELETE emails['home'] FROM test.contacts USING TIMESTAMP 1 WHERE id = 1");
+		assertThat(this.tracker.getTables()).containsExactly("test.users", "test.roles", "test.contacts");
+	}
+
+	@Test
+	void shouldTrackBatches() {
+		this.tracker.track(null, "BEGIN BATCH\n"
+				+ "INSERT INTO test.users (id) VALUES (1);\n"
+				+ "UPDATE test.roles SET name = 'admin' WHERE id = 1;\n"
+				+ "DELETE FROM test.contacts WHERE id = 1;\n"
+				+ "APPLY BATCH");
+		assertThat(this.tracker.getTables()).containsExactly("test.users", "test.roles", "test.contacts");
+	}
+
+	@Test
+	void shouldTrackUnqualifiedTablesWithKeyspace() {
+		this.tracker.track("test", "INSERT INTO users (id) VALUES (1)");
+		this.tracker.track(null, "INSERT INTO roles (id) VALUES (1)");
+		this.tracker.track("test", "INSERT INTO other.roles (id) VALUES (1)");
+		assertThat(this.tracker.getTables()).containsExactly("test.users", "other.roles");
+	}
+
+	@Test
+	void shouldDrainTables() {
+		this.tracker.track(null, "INSERT INTO test.users (id) VALUES (1)");
+		this.tracker.track(null, "INSERT INTO test.users (id) VALUES (2)");
+		assertThat(this.tracker.drainTables()).containsExactly("test.users");
+		assertThat(this.tracker.getTables()).isEmpty();
+		this.tracker.track(null, "INSERT INTO test.roles (id) VALUES (1)");
+		this.tracker.clear();
+		assertThat(this.tracker.getTables()).isEmpty();
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.nosan.embedded.cassandra.test.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link CqlUtils}.
+ *
+ * @author Dmytro Nosan
+ */
+class CqlUtilsTests {
+
+	@Test
+	void executeAsyncShouldExecuteAllStatements() {
+		List<String> executed = new CopyOnWriteArrayList<>();
+		CqlUtils.executeAsync(Arrays.asList("s1", "s2", "s3"), 2, statement -> {
+			executed.add(statement);
+			return CompletableFuture.completedFuture(null);
+		});
+		assertThat(executed).containsExactly("s1", "s2", "s3");
+	}
+
+	@Test
+	void executeAsyncShouldAggregateThrownAndFailedStatements() {
+		IllegalStateException thrown = new IllegalStateException("Session is closed");
+		IllegalArgumentException failed = new IllegalArgumentException("Table does not exist");
+		List<String> executed = new CopyOnWriteArrayList<>();
+		// parallelism is 1, so a leaked permit would block the following statements forever
+		assertThatThrownBy(() -> CqlUtils.executeAsync(Arrays.asList("s1", "s2", "s3"), 1, statement -> {
+			executed.add(statement);
+			if (statement.equals("s1")) {
+				throw thrown;
+			}
+			CompletableFuture<Void> future = new CompletableFuture<>();
+			if (statement.equals("s2")) {
+				future.completeExceptionally(failed);
+			}
+			else {
+				future.complete(null);
+			}
+			return future;
+		})).isSameAs(thrown).hasSuppressedException(failed);
+		assertThat(executed).containsExactly("s1", "s2", "s3");
+	}
+
+	@Test
+	void isSystemKeyspace() {
+		assertThat(CqlUtils.isSystemKeyspace("system")).isTrue();
+		assertThat(CqlUtils.isSystemKeyspace("system_schema")).isTrue();
+		assertThat(CqlUtils.isSystemKeyspace("test")).isFalse();
+	}
+
+}